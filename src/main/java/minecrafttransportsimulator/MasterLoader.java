@@ -10,6 +10,7 @@ import java.util.Map.Entry;
 
 import org.apache.logging.log4j.Logger;
 
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
 import minecrafttransportsimulator.items.components.AItemBase;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.items.instances.ItemPartEffector;
@@ -37,6 +38,7 @@ import net.minecraftforge.fml.common.Mod.EventHandler;
 import net.minecraftforge.fml.common.Mod.Instance;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLServerStoppedEvent;
 
 /**Master loader for the mod.  This class is not an interface, unlike everything else.
  * Instead, it keeps references to all interfaces, which are passed-in during construction.
@@ -171,6 +173,12 @@ public class MasterLoader{
 		ForgeChunkManager.setForcedChunkLoadingCallback(INSTANCE, InterfaceChunkloader.INSTANCE);
 	}
 	
+	@EventHandler
+	public void serverStopped(FMLServerStoppedEvent event){
+		//Stop the parallel physics threads.  They'll be re-made if another server starts.
+		EntityVehicleF_Physics.shutdownForcePool();
+	}
+	
 	/**
 	 *  Creates a wrapper for the the passed-in Item, saving the wrapper to be registered later.
 	 *  This wrapper instance will interact with all MC code via passthrough of the item's methods.
@@ -1,9 +1,15 @@
 package minecrafttransportsimulator.baseclasses;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**Curve class used for paths.
  * Needs a start point,  end point, start angle, and an end angle to calculate the curve.
  * For all calls, segmentPoint should be a value between 0 and the pathLength of this curve.
- * 
+ * The pathLength is an estimate of the curve's length, and segment points are spread evenly
+ * over the measured length of the curve, so equal steps in segment point are always equal
+ * distances along the curve, no matter how the curve bends.
+ *
  * @author don_bruce
  */
 public class BezierCurve{
@@ -13,51 +19,125 @@ public class BezierCurve{
 	public final float endAngle;
 	public final float pathLength;
 	
-	//Cached point data.
+	//Control points of the curve.
+	private final float[] startPoint;
+	private final float[] endPoint;
+	private final float[] startCurvePoint;
+	private final float[] endCurvePoint;
+	
+	//Arc-length table.  Each entry is the length of the curve from the start to that sample.
+	private final float[] arcLengths;
+	
+	//Cached point data.  Points are relative to the start of the curve, so curves of the same shape can share them.
 	private final float[][] cachedPathPoints;
 	private final float[][] cachedPathRotations;
 	
+	/**Key for the shape of this curve.  Curves with the same key are the same curve, just moved.**/
+	private final ShapeKey shapeKey;
+	
+	/**Map of offset curves, keyed by the shape of the curve they were generated from.
+	 * Second map key is the offset.  Cached curves start relative to the curve they were generated from,
+	 * and are moved to the start of the curve asking for them.  Curves don't change once created, so roads
+	 * with the same shape can share their lane curves, even across reloads and when placed side-by-side.
+	 * This is accessed from both client and server threads, so it must be concurrent.  Cleared when worlds unload.**/
+	private static final Map<ShapeKey, Map<Float, BezierCurve>> offsetCurves = new ConcurrentHashMap<ShapeKey, Map<Float, BezierCurve>>();
+	
 	/**Steps between curve calculations.  This is how many intermediate calculations we do between 1-block steps.**/
 	public static final int CURVE_STEP = 16;
+	/**Samples per block used to measure the length of the curve.  Higher than {@link #CURVE_STEP} to keep cached points evenly-spaced.**/
+	private static final int ARC_LENGTH_STEP = 64;
 	
 	public BezierCurve(Point3d startPos, Point3d endPos, float startAngle, float endAngle){
+		this(startPos, endPos, startAngle, endAngle, null);
+	}
+	
+	/**
+	 * Creates a curve of the same shape as the passed-in curve, but starting at the passed-in position.
+	 * The measured lengths and cached points of the passed-in curve are shared with the new curve, not copied.
+	 */
+	private BezierCurve(BezierCurve shape, Point3d startPos){
+		this(startPos, startPos.copy().add(shape.endPos).subtract(shape.startPos), shape.startAngle, shape.endAngle, shape);
+	}
+	
+	private BezierCurve(Point3d startPos, Point3d endPos, float startAngle, float endAngle, BezierCurve shape){
 		this.startPos = startPos;
 		this.endPos = endPos;
 		this.startAngle = startAngle;
 		this.endAngle = endAngle;
-		final float[] startPoint = new float[]{(float)startPos.x, (float)startPos.y, (float)startPos.z};
-		final float[] endPoint = new float[]{(float)endPos.x, (float)endPos.y, (float)endPos.z};
+		this.startPoint = new float[]{(float)startPos.x, (float)startPos.y, (float)startPos.z};
+		this.endPoint = new float[]{(float)endPos.x, (float)endPos.y, (float)endPos.z};
 		float midPointDistance = (float) Math.sqrt(Math.pow(endPoint[0] - startPoint[0], 2) + Math.pow(endPoint[1] - startPoint[1], 2) + Math.pow(endPoint[2] - startPoint[2], 2))/3F;
-		final float[] startCurvePoint = new float[]{(float) (startPoint[0] + Math.sin(Math.toRadians(startAngle))*midPointDistance), startPoint[1], (float) (startPoint[2] + Math.cos(Math.toRadians(startAngle))*midPointDistance)};
-		final float[] endCurvePoint = new float[]{(float) (endPoint[0] + Math.sin(Math.toRadians(endAngle))*midPointDistance), endPoint[1], (float) (endPoint[2] + Math.cos(Math.toRadians(endAngle))*midPointDistance)};
-
-		this.pathLength = getPathLength(startPoint, endPoint, startCurvePoint, endCurvePoint);
-		float[] pathPointsX = getCachedPathPoints(startPoint[0], endPoint[0], startCurvePoint[0], endCurvePoint[0], pathLength);
-		float[] pathPointsY = getCachedPathPoints(startPoint[1], endPoint[1], startCurvePoint[1], endCurvePoint[1], pathLength);
-		float[] pathPointsZ = getCachedPathPoints(startPoint[2], endPoint[2], startCurvePoint[2], endCurvePoint[2], pathLength);
+		this.startCurvePoint = new float[]{(float) (startPoint[0] + Math.sin(Math.toRadians(startAngle))*midPointDistance), startPoint[1], (float) (startPoint[2] + Math.cos(Math.toRadians(startAngle))*midPointDistance)};
+		this.endCurvePoint = new float[]{(float) (endPoint[0] + Math.sin(Math.toRadians(endAngle))*midPointDistance), endPoint[1], (float) (endPoint[2] + Math.cos(Math.toRadians(endAngle))*midPointDistance)};
+		if(shape != null){
+			this.shapeKey = shape.shapeKey;
+			this.pathLength = shape.pathLength;
+			this.arcLengths = shape.arcLengths;
+			this.cachedPathPoints = shape.cachedPathPoints;
+			this.cachedPathRotations = shape.cachedPathRotations;
+			return;
+		}
+		this.shapeKey = new ShapeKey(endPos.x - startPos.x, endPos.y - startPos.y, endPos.z - startPos.z, startAngle, endAngle);
 		
+		//Measure the curve by adding up the lengths of many short steps along it.
+		//The estimated length is close to the real length, so it's used to pick the number of steps.
+		int arcLengthSamples = Math.max((int) Math.ceil(getEstimatedPathLength()*ARC_LENGTH_STEP), 1);
+		this.arcLengths = new float[arcLengthSamples + 1];
+		float[] priorPoint = new float[3];
+		float[] point = new float[3];
+		setToCurvePoint(priorPoint, 0);
+		for(int i=1; i<arcLengths.length; ++i){
+			setToCurvePoint(point, i/(float) arcLengthSamples);
+			arcLengths[i] = arcLengths[i - 1] + (float) Math.sqrt(Math.pow(point[0] - priorPoint[0], 2) + Math.pow(point[1] - priorPoint[1], 2) + Math.pow(point[2] - priorPoint[2], 2));
+			float[] swapPoint = priorPoint;
+			priorPoint = point;
+			point = swapPoint;
+		}
+		
+		//Path length stays the estimate, as segments, lanes and meshes of existing roads are sized by it.
+		//Cache points at even distances along the measured curve, with the last point at its end.
+		//Rotations come from the direction of the curve at the point, not the points around it.
+		this.pathLength = getEstimatedPathLength();
 		this.cachedPathPoints = new float[Math.round(pathLength*CURVE_STEP) + 1][3];
-		this.cachedPathRotations = new float[Math.round(pathLength*CURVE_STEP) + 1][3];
+		this.cachedPathRotations = new float[cachedPathPoints.length][3];
 		for(int i=0; i<cachedPathPoints.length; ++i){
-			cachedPathPoints[i][0] = pathPointsX[i];
-			cachedPathPoints[i][1] = pathPointsY[i];
-			cachedPathPoints[i][2] = pathPointsZ[i];
-			if(i > 0){
-				cachedPathRotations[i][0] = (float) -Math.toDegrees(Math.atan((cachedPathPoints[i][1] - cachedPathPoints[i - 1][1])/Math.hypot(cachedPathPoints[i][0] - cachedPathPoints[i - 1][0], cachedPathPoints[i][2] - cachedPathPoints[i - 1][2])));
-				cachedPathRotations[i][1] = (float) ((360 + Math.toDegrees(Math.atan2(cachedPathPoints[i][0] - cachedPathPoints[i - 1][0], cachedPathPoints[i][2] - cachedPathPoints[i - 1][2])))%360);
-				cachedPathRotations[i][2] = 0;
+			float parameter = cachedPathPoints.length > 1 ? getParameterAt(arcLengths[arcLengthSamples]*i/(cachedPathPoints.length - 1)) : 0;
+			setToCurvePoint(cachedPathPoints[i], parameter);
+			for(int j=0; j<3; ++j){
+				cachedPathPoints[i][j] -= startPoint[j];
 			}
+			setToCurveRotation(cachedPathRotations[i], parameter);
 		}
-		
-		//Add point 0 rotations.  We couldn't do those in the loop.
-		cachedPathRotations[0] = cachedPathRotations[1]; 
 	}
 	
 	/**
 	 * Generates an offset curve by the passed-in offset.  The curve may or may not have a different
 	 * pathLength than the curve it was generated from.  Used to create parallel paths from a common curve.
+	 * Offset curves are cached by shape, so all curves of the same shape and offset get curves that share
+	 * their cached points, moved to their own start.  Because of this, the returned curve's points should never be modified.
 	 */
 	public BezierCurve generateOffsetCurve(float offset){
+		BezierCurve relativeCurve = offsetCurves.computeIfAbsent(shapeKey, key -> new ConcurrentHashMap<Float, BezierCurve>()).computeIfAbsent(offset, key -> {
+			BezierCurve offsetCurve = createOffsetCurve(offset);
+			return new BezierCurve(offsetCurve, offsetCurve.startPos.copy().subtract(startPos));
+		});
+		return new BezierCurve(relativeCurve, relativeCurve.startPos.copy().add(startPos));
+	}
+	
+	/**
+	 * Clears all cached offset curves.  Curves already given out are still valid, but won't be
+	 * shared with curves generated after this.  Should be called when worlds unload, as the roads
+	 * that used the curves are gone.
+	 */
+	public static void clearOffsetCurves(){
+		offsetCurves.clear();
+	}
+	
+	/**
+	 * Helper function to create a new offset curve.  Use {@link #generateOffsetCurve(float)} rather than
+	 * calling this directly, as that will re-use existing curves.
+	 */
+	private BezierCurve createOffsetCurve(float offset){
 		Point3d testRotation = new Point3d();
 		
 		Point3d newStartPos = new Point3d(offset, 0, 0);
@@ -78,7 +158,7 @@ public class BezierCurve{
 	 */
 	public void setPointToPositionAt(Point3d point, float segmentPoint){
 		float[] cachedPoint = cachedPathPoints[Math.round(segmentPoint*CURVE_STEP)];
-		point.set(cachedPoint[0], cachedPoint[1], cachedPoint[2]);
+		point.set(startPos.x + cachedPoint[0], startPos.y + cachedPoint[1], startPos.z + cachedPoint[2]);
 	}
 	
 	/**
@@ -86,7 +166,7 @@ public class BezierCurve{
 	 */
 	public void offsetPointByPositionAt(Point3d point, float segmentPoint){
 		float[] cachedPoint = cachedPathPoints[Math.round(segmentPoint*CURVE_STEP)];
-		point.add(cachedPoint[0], cachedPoint[1], cachedPoint[2]);
+		point.add(startPos.x + cachedPoint[0], startPos.y + cachedPoint[1], startPos.z + cachedPoint[2]);
 	}
 	
 	/**
@@ -98,9 +178,131 @@ public class BezierCurve{
 	}
 	
 	/**
-	 * Helper function to calculate the total path length for the passed-in parameters.
+	 * Sets the passed-in points to the positions and rotations of evenly-spaced points along this curve.
+	 * The first point is at the start of the curve, and the last point is at the end of it, so the points
+	 * match the segment points of the pathLength divided by one less than the number of points.  Points are
+	 * calculated from the curve itself rather than the cache, so they are exact, and the curve is only walked
+	 * once for all of them.
+	 * This makes this method faster than getting each point separately when many points are needed.
+	 * <br><br>
+	 * Both arrays must be the same length, have at least two points, and have all their points created.
+	 * The rotations array may be null if only positions are needed.
 	 */
-	private static float getPathLength(float[] startPoint, float[] endPoint, float[] startCurvePoint, float[] endCurvePoint){
+	public void setPointsToFrames(Point3d[] positions, Point3d[] rotations){
+		float[] point = new float[3];
+		float arcLength = arcLengths[arcLengths.length - 1];
+		int sample = 0;
+		for(int i=0; i<positions.length; ++i){
+			float distance = i == positions.length - 1 ? arcLength : arcLength*i/(positions.length - 1);
+			while(sample < arcLengths.length - 2 && arcLengths[sample + 1] < distance){
+				++sample;
+			}
+			float parameter = getParameterInSample(sample, distance);
+			setToCurvePoint(point, parameter);
+			positions[i].set(point[0], point[1], point[2]);
+			if(rotations != null){
+				setToCurveRotation(point, parameter);
+				rotations[i].set(point[0], point[1], point[2]);
+			}
+		}
+	}
+	
+	/**
+	 * Sets the passed-in points to the positions and rotations of points spread evenly over the curve's
+	 * parameter rather than its length.  Each rotation is the direction to its point from the point before it,
+	 * and the first point uses the rotation of the second.  This is how curves were cached before they were
+	 * measured, down to the float math, so only use this where things made from those points must not change.
+	 * Arrays are as for {@link #setPointsToFrames(Point3d[], Point3d[])}, but rotations may not be null.
+	 */
+	public void setPointsToParametricFrames(Point3d[] positions, Point3d[] rotations){
+		float[] priorPoint = new float[3];
+		float[] point = new float[3];
+		for(int i=0; i<positions.length; ++i){
+			float segmentPercentage = i/((positions.length - 1)*1F);
+			for(int j=0; j<3; ++j){
+				if(startPoint[j] == endPoint[j]){
+					point[j] = startPoint[j];
+				}else{
+					point[j] = (float) (Math.pow(1-segmentPercentage, 3)*startPoint[j] + 3*Math.pow(1-segmentPercentage, 2)*segmentPercentage*startCurvePoint[j] + 3*(1-segmentPercentage)*Math.pow(segmentPercentage, 2)*endCurvePoint[j] + Math.pow(segmentPercentage, 3)*endPoint[j]);
+				}
+			}
+			positions[i].set(point[0], point[1], point[2]);
+			if(i > 0){
+				rotations[i].set((float) -Math.toDegrees(Math.atan((point[1] - priorPoint[1])/Math.hypot(point[0] - priorPoint[0], point[2] - priorPoint[2]))), (float) ((360 + Math.toDegrees(Math.atan2(point[0] - priorPoint[0], point[2] - priorPoint[2])))%360), 0);
+			}
+			float[] swapPoint = priorPoint;
+			priorPoint = point;
+			point = swapPoint;
+		}
+		rotations[0].setTo(rotations[1]);
+	}
+	
+	/**
+	 * Returns the curve parameter, from 0 to 1, for the point the passed-in distance along the curve.
+	 * Uses a binary search of the arc-length table to find the sample the distance is in.
+	 */
+	private float getParameterAt(float distance){
+		int lowSample = 0;
+		int highSample = arcLengths.length - 1;
+		while(highSample - lowSample > 1){
+			int midSample = (lowSample + highSample) >>> 1;
+			if(arcLengths[midSample] < distance){
+				lowSample = midSample;
+			}else{
+				highSample = midSample;
+			}
+		}
+		return getParameterInSample(lowSample, distance);
+	}
+	
+	/**
+	 * Returns the curve parameter for the passed-in distance, interpolated between the passed-in sample
+	 * of the arc-length table and the next one.  Distances outside the curve are clamped to it.
+	 */
+	private float getParameterInSample(int sample, float distance){
+		float sampleLength = arcLengths[sample + 1] - arcLengths[sample];
+		float sampleFraction = sampleLength > 0 ? (distance - arcLengths[sample])/sampleLength : 0;
+		return Math.max(0, Math.min(1, (sample + Math.max(0, Math.min(1, sampleFraction)))/(arcLengths.length - 1)));
+	}
+	
+	/**
+	 * Sets the passed-in array to the point on the curve at the passed-in parameter.
+	 */
+	private void setToCurvePoint(float[] point, float parameter){
+		float inverseParameter = 1 - parameter;
+		for(int i=0; i<3; ++i){
+			point[i] = inverseParameter*inverseParameter*inverseParameter*startPoint[i] + 3*inverseParameter*inverseParameter*parameter*startCurvePoint[i] + 3*inverseParameter*parameter*parameter*endCurvePoint[i] + parameter*parameter*parameter*endPoint[i];
+		}
+	}
+	
+	/**
+	 * Sets the passed-in array to the rotation of the curve at the passed-in parameter.
+	 * This is the direction of the tangent of the curve, as pitch and yaw, with no roll.
+	 * If the curve has no direction at the parameter, such as a curve of no length, no rotation is used.
+	 * The tangent is worked out in the passed-in array before it is converted, so nothing is allocated.
+	 */
+	private void setToCurveRotation(float[] rotation, float parameter){
+		float inverseParameter = 1 - parameter;
+		for(int i=0; i<3; ++i){
+			rotation[i] = 3*inverseParameter*inverseParameter*(startCurvePoint[i] - startPoint[i]) + 6*inverseParameter*parameter*(endCurvePoint[i] - startCurvePoint[i]) + 3*parameter*parameter*(endPoint[i] - endCurvePoint[i]);
+		}
+		double horizontalLength = Math.hypot(rotation[0], rotation[2]);
+		if(horizontalLength == 0 && rotation[1] == 0){
+			rotation[0] = 0;
+			rotation[1] = 0;
+		}else{
+			float tangentY = rotation[1];
+			rotation[1] = (float) ((360 + Math.toDegrees(Math.atan2(rotation[0], rotation[2])))%360);
+			rotation[0] = (float) -Math.toDegrees(Math.atan2(tangentY, horizontalLength));
+		}
+		rotation[2] = 0;
+	}
+	
+	/**
+	 * Helper function to estimate the total path length.  This is the average of the distance
+	 * between the ends and the distance through the control points.
+	 */
+	private float getEstimatedPathLength(){
 		float dist1 = (float) Math.sqrt(Math.pow(endPoint[0] - startPoint[0], 2) + Math.pow(endPoint[1] - startPoint[1], 2) + Math.pow(endPoint[2] - startPoint[2], 2));
 		float dist2 = (float) Math.sqrt(Math.pow(startCurvePoint[0] - startPoint[0], 2) + Math.pow(startCurvePoint[1] - startPoint[1], 2) + Math.pow(startCurvePoint[2] - startPoint[2], 2));
 		float dist3 = (float) Math.sqrt(Math.pow(endCurvePoint[0] - startCurvePoint[0], 2) + Math.pow(endCurvePoint[1] - startCurvePoint[1], 2) + Math.pow(endCurvePoint[2] - startCurvePoint[2], 2));
@@ -109,21 +311,41 @@ public class BezierCurve{
 	}
 	
 	/**
-	 * Helper function to calculate the cached path points for the passed-in parameters.
+	 * Key for the shape of a curve.  This is where the end of the curve is relative to its start,
+	 * and the angles at both ends.  Curves that are only moved from one another have equal keys.
 	 */
-	private static float[] getCachedPathPoints(float startPoint, float endPoint, float startCurvePoint, float endCurvePoint, float pathLength){
-		float[] points = new float[Math.round(pathLength*CURVE_STEP) + 1];
-		if(startPoint == endPoint){
-			for(int i=0; i<points.length; ++i){
-				points[i] = startPoint;
-			}
-		}else{
-			float segmentPercentage;
-			for(int i=0; i<points.length; ++i){
-				segmentPercentage = i/((points.length - 1)*1F);
-				points[i] = (float) (Math.pow(1-segmentPercentage, 3)*startPoint + 3*Math.pow(1-segmentPercentage, 2)*segmentPercentage*startCurvePoint + 3*(1-segmentPercentage)*Math.pow(segmentPercentage, 2)*endCurvePoint + Math.pow(segmentPercentage, 3)*endPoint);
+	private static final class ShapeKey{
+		private final double deltaX;
+		private final double deltaY;
+		private final double deltaZ;
+		private final float startAngle;
+		private final float endAngle;
+		
+		private ShapeKey(double deltaX, double deltaY, double deltaZ, float startAngle, float endAngle){
+			this.deltaX = deltaX;
+			this.deltaY = deltaY;
+			this.deltaZ = deltaZ;
+			this.startAngle = startAngle;
+			this.endAngle = endAngle;
+		}
+		
+		@Override
+		public boolean equals(Object object){
+			if(object instanceof ShapeKey){
+				ShapeKey other = (ShapeKey) object;
+				return Double.compare(deltaX, other.deltaX) == 0 && Double.compare(deltaY, other.deltaY) == 0 && Double.compare(deltaZ, other.deltaZ) == 0 && Float.compare(startAngle, other.startAngle) == 0 && Float.compare(endAngle, other.endAngle) == 0;
+			}else{
+				return false;
 			}
 		}
-		return points;
+		
+		@Override
+		public int hashCode(){
+			int hash = Double.hashCode(deltaX);
+			hash = 31*hash + Double.hashCode(deltaY);
+			hash = 31*hash + Double.hashCode(deltaZ);
+			hash = 31*hash + Float.hashCode(startAngle);
+			return 31*hash + Float.hashCode(endAngle);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -29,6 +29,7 @@ public class BoundingBox{
 	public final Point3d globalCenter;
 	public final Point3d currentCollisionDepth;
 	public final List<Point3d> collidingBlockPositions = new ArrayList<Point3d>();
+	private final List<Point3d> collidingBlockPositionBuffer = new ArrayList<Point3d>();
 	private final Point3d tempGlobalCenter;
 	
 	public double widthRadius;
@@ -88,19 +89,43 @@ public class BoundingBox{
 		return !collidingBlockPositions.isEmpty();
 	}
 	
+	/**
+	 *  Clears the colliding block positions for this box.  The points in the list
+	 *  are kept in an internal buffer to be re-used on the next collision check.
+	 */
+	public void clearCollidingBlockPositions(){
+		collidingBlockPositions.clear();
+	}
+	
+	/**
+	 *  Adds the passed-in block position to the colliding block positions for this box.
+	 *  Points are taken from the internal buffer, so a new point is only created if this
+	 *  box is colliding with more blocks than it ever has before.  Because of this, callers
+	 *  should NOT hold onto the points in {@link #collidingBlockPositions} after the next
+	 *  collision check, as they will be re-used.
+	 */
+	public void addCollidingBlockPosition(int x, int y, int z){
+		int index = collidingBlockPositions.size();
+		if(index == collidingBlockPositionBuffer.size()){
+			collidingBlockPositionBuffer.add(new Point3d());
+		}
+		collidingBlockPositions.add(collidingBlockPositionBuffer.get(index).set(x, y, z));
+	}
+	
 	/**
 	 *  Sets the global center of this box to the position of the passed-in entity, rotated by the
 	 *  entity's rotation and offset by the local center.  Mostly used for updating hitboxes that
-	 *  rotate with the entity.  Rotation is done using the fine Point3d rotation to allow for
-	 *  better interaction while standing on entities.  Optional extra offset is present should
-	 *  a supplemental translation need to be performed before aligning to the entity.
+	 *  rotate with the entity.  Rotation is done using the entity's orientation matrix, which is
+	 *  as precise as the fine Point3d rotation to allow for better interaction while standing on
+	 *  entities.  Optional extra offset is present should a supplemental translation need to be
+	 *  performed before aligning to the entity.
 	 */
 	public void updateToEntity(AEntityC_Definable<?> entity, Point3d optionalOffset){
 		globalCenter.setTo(localCenter);
 		if(optionalOffset != null){
 			globalCenter.add(optionalOffset);
 		}
-		globalCenter.rotateFine(entity.angles).add(entity.position);
+		globalCenter.rotate(entity.getOrientation()).add(entity.position);
 		if(isCollision){
 			//Need to round box to prevent floating-point errors.
 			globalCenter.x = ((int) (globalCenter.x/HITBOX_CLAMP))*HITBOX_CLAMP;
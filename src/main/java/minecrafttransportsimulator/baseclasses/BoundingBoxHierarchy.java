@@ -0,0 +1,249 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**Bounding volume hierarchy for a set of {@link BoundingBox}es.  Entities with lots of boxes, like large
+ * ships and airliners, would otherwise need to check every box for every ray or box query.  With this
+ * class, boxes are grouped into a tree of nodes, each of which has bounds that contain all the boxes
+ * in it.  Queries only need to check the boxes in the nodes they hit, so most boxes are never checked.
+ * <br><br>
+ * The tree is built by splitting the boxes in half along the longest axis of their bounds, until nodes
+ * have few enough boxes that it's quicker to check them than to split them again.  As boxes move every
+ * tick, {@link #update(Collection)} should be called after they move.  If the boxes are the same as the
+ * last call, the node bounds are simply refit to the new box positions.  If boxes were added or removed,
+ * such as when parts change, the tree is re-built.
+ * <br><br>
+ * Queries return all boxes whose bounds touch the query, so callers should still do their own checks
+ * on the returned boxes if they need exact results, such as the actual intersection point of a ray.
+ *
+ * @author don_bruce
+ */
+public class BoundingBoxHierarchy{
+	private static final int MAX_LEAF_BOXES = 4;
+	private static final List<Comparator<BoundingBox>> AXIS_COMPARATORS = Arrays.asList(
+		Comparator.comparingDouble(box -> box.globalCenter.x),
+		Comparator.comparingDouble(box -> box.globalCenter.y),
+		Comparator.comparingDouble(box -> box.globalCenter.z)
+	);
+
+	private final List<BoundingBox> sourceBoxes = new ArrayList<BoundingBox>();
+	private BoundingBox[] boxes = new BoundingBox[0];
+	private int nodeCount;
+	/**Bounds of the nodes, stored as sets of 6 values in minX, minY, minZ, maxX, maxY, maxZ order.**/
+	private double[] nodeBounds = new double[0];
+	private int[] nodeStart = new int[0];
+	private int[] nodeEnd = new int[0];
+	/**Indexes of the children of the nodes.  Leaf nodes have no children, and have -1 for these.**/
+	private int[] nodeLeftChild = new int[0];
+	private int[] nodeRightChild = new int[0];
+
+	/**
+	 *  Updates this hierarchy to the passed-in boxes.  If the boxes are the same as the last
+	 *  call, and in the same order, the nodes are refit.  Otherwise, the tree is re-built.
+	 */
+	public void update(Collection<BoundingBox> newBoxes){
+		if(areBoxesSame(newBoxes)){
+			refit();
+		}else{
+			build(newBoxes);
+		}
+	}
+
+	/**
+	 *  Returns the boxes in this hierarchy, in the order they were last passed-in.
+	 */
+	public List<BoundingBox> getBoxes(){
+		return sourceBoxes;
+	}
+
+	/**
+	 *  Adds all boxes that touch the passed-in bounds to the passed-in list.
+	 */
+	public void getBoxesInBounds(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, List<BoundingBox> foundBoxes){
+		if(nodeCount > 0){
+			addBoxesInBounds(0, minX, minY, minZ, maxX, maxY, maxZ, foundBoxes);
+		}
+	}
+
+	/**
+	 *  Adds all boxes that the line between the passed-in points may hit to the passed-in list.
+	 */
+	public void getBoxesOnPath(Point3d start, Point3d end, List<BoundingBox> foundBoxes){
+		if(nodeCount > 0){
+			addBoxesOnPath(0, start, end.x - start.x, end.y - start.y, end.z - start.z, foundBoxes);
+		}
+	}
+
+	private boolean areBoxesSame(Collection<BoundingBox> newBoxes){
+		if(newBoxes.size() != sourceBoxes.size()){
+			return false;
+		}
+		Iterator<BoundingBox> iterator = newBoxes.iterator();
+		for(BoundingBox box : sourceBoxes){
+			if(box != iterator.next()){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void build(Collection<BoundingBox> newBoxes){
+		sourceBoxes.clear();
+		sourceBoxes.addAll(newBoxes);
+		boxes = sourceBoxes.toArray(new BoundingBox[sourceBoxes.size()]);
+
+		//A binary tree with at least one box per leaf can't have more than twice as many nodes as boxes.
+		int maxNodes = 2*boxes.length;
+		if(nodeStart.length < maxNodes){
+			nodeBounds = new double[maxNodes*6];
+			nodeStart = new int[maxNodes];
+			nodeEnd = new int[maxNodes];
+			nodeLeftChild = new int[maxNodes];
+			nodeRightChild = new int[maxNodes];
+		}
+		nodeCount = 0;
+		if(boxes.length > 0){
+			buildNode(0, boxes.length);
+		}
+	}
+
+	/**
+	 *  Builds the node for the boxes between the passed-in indexes, and all nodes under it.
+	 *  Nodes are created before their children, so children always have higher indexes than their parents.
+	 */
+	private int buildNode(int start, int end){
+		int node = nodeCount++;
+		nodeStart[node] = start;
+		nodeEnd[node] = end;
+		setBoundsFromBoxes(node);
+		if(end - start <= MAX_LEAF_BOXES){
+			nodeLeftChild[node] = -1;
+			nodeRightChild[node] = -1;
+		}else{
+			//Split the boxes in half along the longest axis of this node.
+			int index = node*6;
+			double sizeX = nodeBounds[index + 3] - nodeBounds[index];
+			double sizeY = nodeBounds[index + 4] - nodeBounds[index + 1];
+			double sizeZ = nodeBounds[index + 5] - nodeBounds[index + 2];
+			int axis = sizeX >= sizeY && sizeX >= sizeZ ? 0 : (sizeY >= sizeZ ? 1 : 2);
+			Arrays.sort(boxes, start, end, AXIS_COMPARATORS.get(axis));
+			int middle = (start + end)/2;
+			nodeLeftChild[node] = buildNode(start, middle);
+			nodeRightChild[node] = buildNode(middle, end);
+		}
+		return node;
+	}
+
+	/**
+	 *  Refits all nodes to the current box positions.  As children always have higher indexes than
+	 *  their parents, going backwards through the nodes ensures children are refit before their parents.
+	 */
+	private void refit(){
+		for(int node=nodeCount - 1; node>=0; --node){
+			if(nodeLeftChild[node] == -1){
+				setBoundsFromBoxes(node);
+			}else{
+				int index = node*6;
+				int leftIndex = nodeLeftChild[node]*6;
+				int rightIndex = nodeRightChild[node]*6;
+				for(int i=0; i<3; ++i){
+					nodeBounds[index + i] = Math.min(nodeBounds[leftIndex + i], nodeBounds[rightIndex + i]);
+					nodeBounds[index + i + 3] = Math.max(nodeBounds[leftIndex + i + 3], nodeBounds[rightIndex + i + 3]);
+				}
+			}
+		}
+	}
+
+	private void setBoundsFromBoxes(int node){
+		int index = node*6;
+		nodeBounds[index] = Double.MAX_VALUE;
+		nodeBounds[index + 1] = Double.MAX_VALUE;
+		nodeBounds[index + 2] = Double.MAX_VALUE;
+		nodeBounds[index + 3] = -Double.MAX_VALUE;
+		nodeBounds[index + 4] = -Double.MAX_VALUE;
+		nodeBounds[index + 5] = -Double.MAX_VALUE;
+		for(int i=nodeStart[node]; i<nodeEnd[node]; ++i){
+			BoundingBox box = boxes[i];
+			nodeBounds[index] = Math.min(nodeBounds[index], box.globalCenter.x - box.widthRadius);
+			nodeBounds[index + 1] = Math.min(nodeBounds[index + 1], box.globalCenter.y - box.heightRadius);
+			nodeBounds[index + 2] = Math.min(nodeBounds[index + 2], box.globalCenter.z - box.depthRadius);
+			nodeBounds[index + 3] = Math.max(nodeBounds[index + 3], box.globalCenter.x + box.widthRadius);
+			nodeBounds[index + 4] = Math.max(nodeBounds[index + 4], box.globalCenter.y + box.heightRadius);
+			nodeBounds[index + 5] = Math.max(nodeBounds[index + 5], box.globalCenter.z + box.depthRadius);
+		}
+	}
+
+	private void addBoxesInBounds(int node, double minX, double minY, double minZ, double maxX, double maxY, double maxZ, List<BoundingBox> foundBoxes){
+		int index = node*6;
+		if(maxX >= nodeBounds[index] && minX <= nodeBounds[index + 3] && maxY >= nodeBounds[index + 1] && minY <= nodeBounds[index + 4] && maxZ >= nodeBounds[index + 2] && minZ <= nodeBounds[index + 5]){
+			if(nodeLeftChild[node] == -1){
+				for(int i=nodeStart[node]; i<nodeEnd[node]; ++i){
+					BoundingBox box = boxes[i];
+					if(maxX >= box.globalCenter.x - box.widthRadius && minX <= box.globalCenter.x + box.widthRadius && maxY >= box.globalCenter.y - box.heightRadius && minY <= box.globalCenter.y + box.heightRadius && maxZ >= box.globalCenter.z - box.depthRadius && minZ <= box.globalCenter.z + box.depthRadius){
+						foundBoxes.add(box);
+					}
+				}
+			}else{
+				addBoxesInBounds(nodeLeftChild[node], minX, minY, minZ, maxX, maxY, maxZ, foundBoxes);
+				addBoxesInBounds(nodeRightChild[node], minX, minY, minZ, maxX, maxY, maxZ, foundBoxes);
+			}
+		}
+	}
+
+	private void addBoxesOnPath(int node, Point3d start, double deltaX, double deltaY, double deltaZ, List<BoundingBox> foundBoxes){
+		int index = node*6;
+		if(isPathInBounds(start, deltaX, deltaY, deltaZ, nodeBounds[index], nodeBounds[index + 1], nodeBounds[index + 2], nodeBounds[index + 3], nodeBounds[index + 4], nodeBounds[index + 5])){
+			if(nodeLeftChild[node] == -1){
+				for(int i=nodeStart[node]; i<nodeEnd[node]; ++i){
+					BoundingBox box = boxes[i];
+					if(isPathInBounds(start, deltaX, deltaY, deltaZ, box.globalCenter.x - box.widthRadius, box.globalCenter.y - box.heightRadius, box.globalCenter.z - box.depthRadius, box.globalCenter.x + box.widthRadius, box.globalCenter.y + box.heightRadius, box.globalCenter.z + box.depthRadius)){
+						foundBoxes.add(box);
+					}
+				}
+			}else{
+				addBoxesOnPath(nodeLeftChild[node], start, deltaX, deltaY, deltaZ, foundBoxes);
+				addBoxesOnPath(nodeRightChild[node], start, deltaX, deltaY, deltaZ, foundBoxes);
+			}
+		}
+	}
+
+	/**
+	 *  Returns true if the path from the start point along the passed-in deltas touches the passed-in bounds.
+	 *  This is done by finding the part of the path inside the bounds for each axis, and checking if
+	 *  those parts overlap for all axes.
+	 */
+	private static boolean isPathInBounds(Point3d start, double deltaX, double deltaY, double deltaZ, double minX, double minY, double minZ, double maxX, double maxY, double maxZ){
+		double enterTime = 0;
+		double exitTime = 1;
+		if(deltaX != 0){
+			double minTime = (minX - start.x)/deltaX;
+			double maxTime = (maxX - start.x)/deltaX;
+			enterTime = Math.max(enterTime, Math.min(minTime, maxTime));
+			exitTime = Math.min(exitTime, Math.max(minTime, maxTime));
+		}else if(start.x < minX || start.x > maxX){
+			return false;
+		}
+		if(deltaY != 0){
+			double minTime = (minY - start.y)/deltaY;
+			double maxTime = (maxY - start.y)/deltaY;
+			enterTime = Math.max(enterTime, Math.min(minTime, maxTime));
+			exitTime = Math.min(exitTime, Math.max(minTime, maxTime));
+		}else if(start.y < minY || start.y > maxY){
+			return false;
+		}
+		if(deltaZ != 0){
+			double minTime = (minZ - start.z)/deltaZ;
+			double maxTime = (maxZ - start.z)/deltaZ;
+			enterTime = Math.max(enterTime, Math.min(minTime, maxTime));
+			exitTime = Math.min(exitTime, Math.max(minTime, maxTime));
+		}else if(start.z < minZ || start.z > maxZ){
+			return false;
+		}
+		return enterTime <= exitTime;
+	}
+}
@@ -0,0 +1,92 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**Lookup table for aerodynamic coefficients, or any other value that depends on a single input like an angle.
+ * Values are stored at even steps between the min and max inputs, so getting a value only requires an index
+ * calculation and a linear interpolation between the two closest values, rather than calculating the
+ * coefficient from scratch.  Inputs outside the table return the value at the closest end.
+ * <br><br>
+ * Tables may either be created from a function, which is sampled at every step, or from a set of
+ * input/output points, such as ones supplied by a pack, which are interpolated to every step.
+ *
+ * @author don_bruce
+ */
+public class CoefficientTable{
+	private final double minInput;
+	private final double maxInput;
+	private final double step;
+	private final double[] values;
+
+	/**
+	 *  Creates a table by sampling the passed-in function at every step between the min and max inputs.
+	 */
+	public CoefficientTable(double minInput, double maxInput, double step, DoubleUnaryOperator function){
+		this.minInput = minInput;
+		this.step = step;
+		this.values = new double[(int) Math.ceil((maxInput - minInput)/step) + 1];
+		this.maxInput = minInput + (values.length - 1)*step;
+		for(int i=0; i<values.length; ++i){
+			values[i] = function.applyAsDouble(minInput + i*step);
+		}
+	}
+
+	/**
+	 *  Creates a table from the passed-in points.  Inputs must be in increasing order, and
+	 *  there must be an output for every input.  Values between the points are linearly
+	 *  interpolated, so the table will only be as smooth as the points given to it.
+	 */
+	public CoefficientTable(List<Float> inputs, List<Float> outputs, double step){
+		this(inputs.get(0), inputs.get(inputs.size() - 1), step, input -> {
+			int index = 1;
+			while(index < inputs.size() - 1 && inputs.get(index) < input){
+				++index;
+			}
+			double lowerInput = inputs.get(index - 1);
+			double upperInput = inputs.get(index);
+			if(upperInput == lowerInput){
+				return outputs.get(index);
+			}else{
+				double factor = Math.min(Math.max((input - lowerInput)/(upperInput - lowerInput), 0), 1);
+				return outputs.get(index - 1) + (outputs.get(index) - outputs.get(index - 1))*factor;
+			}
+		});
+	}
+
+	/**
+	 *  Returns the value for the passed-in input.
+	 */
+	public double getValue(double input){
+		if(input <= minInput){
+			return values[0];
+		}else if(input >= maxInput){
+			return values[values.length - 1];
+		}else{
+			double index = (input - minInput)/step;
+			int lowerIndex = (int) index;
+			if(lowerIndex >= values.length - 1){
+				return values[values.length - 1];
+			}else{
+				double lowerValue = values[lowerIndex];
+				return lowerValue + (values[lowerIndex + 1] - lowerValue)*(index - lowerIndex);
+			}
+		}
+	}
+
+	/**
+	 *  Returns true if the passed-in points can be used to make a table.  This requires at least
+	 *  two points, the same number of inputs and outputs, and the inputs to be in increasing order.
+	 */
+	public static boolean arePointsValid(List<Float> inputs, List<Float> outputs){
+		if(inputs == null || outputs == null || inputs.size() < 2 || inputs.size() != outputs.size()){
+			return false;
+		}
+		for(int i=1; i<inputs.size(); ++i){
+			if(inputs.get(i) < inputs.get(i - 1)){
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -294,6 +294,8 @@ public class Point3d{
      * Rotates this point about the passed-in angles.  Rotation is done using actual sin
      * and cos calls via a rotation matrix, so only use this when precision is required (say
      * in rendering operations).  If only a rough approximation is required, use {@link #rotateCoarse(Point3d)}
+     * Note that this creates the matrix each call, so if you are rotating many points by the same angles,
+     * such as the boxes and parts on an entity, use {@link #rotate(RotationMatrix)} instead.
      */
 	public Point3d rotateFine(Point3d angles){
 		if(!angles.isZero()){
@@ -311,6 +313,15 @@ public class Point3d{
 		return this;
 	}
 	
+	/**
+     * Rotates this point by the passed-in rotation matrix.  This gives the same result as
+     * {@link #rotateFine(Point3d)} with the angles the matrix was created from, but without
+     * any sin or cos calls.
+     */
+	public Point3d rotate(RotationMatrix matrix){
+		return matrix.rotate(this);
+	}
+	
 	/**
      * Rotates this point about the passed-in angle on the Y-axis.  Useful for single-plane rotations,
      * as the Y=axis is also the first rotation to be performed on a point in all systems.
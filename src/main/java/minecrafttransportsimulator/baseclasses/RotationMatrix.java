@@ -0,0 +1,88 @@
+package minecrafttransportsimulator.baseclasses;
+
+/**3x3 rotation matrix.  This is the same matrix that {@link Point3d#rotateFine(Point3d)} creates
+ * for every call, only it is saved so it can be applied to many points without re-calculating
+ * the sin and cos values each time.  Entities keep one of these for their current angles and
+ * use it for all their box, part, and force transforms.  The matrix is only re-calculated if the
+ * angles passed-in to {@link #setToAngles(Point3d)} are different from the last angles set, so
+ * it's safe to call that method before every use without worrying about performance.
+ * <br><br>
+ * Like {@link Point3d}, this class is mutable to prevent having to create a new object every time
+ * the angles change.
+ *
+ * @author don_bruce
+ */
+public class RotationMatrix{
+	public double m00 = 1;
+	public double m01;
+	public double m02;
+	public double m10;
+	public double m11 = 1;
+	public double m12;
+	public double m20;
+	public double m21;
+	public double m22 = 1;
+
+	private double lastAngleX;
+	private double lastAngleY;
+	private double lastAngleZ;
+
+	/**
+	 * Sets this matrix to the rotation defined by the passed-in angles.  Angles follow the same
+	 * Yaw*Pitch*Roll format as {@link Point3d#rotateFine(Point3d)}, so rotating a point with this
+	 * matrix gives the same result as calling that method.  If the angles are the same as the
+	 * last set of angles, no calculations are done.
+	 * Returns the called object for nested operations.
+	 */
+	public RotationMatrix setToAngles(Point3d angles){
+		if(angles.x != lastAngleX || angles.y != lastAngleY || angles.z != lastAngleZ){
+			lastAngleX = angles.x;
+			lastAngleY = angles.y;
+			lastAngleZ = angles.z;
+			double cosX = Math.cos(Math.toRadians(angles.x));//A
+			double sinX = Math.sin(Math.toRadians(angles.x));//B
+			double cosY = Math.cos(Math.toRadians(angles.y));//C
+			double sinY = Math.sin(Math.toRadians(angles.y));//D
+			double cosZ = Math.cos(Math.toRadians(angles.z));//E
+			double sinZ = Math.sin(Math.toRadians(angles.z));//F
+			m00 = cosY*cosZ-sinX*-sinY*sinZ;
+			m01 = -sinX*-sinY*cosZ-cosY*sinZ;
+			m02 = -cosX*-sinY;
+			m10 = cosX*sinZ;
+			m11 = cosX*cosZ;
+			m12 = -sinX;
+			m20 = -sinY*cosZ+sinX*cosY*sinZ;
+			m21 = sinX*cosY*cosZ+sinY*sinZ;
+			m22 = cosX*cosY;
+		}
+		return this;
+	}
+
+	/**
+	 * Rotates the passed-in point by this matrix.
+	 * Returns the passed-in point for nested operations.
+	 */
+	public Point3d rotate(Point3d point){
+		return point.set(	point.x*m00 + point.y*m01 + point.z*m02,
+							point.x*m10 + point.y*m11 + point.z*m12,
+							point.x*m20 + point.y*m21 + point.z*m22
+		);
+	}
+
+	/**
+	 * Rotates the passed-in point by the inverse of this matrix.  As this is a rotation matrix,
+	 * the inverse is just the transpose.  Useful for converting global vectors to local ones.
+	 * Returns the passed-in point for nested operations.
+	 */
+	public Point3d reverseRotate(Point3d point){
+		return point.set(	point.x*m00 + point.y*m10 + point.z*m20,
+							point.x*m01 + point.y*m11 + point.z*m21,
+							point.x*m02 + point.y*m12 + point.z*m22
+		);
+	}
+
+	@Override
+	public String toString(){
+		return "[[" + m00 + ", " + m01 + ", " + m02 + "], [" + m10 + ", " + m11 + ", " + m12 + "], [" + m20 + ", " + m21 + ", " + m22 + "]]";
+	}
+}
@@ -27,6 +27,9 @@ public class TrailerConnection{
 	public JSONConnection hitchConnection;
 	public JSONConnectionGroup hookupConnectionGroup;
 	public JSONConnection hookupConnection;
+	private final Point3d hitchCurrentPosition = new Point3d();
+	private final Point3d hitchPrevPosition = new Point3d();
+	private long hitchPositionTick = Long.MIN_VALUE;
 	
 	public TrailerConnection(AEntityD_Interactable<?> hitchEntity, int hitchGroupIndex, int hitchConnectionIndex, AEntityD_Interactable<?> hookupEntity, int hookupGroupIndex, int hookupConnectionIndex){
 		this.hitchEntityUUID = hitchEntity.uniqueUUID;
@@ -70,15 +73,38 @@ public class TrailerConnection{
 	}
 	
 	public Point3d getHitchCurrentPosition(){
-		return hitchConnection.pos.copy().rotateFine(hitchEntity.angles).add(hitchEntity.position);
+		updateHitchPositions();
+		return hitchCurrentPosition.copy();
 	}
 	
 	public Point3d getHitchPrevPosition(){
-		return hitchConnection.pos.copy().rotateFine(hitchEntity.prevAngles).add(hitchEntity.prevPosition);
+		updateHitchPositions();
+		return hitchPrevPosition.copy();
+	}
+	
+	/**
+	 *  Updates the hitch positions if the hitch has ticked since they were last calculated.
+	 *  Towed entities are updated by the entity towing them after it moves, so the hitch
+	 *  will always be in its final position for the tick when this is called.  This lets
+	 *  us calculate the hitch position once per tick and use it for all the trailer's logic.
+	 *  As the prev position of the hitch is just the position it was at last tick, we can
+	 *  also use the last tick's position for it rather than re-calculating it.
+	 */
+	private void updateHitchPositions(){
+		long hitchTick = hitchBaseEntity.ticksExisted;
+		if(hitchTick != hitchPositionTick){
+			if(hitchTick == hitchPositionTick + 1){
+				hitchPrevPosition.setTo(hitchCurrentPosition);
+			}else{
+				hitchPrevPosition.setTo(hitchConnection.pos).rotateFine(hitchEntity.prevAngles).add(hitchEntity.prevPosition);
+			}
+			hitchCurrentPosition.setTo(hitchConnection.pos).rotate(hitchEntity.getOrientation()).add(hitchEntity.position);
+			hitchPositionTick = hitchTick;
+		}
 	}
 	
 	public Point3d getHookupCurrentPosition(){
-		return hookupConnection.pos.copy().rotateFine(hookupEntity.angles).add(hookupEntity.position);
+		return hookupConnection.pos.copy().rotate(hookupEntity.getOrientation()).add(hookupEntity.position);
 	}
 	
 	public Point3d getHookupPrevPosition(){
@@ -61,14 +61,11 @@ public class BlockFuelPump extends ABlockBaseDecor<TileEntityFuelPump>{
     			//Get the closest vehicle within a 16-block radius.
     			EntityVehicleF_Physics nearestVehicle = null;
     			double lowestDistance = 16D;
-    			for(AEntityA_Base entity : AEntityA_Base.getEntities(world)){
-    				if(entity instanceof EntityVehicleF_Physics){
-    					EntityVehicleF_Physics testVehicle = (EntityVehicleF_Physics) entity;
-    					double vehicleDistance = testVehicle.position.distanceTo(position);
-    					if(vehicleDistance < lowestDistance){
-    						lowestDistance = vehicleDistance;
-    						nearestVehicle = testVehicle;
-    					}
+    			for(EntityVehicleF_Physics testVehicle : AEntityA_Base.getEntities(world, EntityVehicleF_Physics.class)){
+    				double vehicleDistance = testVehicle.position.distanceTo(position);
+    				if(vehicleDistance < lowestDistance){
+    					lowestDistance = vehicleDistance;
+    					nearestVehicle = testVehicle;
     				}
     			}
     			
@@ -0,0 +1,173 @@
+package minecrafttransportsimulator.blocks.tileentities.components;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import minecrafttransportsimulator.baseclasses.BezierCurve;
+import minecrafttransportsimulator.baseclasses.Point3d;
+
+/**Rasterizer for the band a dynamic road covers.  The band goes from the road's curve out to the
+ * road's border, so it is split into thin quads between evenly-spaced points on the curve.  Each quad
+ * is then scan-converted into the blocks it covers, one row of blocks at a time.  This gives every block
+ * of the band exactly once, rather than sampling the band at many points and removing the duplicates.
+ * <br><br>
+ * Blocks are returned as offsets from the road, to match the road's collision block offsets.  Like the
+ * road's point sampling, X and Z offsets are truncated rather than floored.  The blocks are not the same
+ * as that sampling gives, however.  Sampling stops short of the border and steps over block corners, so
+ * bands here usually have more blocks at their edges.  Blocks that the band only touches by less than
+ * {@link #EDGE_TOLERANCE} are ignored, so bands that end on block edges don't spill into the next block.
+ * As the blocks differ, roads only use this if their definition asks for it.  All others still use the
+ * sampling, which is also here so both share the same block checks.
+ *
+ * @author don_bruce
+ */
+public class RoadBandRasterizer{
+	/**Quads per block along the curve.  More quads follow the curve closer, but take longer to rasterize.**/
+	private static final int QUADS_PER_BLOCK = 4;
+	/**Coverage less than this is ignored at the edges of quads.**/
+	private static final double EDGE_TOLERANCE = 0.01;
+
+	private final Set<Long> blockKeys = new HashSet<Long>();
+	private final Map<Point3d, Integer> blockHeights = new LinkedHashMap<Point3d, Integer>();
+
+	private RoadBandRasterizer(){}
+
+	/**
+	 *  Returns the blocks covered by the band from the passed-in curve out to the passed-in width.
+	 *  The band is on the positive-X side of the curve, and is raised by the passed-in height.
+	 *  The map returned is keyed by block offset, with the value being the collision height of
+	 *  that block, in 16ths of a block.  Blocks are in order of where they are first reached on the curve.
+	 */
+	public static Map<Point3d, Integer> getBandBlocks(BezierCurve curve, double width, double height){
+		RoadBandRasterizer rasterizer = new RoadBandRasterizer();
+		Point3d[] positions = new Point3d[Math.max((int) Math.ceil(curve.pathLength*QUADS_PER_BLOCK), 1) + 1];
+		Point3d[] rotations = new Point3d[positions.length];
+		for(int i=0; i<positions.length; ++i){
+			positions[i] = new Point3d();
+			rotations[i] = new Point3d();
+		}
+		curve.setPointsToFrames(positions, rotations);
+
+		//Only use yaw for the border, as blocks are placed flat.
+		Point3d priorBorder = new Point3d(width, 0, 0).rotateY(rotations[0].y).add(positions[0]);
+		Point3d border = new Point3d();
+		double[] quadX = new double[4];
+		double[] quadZ = new double[4];
+		for(int i=1; i<positions.length; ++i){
+			border.set(width, 0, 0).rotateY(rotations[i].y).add(positions[i]);
+			quadX[0] = positions[i - 1].x;
+			quadZ[0] = positions[i - 1].z;
+			quadX[1] = priorBorder.x;
+			quadZ[1] = priorBorder.z;
+			quadX[2] = border.x;
+			quadZ[2] = border.z;
+			quadX[3] = positions[i].x;
+			quadZ[3] = positions[i].z;
+
+			//Quads use the height at their start, as blocks keep the height of the first point that reaches them.
+			double quadHeight = positions[i - 1].y + height;
+			int blockY = (int) Math.floor(quadHeight);
+			rasterizer.rasterizeQuad(quadX, quadZ, blockY, (int) ((quadHeight - blockY)*16));
+			priorBorder.setTo(border);
+		}
+		return rasterizer.blockHeights;
+	}
+	
+	/**
+	 *  Returns the blocks the road's point sampling gives for the band from the passed-in curve out to the
+	 *  passed-in width.  The band is sampled every 0.1 blocks along the curve, and in even steps short of the
+	 *  width across it, at the curve's parametric points.  Blocks get the height of the first sample in them.
+	 *  This gives the same blocks roads have always had, as it does the same steps with the same math.
+	 *  Returned the same as {@link #getBandBlocks(BezierCurve, double, double)}.
+	 */
+	public static Map<Point3d, Integer> getSampledBandBlocks(BezierCurve curve, float width, float height){
+		RoadBandRasterizer rasterizer = new RoadBandRasterizer();
+		Point3d[] positions = new Point3d[Math.max(Math.round(curve.pathLength*BezierCurve.CURVE_STEP), 1) + 1];
+		Point3d[] rotations = new Point3d[positions.length];
+		for(int i=0; i<positions.length; ++i){
+			positions[i] = new Point3d();
+			rotations[i] = new Point3d();
+		}
+		curve.setPointsToParametricFrames(positions, rotations);
+		
+		Point3d testOffset = new Point3d();
+		Point3d testRotation = new Point3d();
+		float segmentDelta = (float) (width/(Math.floor(width) + 1));
+		for(float f=0; f<curve.pathLength; f+=0.1){
+			int index = Math.round(f*BezierCurve.CURVE_STEP);
+			//We only want yaw for block placement.
+			testRotation.set(0, rotations[index].y, 0);
+			for(float offset=0; offset < width; offset += segmentDelta){
+				testOffset.set(offset, 0, 0).rotateCoarse(testRotation).add(0, height, 0).add(positions[index]);
+				int blockY = (int) Math.floor(testOffset.y);
+				rasterizer.addTruncatedBlock((int) testOffset.x, blockY, (int) testOffset.z, (int) ((testOffset.y - blockY)*16));
+			}
+		}
+		return rasterizer.blockHeights;
+	}
+
+	/**
+	 *  Adds all blocks the passed-in quad covers, one row of blocks on the Z-axis at a time.
+	 *  For each row, the quad's edges are clipped to the row to find the X-span of the quad in it.
+	 *  This is exact for convex quads.  Quads that are inverted by sharp curves get the span of
+	 *  both their halves, which covers the inverted area as well.
+	 */
+	private void rasterizeQuad(double[] quadX, double[] quadZ, int blockY, int blockHeight){
+		double minZ = Math.min(Math.min(quadZ[0], quadZ[1]), Math.min(quadZ[2], quadZ[3]));
+		double maxZ = Math.max(Math.max(quadZ[0], quadZ[1]), Math.max(quadZ[2], quadZ[3]));
+		for(int row=(int) Math.floor(minZ + EDGE_TOLERANCE); row<Math.ceil(maxZ - EDGE_TOLERANCE); ++row){
+			double rowMinZ = Math.max(row, minZ);
+			double rowMaxZ = Math.min(row + 1, maxZ);
+			double rowMinX = Double.MAX_VALUE;
+			double rowMaxX = -Double.MAX_VALUE;
+			for(int i=0; i<4; ++i){
+				double startX = quadX[i];
+				double startZ = quadZ[i];
+				double endX = quadX[(i + 1)%4];
+				double endZ = quadZ[(i + 1)%4];
+				if(startZ == endZ){
+					if(startZ >= rowMinZ && startZ <= rowMaxZ){
+						rowMinX = Math.min(rowMinX, Math.min(startX, endX));
+						rowMaxX = Math.max(rowMaxX, Math.max(startX, endX));
+					}
+				}else{
+					//Get the part of the edge that is in this row.
+					double rowStartFactor = (rowMinZ - startZ)/(endZ - startZ);
+					double rowEndFactor = (rowMaxZ - startZ)/(endZ - startZ);
+					double edgeStartFactor = Math.max(0, Math.min(rowStartFactor, rowEndFactor));
+					double edgeEndFactor = Math.min(1, Math.max(rowStartFactor, rowEndFactor));
+					if(edgeStartFactor <= edgeEndFactor){
+						double edgeStartX = startX + (endX - startX)*edgeStartFactor;
+						double edgeEndX = startX + (endX - startX)*edgeEndFactor;
+						rowMinX = Math.min(rowMinX, Math.min(edgeStartX, edgeEndX));
+						rowMaxX = Math.max(rowMaxX, Math.max(edgeStartX, edgeEndX));
+					}
+				}
+			}
+			for(int column=(int) Math.floor(rowMinX + EDGE_TOLERANCE); column<Math.ceil(rowMaxX - EDGE_TOLERANCE); ++column){
+				addBlock(column, blockY, row, blockHeight);
+			}
+		}
+	}
+
+	/**
+	 *  Adds the block at the passed-in floored position, if it hasn't been added already.
+	 *  X and Z are converted to truncated offsets here, so blocks on either side of
+	 *  the road's origin may end up being the same block.
+	 */
+	private void addBlock(int x, int y, int z, int blockHeight){
+		addTruncatedBlock(x < 0 ? x + 1 : x, y, z < 0 ? z + 1 : z, blockHeight);
+	}
+	
+	/**
+	 *  Adds the block at the passed-in truncated offset, if it hasn't been added already.
+	 */
+	private void addTruncatedBlock(int blockX, int y, int blockZ, int blockHeight){
+		long key = ((blockX & 0x3FFFFFL) << 42) | ((blockZ & 0x3FFFFFL) << 20) | (y & 0xFFFFFL);
+		if(blockKeys.add(key)){
+			blockHeights.put(new Point3d(blockX, y, blockZ), blockHeight);
+		}
+	}
+}
@@ -41,16 +41,17 @@ public class RoadFollowingState{
 	 * Updates this curve to the proper point, returning itself.
 	 * If the point delta requested has gone past the curve's bounds, then the next
 	 * follower is returned instead.  If no follower is present because this is the
-	 * end of the curve, null is returned.
+	 * end of the curve, null is returned.  If a route is passed-in, the route's connections
+	 * are used for the next curve where possible, rather than the requested next curve.
 	 */
-	public RoadFollowingState updateCurvePoints(float segmentDelta, LaneSelectionRequest requestedNextCurve){
+	public RoadFollowingState updateCurvePoints(float segmentDelta, LaneSelectionRequest requestedNextCurve, RoadRoute route){
 		//Check that our TE is still active.  It might have been destroyed.
 		if(lane.road.isActive()){
 			currentSegment += goingForwards ? segmentDelta : -segmentDelta;
 			
 			if(currentSegment < 0){
 				//Get segment from prior curve.
-				RoadLaneConnection priorConnection = lane.getConnection(curve, requestedNextCurve, false);
+				RoadLaneConnection priorConnection = getConnection(requestedNextCurve, route, false);
 				if(priorConnection != null){
 					TileEntityRoad priorRoad = lane.road.world.getTileEntity(priorConnection.tileLocation);
 					if(priorRoad != null){
@@ -62,13 +63,13 @@ public class RoadFollowingState{
 							segmentRemainder = -segmentRemainder;
 						}
 						//Do recursion here in case we went two segments at once.
-						return new RoadFollowingState(priorLane, priorCurve, newForwardsState, priorConnection.connectedToStart ? 0 : priorCurve.pathLength).updateCurvePoints(segmentRemainder, requestedNextCurve);
+						return new RoadFollowingState(priorLane, priorCurve, newForwardsState, priorConnection.connectedToStart ? 0 : priorCurve.pathLength).updateCurvePoints(segmentRemainder, requestedNextCurve, route);
 					}
 				}
 				return null;
 			}else if(currentSegment > curve.pathLength){
 				//Get segment from next curve.
-				RoadLaneConnection nextConnection = lane.getConnection(curve, requestedNextCurve, true);
+				RoadLaneConnection nextConnection = getConnection(requestedNextCurve, route, true);
 				if(nextConnection != null){
 					TileEntityRoad nextRoad = lane.road.world.getTileEntity(nextConnection.tileLocation);
 					if(nextRoad != null){
@@ -80,7 +81,7 @@ public class RoadFollowingState{
 							segmentRemainder = -segmentRemainder;
 						}
 						//Do recursion here in case we went two segments at once.
-						return new RoadFollowingState(nextLane, nextCurve, newForwardsState, nextConnection.connectedToStart ? 0 : nextCurve.pathLength).updateCurvePoints(segmentRemainder, requestedNextCurve);
+						return new RoadFollowingState(nextLane, nextCurve, newForwardsState, nextConnection.connectedToStart ? 0 : nextCurve.pathLength).updateCurvePoints(segmentRemainder, requestedNextCurve, route);
 					}
 				}
 				return null;
@@ -92,6 +93,28 @@ public class RoadFollowingState{
 		}
 	}
 	
+	/**
+	 * Returns the road network node for this state.  This is the node for the
+	 * direction vehicles facing the same way as this state would travel.
+	 */
+	public RoadLaneNode getNode(){
+		return lane.getNode(lane.curves.indexOf(curve), goingForwards);
+	}
+	
+	/**
+	 * Helper method to get the connection to take when leaving this curve.
+	 */
+	private RoadLaneConnection getConnection(LaneSelectionRequest requestedNextCurve, RoadRoute route, boolean nextCurve){
+		if(route != null){
+			//Leaving by the next connections means we are travelling forwards on the curve.
+			RoadLaneConnection routeConnection = route.getNextConnection(lane.getNode(lane.curves.indexOf(curve), nextCurve));
+			if(routeConnection != null){
+				return routeConnection;
+			}
+		}
+		return lane.getConnection(curve, requestedNextCurve, nextCurve);
+	}
+	
 	/**
 	 * Returns the current point on this curve we set to in the world.
 	 * This should be called AFTER {@link #updateCurvePoints(float, int)},
@@ -1,6 +1,7 @@
 package minecrafttransportsimulator.blocks.tileentities.components;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
@@ -31,9 +32,23 @@ public class RoadLane{
 	public final List<BezierCurve> curves;
 	public final List<List<RoadLaneConnection>> priorConnections;
 	public final List<List<RoadLaneConnection>> nextConnections;
+	private final RoadLaneNode[] nodes;
+	
+	//Connection tables.  These hold the connection for each curve for each lane selection request.
+	private final RoadLaneConnection[][] priorConnectionTable;
+	private final RoadLaneConnection[][] nextConnectionTable;
+	private boolean connectionTablesValid;
 	
 	private static final double CURVE_CONNECTION_MAX_DISTANCE = 0.20;
 	
+	/**Sorts connections by curve net angle, from right to left.**/
+	private static final Comparator<RoadLaneConnection> CONNECTION_ANGLE_COMPARATOR = new Comparator<RoadLaneConnection>(){
+		@Override
+		public int compare(RoadLaneConnection arg0, RoadLaneConnection arg1){
+			return arg0.curveNetAngle < arg1.curveNetAngle ? -1 : (arg0.curveNetAngle > arg1.curveNetAngle ? 1 : 0);
+		}
+	};
+	
 	public RoadLane(TileEntityRoad road, int sectorNumber, int laneNumber, WrapperNBT data){
 		this.road = road;
 		this.sectorNumber = sectorNumber;
@@ -61,6 +76,17 @@ public class RoadLane{
 				}
 			}
 		}
+		
+		//Create the connection tables.  These are filled in when they are first used.
+		this.priorConnectionTable = new RoadLaneConnection[curves.size()][LaneSelectionRequest.values().length];
+		this.nextConnectionTable = new RoadLaneConnection[curves.size()][LaneSelectionRequest.values().length];
+		
+		//Create the road network nodes for our curves, one for each direction.
+		this.nodes = new RoadLaneNode[curves.size()*2];
+		for(int i=0; i<curves.size(); ++i){
+			nodes[i*2] = new RoadLaneNode(this, i, true);
+			nodes[i*2 + 1] = new RoadLaneNode(this, i, false);
+		}
 	}
 	
 	private Point3d generateCurves(){
@@ -132,6 +158,7 @@ public class RoadLane{
 				if(!otherRoad.equals(road)){
 					foundRoadsThisCheck = true;
 					for(RoadLane otherRoadLane : otherRoad.lanes){
+						otherRoadLane.invalidateConnectionTables();
 						for(BezierCurve otherRoadCurve : otherRoadLane.curves){
 							Point3d otherCurveStart = otherRoadCurve.startPos.copy().add(otherRoad.position);
 							Point3d otherCurveEnd = otherRoadCurve.endPos.copy().add(otherRoad.position);
@@ -182,6 +209,7 @@ public class RoadLane{
 			}
 			
 			if(foundRoadsThisCheck){
+				invalidateConnectionTables();
 				break;
 			}
 		}
@@ -204,6 +232,7 @@ public class RoadLane{
 					//If the prior connection is connected to the start of the curve,
 					//remove the priorConnection in that curve for the curve we are checking.
 					//If it's connected to the end, remove the next connections.
+					otherLane.invalidateConnectionTables();
 					if(curvePriorConnection.connectedToStart){
 						otherLane.priorConnections.get(curvePriorConnection.curveNumber).clear();
 						InterfacePacket.sendToAllClients(new PacketTileEntityRoadConnectionUpdate(otherLane, curvePriorConnection.curveNumber, true));
@@ -227,6 +256,7 @@ public class RoadLane{
 					//If the next connection is connected to the start of the curve,
 					//remove the priorConnection in that curve for the curve we are checking.
 					//If it's connected to the end, remove the next connections.
+					otherLane.invalidateConnectionTables();
 					if(curveNextConnection.connectedToStart){
 						otherLane.priorConnections.get(curveNextConnection.curveNumber).clear();
 						InterfacePacket.sendToAllClients(new PacketTileEntityRoadConnectionUpdate(otherLane, curveNextConnection.curveNumber, true));
@@ -243,26 +273,50 @@ public class RoadLane{
 	
 	/**
 	 * Returns the next curve for the passed-in curve and request, or null if it doesn't exist.
+	 * Connections are looked up in the connection tables, so no sorting is done here.
 	 */
 	public RoadLaneConnection getConnection(BezierCurve curve, LaneSelectionRequest requestedNextCurve, boolean nextCurve){
-		List<RoadLaneConnection> connections = nextCurve ? nextConnections.get(curves.indexOf(curve)) : priorConnections.get(curves.indexOf(curve));
-		if(!connections.isEmpty()){
-			//Sort the connections by curve net angle.
-			connections.sort(new Comparator<RoadLaneConnection>(){
-				@Override
-				public int compare(RoadLaneConnection arg0, RoadLaneConnection arg1){
-					return arg0.curveNetAngle < arg1.curveNetAngle ? -1 : (arg0.curveNetAngle > arg1.curveNetAngle ? 1 : 0);
-				}
-			});	
-			
-			//Get the connection requested.
-			switch(requestedNextCurve){
-				case LEFT: return connections.get(connections.size() - 1);	
-				case RIGHT: return connections.get(0);
-				case NONE: return connections.get(connections.size()/2);
+		if(!connectionTablesValid){
+			for(int i=0; i<curves.size(); ++i){
+				updateConnectionTable(priorConnections.get(i), priorConnectionTable[i]);
+				updateConnectionTable(nextConnections.get(i), nextConnectionTable[i]);
 			}
+			connectionTablesValid = true;
+		}
+		return (nextCurve ? nextConnectionTable : priorConnectionTable)[curves.indexOf(curve)][requestedNextCurve.ordinal()];
+	}
+	
+	/**
+	 * Marks the connection tables of this lane as out-of-date, so they will be re-built
+	 * the next time a connection is requested.  This MUST be called any time the
+	 * connections of this lane are changed, or vehicles will follow the old connections.
+	 */
+	public void invalidateConnectionTables(){
+		connectionTablesValid = false;
+	}
+	
+	/**
+	 * Helper method to fill in a connection table for the passed-in connections.
+	 * Connections are sorted by curve net angle to find the left-most, right-most,
+	 * and middle connections.  The connection list itself is not changed.
+	 */
+	private static void updateConnectionTable(List<RoadLaneConnection> connections, RoadLaneConnection[] table){
+		if(connections.isEmpty()){
+			Arrays.fill(table, null);
+		}else{
+			List<RoadLaneConnection> sortedConnections = new ArrayList<RoadLaneConnection>(connections);
+			sortedConnections.sort(CONNECTION_ANGLE_COMPARATOR);
+			table[LaneSelectionRequest.LEFT.ordinal()] = sortedConnections.get(sortedConnections.size() - 1);
+			table[LaneSelectionRequest.RIGHT.ordinal()] = sortedConnections.get(0);
+			table[LaneSelectionRequest.NONE.ordinal()] = sortedConnections.get(sortedConnections.size()/2);
 		}
-		return null;
+	}
+	
+	/**
+	 * Returns the road network node for the passed-in curve number, in the passed-in direction.
+	 */
+	public RoadLaneNode getNode(int curveNumber, boolean goingForwards){
+		return nodes[curveNumber*2 + (goingForwards ? 0 : 1)];
 	}
 	
 	public void save(WrapperNBT data){
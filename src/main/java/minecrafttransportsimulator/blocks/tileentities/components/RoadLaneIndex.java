@@ -0,0 +1,149 @@
+package minecrafttransportsimulator.blocks.tileentities.components;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.baseclasses.BezierCurve;
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad;
+
+/**Spatial index of the lanes of a road.  Vehicles need to know which lane they are on when they
+ * start following a road, which would otherwise require checking every point of every curve of
+ * every lane on the road.  Instead, curves are split into 1-block segments, and each segment is
+ * stored in all the blocks that are close enough to it for a vehicle in them to follow it.  This
+ * lets a vehicle find its lane by checking only the few segments in the block it is in.
+ * <br><br>
+ * Segments have their heading calculated when the index is created, and vehicles are placed on
+ * the closest point of the segment they are aligned with, rather than on the closest 1-block step.
+ *
+ * @author don_bruce
+ */
+public class RoadLaneIndex{
+	/**Max distance a point can be from a lane and still follow it.**/
+	private static final double MAX_FOLLOWING_DISTANCE = 1;
+	/**Max yaw difference a follower can have from a lane and still follow it, in either direction.**/
+	private static final double MAX_FOLLOWING_ANGLE = 10;
+
+	private final Map<Long, List<LaneSegment>> blockSegments = new HashMap<Long, List<LaneSegment>>();
+
+	public RoadLaneIndex(TileEntityRoad road){
+		for(RoadLane lane : road.lanes){
+			for(BezierCurve curve : lane.curves){
+				//Split the curve into equal segments of at most 1 block.
+				int segmentCount = Math.max((int) Math.ceil(curve.pathLength), 1);
+				Point3d[] segmentPoints = new Point3d[segmentCount + 1];
+				Point3d[] segmentRotations = new Point3d[segmentCount + 1];
+				for(int i=0; i<segmentPoints.length; ++i){
+					segmentPoints[i] = new Point3d();
+					segmentRotations[i] = new Point3d();
+				}
+				curve.setPointsToFrames(segmentPoints, segmentRotations);
+				for(Point3d segmentPoint : segmentPoints){
+					segmentPoint.add(road.position);
+				}
+				for(int segmentNumber=0; segmentNumber<segmentCount; ++segmentNumber){
+					Point3d segmentStart = segmentPoints[segmentNumber];
+					Point3d segmentEnd = segmentPoints[segmentNumber + 1];
+					LaneSegment segment = new LaneSegment(lane, curve, curve.pathLength*segmentNumber/segmentCount, curve.pathLength*(segmentNumber + 1)/segmentCount, segmentStart, segmentEnd, segmentRotations[segmentNumber]);
+
+					//Add the segment to all blocks close enough to it to follow it.
+					for(int i=(int) Math.floor(Math.min(segmentStart.x, segmentEnd.x) - MAX_FOLLOWING_DISTANCE); i<=Math.floor(Math.max(segmentStart.x, segmentEnd.x) + MAX_FOLLOWING_DISTANCE); ++i){
+						for(int j=(int) Math.floor(Math.min(segmentStart.y, segmentEnd.y) - MAX_FOLLOWING_DISTANCE); j<=Math.floor(Math.max(segmentStart.y, segmentEnd.y) + MAX_FOLLOWING_DISTANCE); ++j){
+							for(int k=(int) Math.floor(Math.min(segmentStart.z, segmentEnd.z) - MAX_FOLLOWING_DISTANCE); k<=Math.floor(Math.max(segmentStart.z, segmentEnd.z) + MAX_FOLLOWING_DISTANCE); ++k){
+								long key = getBlockKey(i, j, k);
+								List<LaneSegment> segments = blockSegments.get(key);
+								if(segments == null){
+									segments = new ArrayList<LaneSegment>();
+									blockSegments.put(key, segments);
+								}
+								segments.add(segment);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 *  Returns a following state for the lane closest to the passed-in point that is aligned with
+	 *  the passed-in yaw, or null if there are no lanes close enough.  Lanes going the opposite way
+	 *  of the yaw are also aligned, and will return a state that isn't going forwards.
+	 */
+	public RoadFollowingState getFollowingState(Point3d point, double yaw){
+		List<LaneSegment> segments = blockSegments.get(getBlockKey((int) Math.floor(point.x), (int) Math.floor(point.y), (int) Math.floor(point.z)));
+		if(segments != null){
+			LaneSegment closestSegment = null;
+			double closestDistance = MAX_FOLLOWING_DISTANCE;
+			double closestFactor = 0;
+			boolean closestSameDirection = false;
+			for(LaneSegment segment : segments){
+				double yawDelta = Math.abs(segment.heading.getClampedYDelta(yaw));
+				boolean sameDirection = yawDelta < MAX_FOLLOWING_ANGLE;
+				if(sameDirection || yawDelta > 180 - MAX_FOLLOWING_ANGLE){
+					//Project the point onto the segment to find the closest point on it.
+					double factor = 0;
+					if(segment.lengthSquared > 0){
+						factor = ((point.x - segment.startX)*segment.deltaX + (point.y - segment.startY)*segment.deltaY + (point.z - segment.startZ)*segment.deltaZ)/segment.lengthSquared;
+						factor = Math.max(0, Math.min(1, factor));
+					}
+					double distanceX = segment.startX + segment.deltaX*factor - point.x;
+					double distanceY = segment.startY + segment.deltaY*factor - point.y;
+					double distanceZ = segment.startZ + segment.deltaZ*factor - point.z;
+					double distance = Math.sqrt(distanceX*distanceX + distanceY*distanceY + distanceZ*distanceZ);
+					if(distance < closestDistance){
+						closestSegment = segment;
+						closestDistance = distance;
+						closestFactor = factor;
+						closestSameDirection = sameDirection;
+					}
+				}
+			}
+			if(closestSegment != null){
+				float segmentPoint = (float) (closestSegment.startSegmentPoint + (closestSegment.endSegmentPoint - closestSegment.startSegmentPoint)*closestFactor);
+				return new RoadFollowingState(closestSegment.lane, closestSegment.curve, closestSameDirection, segmentPoint);
+			}
+		}
+		return null;
+	}
+
+	private static long getBlockKey(int x, int y, int z){
+		return ((x & 0x3FFFFFL) << 42) | ((z & 0x3FFFFFL) << 20) | (y & 0xFFFFFL);
+	}
+
+	/**1-block long segment of a lane's curve.  Positions are global, as the road never moves.
+	 *
+	 * @author don_bruce
+	 */
+	private static class LaneSegment{
+		private final RoadLane lane;
+		private final BezierCurve curve;
+		private final float startSegmentPoint;
+		private final float endSegmentPoint;
+		private final double startX;
+		private final double startY;
+		private final double startZ;
+		private final double deltaX;
+		private final double deltaY;
+		private final double deltaZ;
+		private final double lengthSquared;
+		private final Point3d heading;
+
+		private LaneSegment(RoadLane lane, BezierCurve curve, float startSegmentPoint, float endSegmentPoint, Point3d start, Point3d end, Point3d heading){
+			this.lane = lane;
+			this.curve = curve;
+			this.startSegmentPoint = startSegmentPoint;
+			this.endSegmentPoint = endSegmentPoint;
+			this.startX = start.x;
+			this.startY = start.y;
+			this.startZ = start.z;
+			this.deltaX = end.x - start.x;
+			this.deltaY = end.y - start.y;
+			this.deltaZ = end.z - start.z;
+			this.lengthSquared = deltaX*deltaX + deltaY*deltaY + deltaZ*deltaZ;
+			this.heading = heading;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package minecrafttransportsimulator.blocks.tileentities.components;
+
+import java.util.List;
+
+import minecrafttransportsimulator.baseclasses.BezierCurve;
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad;
+
+/**Node in the road network.  Each node is one curve of a lane, travelled in one direction.
+ * Nodes are created with their lanes, so they are re-created whenever the lanes of a road are.
+ * Nodes don't store the nodes they connect to, as those may be on roads that are not loaded
+ * or that change after this node is created.  Instead, the connections at the end of the node
+ * are resolved to nodes when they are needed, so the network is always up-to-date with the roads in the world.
+ *
+ * @author don_bruce
+ */
+public class RoadLaneNode{
+	public final RoadLane lane;
+	public final BezierCurve curve;
+	/**True if this node travels from the start of the curve to the end, false for end to start.**/
+	public final boolean goingForwards;
+	/**Connections at the end of this node that vehicles can leave by.  This is the lane's connection list, so it is always current.**/
+	public final List<RoadLaneConnection> exitConnections;
+	/**Point, in world coordinates, that vehicles leave this node at.**/
+	public final Point3d exitPoint;
+
+	public RoadLaneNode(RoadLane lane, int curveNumber, boolean goingForwards){
+		this.lane = lane;
+		this.curve = lane.curves.get(curveNumber);
+		this.goingForwards = goingForwards;
+		this.exitConnections = goingForwards ? lane.nextConnections.get(curveNumber) : lane.priorConnections.get(curveNumber);
+		this.exitPoint = (goingForwards ? curve.endPos : curve.startPos).copy().add(lane.road.position).add(0.5, 0.0, 0.5);
+	}
+
+	/**
+	 *  Returns the node that vehicles going through the passed-in connection will be on,
+	 *  or null if the road for the connection isn't loaded or active.
+	 */
+	public RoadLaneNode getConnectedNode(RoadLaneConnection connection){
+		TileEntityRoad connectedRoad = lane.road.world.getTileEntity(connection.tileLocation);
+		if(connectedRoad != null && connectedRoad.isActive() && connection.laneNumber < connectedRoad.lanes.size()){
+			RoadLane connectedLane = connectedRoad.lanes.get(connection.laneNumber);
+			if(connection.curveNumber < connectedLane.curves.size()){
+				//Entering at the start of a curve means we travel it forwards.
+				return connectedLane.getNode(connection.curveNumber, connection.connectedToStart);
+			}
+		}
+		return null;
+	}
+}
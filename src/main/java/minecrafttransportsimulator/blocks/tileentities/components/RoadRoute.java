@@ -0,0 +1,123 @@
+package minecrafttransportsimulator.blocks.tileentities.components;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import minecrafttransportsimulator.baseclasses.Point3d;
+
+/**Route through the road network.  Routes are found with an A* search over {@link RoadLaneNode}s,
+ * using the length of the node curves as the cost, and the straight-line distance to the destination
+ * as the estimate of the remaining cost.  As curves are always at least as long as the straight line
+ * between their ends, this always finds the shortest route.
+ * <br><br>
+ * Only loaded roads are searched, and searches stop after a set number of nodes to prevent lag on
+ * large networks.  If the destination can't be reached, the route goes to the node that gets closest
+ * to it.  This lets vehicles start heading to far-away destinations, and re-route once more of the
+ * network is loaded.
+ *
+ * @author don_bruce
+ */
+public class RoadRoute{
+	/**Distance from the destination a node needs to end at for the route to be complete.**/
+	private static final double DESTINATION_DISTANCE = 8;
+	/**Max nodes to check before giving up on finding the destination.**/
+	private static final int MAX_SEARCHED_NODES = 4096;
+
+	public final Point3d destination;
+	private final Map<RoadLaneNode, RoadLaneNode> nextNodes = new HashMap<RoadLaneNode, RoadLaneNode>();
+
+	public RoadRoute(RoadLaneNode startNode, Point3d destination){
+		this.destination = destination;
+		Map<RoadLaneNode, Double> nodeCosts = new HashMap<RoadLaneNode, Double>();
+		Map<RoadLaneNode, RoadLaneNode> priorNodes = new HashMap<RoadLaneNode, RoadLaneNode>();
+		PriorityQueue<SearchEntry> openEntries = new PriorityQueue<SearchEntry>();
+		nodeCosts.put(startNode, (double) startNode.curve.pathLength);
+		openEntries.add(new SearchEntry(startNode, startNode.curve.pathLength, startNode.exitPoint.distanceTo(destination)));
+
+		RoadLaneNode closestNode = startNode;
+		double closestDistance = Double.MAX_VALUE;
+		int searchedNodes = 0;
+		while(!openEntries.isEmpty() && searchedNodes < MAX_SEARCHED_NODES){
+			SearchEntry entry = openEntries.poll();
+			if(entry.cost > nodeCosts.get(entry.node)){
+				//Already found a cheaper way to this node, so this entry is out-of-date.
+				continue;
+			}
+			++searchedNodes;
+			if(entry.distance < closestDistance){
+				closestNode = entry.node;
+				closestDistance = entry.distance;
+				if(closestDistance < DESTINATION_DISTANCE){
+					break;
+				}
+			}
+			for(RoadLaneConnection connection : entry.node.exitConnections){
+				RoadLaneNode connectedNode = entry.node.getConnectedNode(connection);
+				if(connectedNode != null){
+					double connectedCost = entry.cost + connectedNode.curve.pathLength;
+					Double existingCost = nodeCosts.get(connectedNode);
+					if(existingCost == null || connectedCost < existingCost){
+						nodeCosts.put(connectedNode, connectedCost);
+						priorNodes.put(connectedNode, entry.node);
+						openEntries.add(new SearchEntry(connectedNode, connectedCost, connectedNode.exitPoint.distanceTo(destination)));
+					}
+				}
+			}
+		}
+
+		//Go back from the closest node to the start to get the route.
+		RoadLaneNode node = closestNode;
+		while(node != startNode){
+			RoadLaneNode priorNode = priorNodes.get(node);
+			nextNodes.put(priorNode, node);
+			node = priorNode;
+		}
+	}
+
+	/**
+	 *  Returns true if the passed-in node is on this route.  The last node of the route
+	 *  is not included, as vehicles will have nowhere to go once they are on it.
+	 */
+	public boolean isOnRoute(RoadLaneNode node){
+		return nextNodes.containsKey(node);
+	}
+
+	/**
+	 *  Returns the connection vehicles on the passed-in node should leave by to follow
+	 *  this route, or null if the node isn't on this route.
+	 */
+	public RoadLaneConnection getNextConnection(RoadLaneNode node){
+		RoadLaneNode nextNode = nextNodes.get(node);
+		if(nextNode != null){
+			for(RoadLaneConnection connection : node.exitConnections){
+				if(node.getConnectedNode(connection) == nextNode){
+					return connection;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**Entry in the search queue.  Entries are sorted by their cost plus their distance
+	 * to the destination, so the most promising nodes are always checked first.
+	 *
+	 * @author don_bruce
+	 */
+	private static class SearchEntry implements Comparable<SearchEntry>{
+		private final RoadLaneNode node;
+		private final double cost;
+		private final double distance;
+
+		private SearchEntry(RoadLaneNode node, double cost, double distance){
+			this.node = node;
+			this.cost = cost;
+			this.distance = distance;
+		}
+
+		@Override
+		public int compareTo(SearchEntry other){
+			return Double.compare(cost + distance, other.cost + other.distance);
+		}
+	}
+}
@@ -84,26 +84,23 @@ public class TileEntityFluidLoader extends TileEntityDecor implements ITileEntit
 		PartInteractable nearestPart = null;
 		double nearestDistance = 999;
 		if((tank.getFluidLevel() > 0 && !unloadMode) || (tank.getFluidLevel() < tank.getMaxLevel() && unloadMode)){
-			for(AEntityA_Base entity : AEntityA_Base.getEntities(world)){
-				if(entity instanceof AEntityE_Multipart){
-					AEntityE_Multipart<?> multipart = (AEntityE_Multipart<?>) entity;
-					if(multipart.position.distanceTo(position) < 100){
-						for(APart part : multipart.parts){
-							if(part.position.distanceTo(position) < 10){
-								if(part instanceof PartInteractable){
-									EntityFluidTank partTank = ((PartInteractable) part).tank;
-									if(partTank != null){
-										if(unloadMode){
-											if(partTank.drain(tank.getFluid(), 1, false) > 0){
-												if(part.position.distanceTo(position) < nearestDistance){
-													nearestPart = (PartInteractable) part;
-												}
+			for(AEntityE_Multipart<?> multipart : AEntityA_Base.getEntities(world, AEntityE_Multipart.class)){
+				if(multipart.position.distanceTo(position) < 100){
+					for(APart part : multipart.parts){
+						if(part.position.distanceTo(position) < 10){
+							if(part instanceof PartInteractable){
+								EntityFluidTank partTank = ((PartInteractable) part).tank;
+								if(partTank != null){
+									if(unloadMode){
+										if(partTank.drain(tank.getFluid(), 1, false) > 0){
+											if(part.position.distanceTo(position) < nearestDistance){
+												nearestPart = (PartInteractable) part;
 											}
-										}else{
-											if(partTank.fill(tank.getFluid(), 1, false) > 0){
-												if(part.position.distanceTo(position) < nearestDistance){
-													nearestPart = (PartInteractable) part;
-												}
+										}
+									}else{
+										if(partTank.fill(tank.getFluid(), 1, false) > 0){
+											if(part.position.distanceTo(position) < nearestDistance){
+												nearestPart = (PartInteractable) part;
 											}
 										}
 									}
@@ -12,8 +12,10 @@ import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
 import minecrafttransportsimulator.blocks.instances.BlockCollision;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
+import minecrafttransportsimulator.blocks.tileentities.components.RoadBandRasterizer;
 import minecrafttransportsimulator.blocks.tileentities.components.RoadClickData;
 import minecrafttransportsimulator.blocks.tileentities.components.RoadLane;
+import minecrafttransportsimulator.blocks.tileentities.components.RoadLaneIndex;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.items.instances.ItemRoadComponent;
 import minecrafttransportsimulator.jsondefs.JSONRoadComponent;
@@ -54,6 +56,7 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent>{
 	public final Map<RoadComponent, ItemRoadComponent> components = new HashMap<RoadComponent, ItemRoadComponent>();
 	public final List<Point3d> collisionBlockOffsets;
 	public final List<Point3d> collidingBlockOffsets;
+	private RoadLaneIndex laneIndex;
 	
 	public static final int MAX_COLLISION_DISTANCE = 32;
 	private static RenderRoad renderer;
@@ -153,6 +156,7 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent>{
 	 *  lanes for the first time.
 	 */
 	public void generateLanes(WrapperNBT data){
+		laneIndex = null;
 		if(definition.road.isDynamic){
 			for(int i=0; i<definition.road.laneOffsets.length; ++i){
 				lanes.add(new RoadLane(this, 0, lanes.size(), data != null ? data.getData("lane" + lanes.size()) : null));
@@ -164,6 +168,22 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent>{
 				}
 			}
 		}
+		
+		//Start generating our meshes now, so they are ready by the time we are rendered.
+		if(world.isClient()){
+			RenderRoad.queueMeshes(this);
+		}
+	}
+	
+	/**
+	 *  Returns the index of the lanes of this road, creating it if it doesn't exist.
+	 *  Used to find which lane a point is on without checking every lane.
+	 */
+	public RoadLaneIndex getLaneIndex(){
+		if(laneIndex == null){
+			laneIndex = new RoadLaneIndex(this);
+		}
+		return laneIndex;
 	}
 	
 	/**
@@ -177,37 +197,27 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent>{
 		collidingBlockOffsets.clear();
 		Map<Point3d, Integer> collisionHeightMap = new HashMap<Point3d, Integer>();
 		if(definition.road.isDynamic){
-			//Get all the points that make up our collision points for our dynamic curve.
+			//Get all the blocks that make up our collision points for our dynamic curve.
+			//Each block is only returned once, so we don't need to check for duplicates.
 			//If we find any colliding points, note them.
-			Point3d testOffset = new Point3d();
-			Point3d testRotation = new Point3d();
-			float segmentDelta = (float) (definition.road.borderOffset/(Math.floor(definition.road.borderOffset) + 1));
-			for(float f=0; f<dynamicCurve.pathLength; f+=0.1){
-				for(float offset=0; offset < definition.road.borderOffset; offset += segmentDelta){
-					dynamicCurve.setPointToRotationAt(testRotation, f);
-					//We only want yaw for block placement.
-					testRotation.x = 0;
-					testRotation.z = 0;
-					testOffset.set(offset, 0, 0).rotateCoarse(testRotation).add(0, definition.road.collisionHeight/16F, 0);
-					dynamicCurve.offsetPointByPositionAt(testOffset, f);
-					Point3d testPoint = new Point3d((int) testOffset.x, (int) Math.floor(testOffset.y), (int) testOffset.z);
-					
-					//If we don't have a block in this position, check if we need one.
-					if(!testPoint.isZero() && !collisionBlockOffsets.contains(testPoint) && !collidingBlockOffsets.contains(testPoint)){
-						//Offset the point to the global cordinate space, get the block, and offset back.
-						testPoint.add(position);
-						if(world.isAir(testPoint)){
-							//Need a collision box here.
-							testPoint.subtract(position);
-							int collisionBoxIndex = (int) ((testOffset.y - testPoint.y)*16);
-							collisionBlockOffsets.add(testPoint);
-							
-							collisionHeightMap.put(testPoint, collisionBoxIndex);
-						}else if(!(world.getBlock(testPoint) instanceof BlockCollision)){
-							//Some block is blocking us that's not part of a road.  Flag it.
-							testPoint.subtract(position);
-							collidingBlockOffsets.add(testPoint);
-						}
+			Map<Point3d, Integer> bandBlocks;
+			if(definition.road.collisionVersion >= 1){
+				bandBlocks = RoadBandRasterizer.getBandBlocks(dynamicCurve, definition.road.borderOffset, definition.road.collisionHeight/16F);
+			}else{
+				bandBlocks = RoadBandRasterizer.getSampledBandBlocks(dynamicCurve, definition.road.borderOffset, definition.road.collisionHeight/16F);
+			}
+			for(Entry<Point3d, Integer> bandBlock : bandBlocks.entrySet()){
+				Point3d testPoint = bandBlock.getKey();
+				if(!testPoint.isZero()){
+					//Get the block at the point in the global cordinate space.
+					Point3d worldPoint = testPoint.copy().add(position);
+					if(world.isAir(worldPoint)){
+						//Need a collision box here.
+						collisionBlockOffsets.add(testPoint);
+						collisionHeightMap.put(testPoint, bandBlock.getValue());
+					}else if(!(world.getBlock(worldPoint) instanceof BlockCollision)){
+						//Some block is blocking us that's not part of a road.  Flag it.
+						collidingBlockOffsets.add(testPoint);
 					}
 				}
 			}
@@ -262,6 +272,16 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent>{
 		}
 	}
 	
+	@Override
+	public void remove(){
+		super.remove();
+		//Get rid of our meshes, as we won't be rendered again.
+		//This is also called when our chunk or world unloads, so we don't need to check for that.
+		if(world.isClient()){
+			RenderRoad.removeMeshes(this);
+		}
+	}
+	
 	@Override
 	@SuppressWarnings("unchecked")
 	public RenderRoad getRenderer(){
@@ -1,8 +1,10 @@
 package minecrafttransportsimulator.entities.components;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -28,6 +30,10 @@ import minecrafttransportsimulator.mcinterface.WrapperWorld;
 public abstract class AEntityA_Base{
 	/**Mapping of created entities.  Keyed to world instances and then their {@link #lookupID}**/
 	private static final Map<WrapperWorld, HashMap<Integer, AEntityA_Base>> entityMaps = new HashMap<WrapperWorld, HashMap<Integer, AEntityA_Base>>();
+	/**Mapping of created entities.  Keyed to world instances and then their {@link #uniqueUUID}**/
+	private static final Map<WrapperWorld, HashMap<String, AEntityA_Base>> entityUUIDMaps = new HashMap<WrapperWorld, HashMap<String, AEntityA_Base>>();
+	/**Mapping of created entities.  Keyed to world instances and then their classes, including all super-classes.**/
+	private static final Map<WrapperWorld, HashMap<Class<?>, Set<AEntityA_Base>>> entityClassMaps = new HashMap<WrapperWorld, HashMap<Class<?>, Set<AEntityA_Base>>>();
 	/**Internal ID counter.**/
 	private static int lookupIDCounter = 0;
 	
@@ -57,6 +63,27 @@ public abstract class AEntityA_Base{
 			//Get our lookupID, or make a new one.
 			this.lookupID = world.isClient() ? data.getInteger("lookupID") : lookupIDCounter++;
 			worldEntities.put(lookupID, this);
+			
+			//Also add us to the UUID and class maps, so we can be found by those without checking every entity.
+			HashMap<String, AEntityA_Base> worldUUIDEntities = entityUUIDMaps.get(world);
+			if(worldUUIDEntities == null){
+				worldUUIDEntities = new HashMap<String, AEntityA_Base>();
+				entityUUIDMaps.put(world, worldUUIDEntities);
+			}
+			worldUUIDEntities.put(uniqueUUID, this);
+			HashMap<Class<?>, Set<AEntityA_Base>> worldClassEntities = entityClassMaps.get(world);
+			if(worldClassEntities == null){
+				worldClassEntities = new HashMap<Class<?>, Set<AEntityA_Base>>();
+				entityClassMaps.put(world, worldClassEntities);
+			}
+			for(Class<?> entityClass = getClass(); !entityClass.equals(AEntityA_Base.class); entityClass = entityClass.getSuperclass()){
+				Set<AEntityA_Base> classEntities = worldClassEntities.get(entityClass);
+				if(classEntities == null){
+					classEntities = new LinkedHashSet<AEntityA_Base>();
+					worldClassEntities.put(entityClass, classEntities);
+				}
+				classEntities.add(this);
+			}
 		}else{
 			this.uniqueUUID = UUID.randomUUID().toString();
 			this.lookupID = -1;
@@ -79,21 +106,18 @@ public abstract class AEntityA_Base{
 	
 	/**
 	 * Call to get the entity with the passed-in UUID from the passed-in world.
-	 * This should be used sparingly, as in general the {@link #getEntity(WrapperWorld, int)}
-	 * is faster due to using the {@link #lookupID} rather than a string-based ID, and is lighter
-	 * on networking systems, which are the bulk of what does lookups.
+	 * This should only be used when the {@link #lookupID} isn't known, such as for saved
+	 * references to other entities, as the {@link #getEntity(WrapperWorld, int)} method
+	 * is lighter on networking systems, which are the bulk of what does lookups.
 	 */
 	@SuppressWarnings("unchecked")
 	public static <EntityType extends AEntityA_Base> EntityType getEntity(WrapperWorld world, String uniqueUUID){
-		HashMap<Integer, AEntityA_Base> entities = entityMaps.get(world);
+		HashMap<String, AEntityA_Base> entities = entityUUIDMaps.get(world);
 		if(entities != null){
-			for(AEntityA_Base entity : entities.values()){
-				if(entity.uniqueUUID.equals(uniqueUUID)){
-					return (EntityType) entity;
-				}
-			}
+			return (EntityType) entities.get(uniqueUUID);
+		}else{
+			return null;
 		}
-		return null;
 	}
 	
 	/**
@@ -110,6 +134,22 @@ public abstract class AEntityA_Base{
 		}
 	}
 	
+	/**
+	 * Call to get all tracked entities from the world that are of the passed-in class,
+	 * or extend it.  This is quicker than checking all entities from {@link #getEntities(WrapperWorld)}
+	 * when only one type is needed, such as vehicles.  Unlike that method, this method will
+	 * return an empty collection rather than null if there are no entities.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <EntityType extends AEntityA_Base> Collection<EntityType> getEntities(WrapperWorld world, Class<EntityType> entityClass){
+		HashMap<Class<?>, Set<AEntityA_Base>> classEntities = entityClassMaps.get(world);
+		if(classEntities != null && classEntities.containsKey(entityClass)){
+			return (Collection<EntityType>) classEntities.get(entityClass);
+		}else{
+			return Collections.emptySet();
+		}
+	}
+	
 	/**
 	 * Call this if you need to remove all entities from the world.  Used mainly when
 	 * a world is un-loaded because no players are in it anymore.
@@ -124,6 +164,8 @@ public abstract class AEntityA_Base{
 				entity.remove();
 			}
 			entityMaps.remove(world);
+			entityUUIDMaps.remove(world);
+			entityClassMaps.remove(world);
 		}
 	}
 	
@@ -160,6 +202,12 @@ public abstract class AEntityA_Base{
 		isValid = false;
 		if(shouldSync()){
 			entityMaps.get(world).remove(lookupID);
+			//Only remove our UUID if it still points to us, as a re-loaded copy of us may have replaced it.
+			entityUUIDMaps.get(world).remove(uniqueUUID, this);
+			HashMap<Class<?>, Set<AEntityA_Base>> worldClassEntities = entityClassMaps.get(world);
+			for(Class<?> entityClass = getClass(); !entityClass.equals(AEntityA_Base.class); entityClass = entityClass.getSuperclass()){
+				worldClassEntities.get(entityClass).remove(this);
+			}
 		}
 	}
 	
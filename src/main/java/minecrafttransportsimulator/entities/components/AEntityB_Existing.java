@@ -4,7 +4,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.CoefficientTable;
 import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
 import minecrafttransportsimulator.sound.Radio;
@@ -19,6 +21,8 @@ import minecrafttransportsimulator.sound.SoundInstance;
  */
 public abstract class AEntityB_Existing extends AEntityA_Base{
 	protected static final Point3d ZERO_FOR_CONSTRUCTOR = new Point3d();
+	/**Air density, in kg/m^3, for altitudes scaled to a 256-block high world.  Density halves every 500 blocks.**/
+	private static final CoefficientTable AIR_DENSITY_TABLE = new CoefficientTable(0, 4096, 1, altitude -> 1.225*Math.pow(2, -altitude/500D));
 	
 	public final Point3d position;
 	public final Point3d prevPosition;
@@ -29,8 +33,8 @@ public abstract class AEntityB_Existing extends AEntityA_Base{
 	public final Point3d rotation;
 	public final Point3d prevRotation;
 	public BoundingBox boundingBox;
-	public double airDensity;
 	public double velocity;
+	private final RotationMatrix orientation = new RotationMatrix();
 	
 	//Internal sound variables.
 	public final Radio radio;
@@ -76,7 +80,6 @@ public abstract class AEntityB_Existing extends AEntityA_Base{
 			prevMotion.setTo(motion);
 			prevAngles.setTo(angles);
 			prevRotation.setTo(rotation);
-			airDensity = 1.225*Math.pow(2, -position.y/(500D*world.getMaxHeight()/256D));
 			velocity = motion.length();
 			return true;
 		}else{
@@ -97,6 +100,15 @@ public abstract class AEntityB_Existing extends AEntityA_Base{
 		}
 	}
 	
+	/**
+	 *  Returns the density of the air at this entity's position.  Most entities never use this, so rather
+	 *  than calculate it every update, it's only looked up when asked for.  Altitudes are scaled to the
+	 *  world's height, so taller worlds have thicker air at the same Y-level.
+	 */
+	public double getAirDensity(){
+		return AIR_DENSITY_TABLE.getValue(position.y*256D/world.getMaxHeight());
+	}
+	
 	/**
 	 *  This method returns true if this entity needs to be chunkloaded.  This will prevent it from
 	 *  being unloaded server-side.  Client-side entities will still unload as clients unload their
@@ -151,6 +163,31 @@ public abstract class AEntityB_Existing extends AEntityA_Base{
     	return false;
     }
     
+    /**
+	 *  Returns the rotation matrix for this entity's current angles.  Use this rather than
+	 *  rotating by the angles directly when transforming boxes, parts, and forces, as the matrix
+	 *  is only re-calculated when the angles change rather than on every rotation.
+	 */
+    public RotationMatrix getOrientation(){
+    	return orientation.setToAngles(angles);
+    }
+    
+    /**
+	 *  Returns the position this entity should be rendered at for the passed-in partial tick.
+	 *  By default this is between the prior and current position, but entities that move
+	 *  in multiple steps a tick may return a point along those steps instead.
+	 */
+    public Point3d getInterpolatedPosition(float partialTicks){
+    	return prevPosition.getInterpolatedPoint(position, partialTicks);
+    }
+    
+    /**
+	 *  Like {@link #getInterpolatedPosition(float)}, but for the angles.
+	 */
+    public Point3d getInterpolatedAngles(float partialTicks){
+    	return prevAngles.getInterpolatedPoint(angles, partialTicks);
+    }
+    
     /**
 	 *  Returns true if this entity has a radio.  Radios are updated to sync with the entity and
 	 *  will save on them as applicable.
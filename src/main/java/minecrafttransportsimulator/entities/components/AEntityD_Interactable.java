@@ -122,6 +122,12 @@ public abstract class AEntityD_Interactable<JSONDefinition extends AJSONInteract
 	private TrailerConnection savedTowedByConnection;
 	private final Set<TrailerConnection> savedTowingConnections = new HashSet<TrailerConnection>();
 	
+	//Box update data.  Used to skip box updates when we haven't moved.
+	private boolean boxesNeedUpdate = true;
+	private final Point3d boxUpdatePosition = new Point3d();
+	private final Point3d boxUpdateAngles = new Point3d();
+	private final Set<BoundingBox> openDoorBoxes = new HashSet<BoundingBox>();
+	
 	public AEntityD_Interactable(WrapperWorld world, WrapperNBT data){
 		super(world, data);
 		//Load saved rider positions.  We don't have riders here yet (as those get created later), 
@@ -252,17 +258,31 @@ public abstract class AEntityD_Interactable<JSONDefinition extends AJSONInteract
 				}
 			}
 			
-			//Update collision boxes.
-			for(BoundingBox box : collisionBoxes){
-				box.updateToEntity(this, null);
+			//Update collision boxes.  Only do this if we moved or rotated since the last update.
+			//Parked entities are the majority of entities, so there's no sense re-calculating boxes that won't change.
+			//Parts get their position from their parent, so they will only update when it, or their animations, move them.
+			boolean boxesMoved = boxesNeedUpdate || position.x != boxUpdatePosition.x || position.y != boxUpdatePosition.y || position.z != boxUpdatePosition.z || angles.x != boxUpdateAngles.x || angles.y != boxUpdateAngles.y || angles.z != boxUpdateAngles.z;
+			if(boxesMoved){
+				for(BoundingBox box : collisionBoxes){
+					box.updateToEntity(this, null);
+				}
+				boxUpdatePosition.setTo(position);
+				boxUpdateAngles.setTo(angles);
+				boxesNeedUpdate = false;
 			}
 			
-			//Update door boxes.
+			//Update door boxes.  These also need to update if they opened or closed.
 			for(Entry<BoundingBox, JSONDoor> doorEntry : doorBoxes.entrySet()){
-				if(variablesOn.contains(doorEntry.getValue().name)){
-					doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().openPos).rotateFine(angles).add(position);
-				}else{
-					doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().closedPos).rotateFine(angles).add(position);
+				BoundingBox box = doorEntry.getKey();
+				boolean doorOpen = variablesOn.contains(doorEntry.getValue().name);
+				if(boxesMoved || doorOpen != openDoorBoxes.contains(box)){
+					if(doorOpen){
+						box.globalCenter.setTo(doorEntry.getValue().openPos).rotate(getOrientation()).add(position);
+						openDoorBoxes.add(box);
+					}else{
+						box.globalCenter.setTo(doorEntry.getValue().closedPos).rotate(getOrientation()).add(position);
+						openDoorBoxes.remove(box);
+					}
 				}
 			}
 			return true;
@@ -275,6 +295,7 @@ public abstract class AEntityD_Interactable<JSONDefinition extends AJSONInteract
 	public void onDefinitionReset(){
 		super.onDefinitionReset();
 		instrumentAnimationClocks.clear();
+		boxesNeedUpdate = true;
 	}
 	
 	@Override
@@ -324,6 +345,8 @@ public abstract class AEntityD_Interactable<JSONDefinition extends AJSONInteract
 	 */
 	public void updatePostMovement(){
 		//If we are towing entities, update them now.
+		//Towed entities can't update on their own, so this makes every chain of
+		//towed entities update in order from the front, all in the same tick.
 		if(!towingConnections.isEmpty()){
 			for(TrailerConnection connection : towingConnections){
 				connection.hookupBaseEntity.overrideTowingChecks = true;
@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.BoundingBoxHierarchy;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.entities.instances.APart;
@@ -73,6 +74,12 @@ public abstract class AEntityE_Multipart<JSONDefinition extends AJSONPartProvide
 	/**List of interaction boxes, plus all part boxes included.**/
 	public final List<BoundingBox> allInteractionBoxes = new ArrayList<BoundingBox>();
 	
+	/**Hierarchy of {@link #allCollisionBoxes}.  Use this for spatial queries rather than checking every box.**/
+	public final BoundingBoxHierarchy collisionBoxHierarchy = new BoundingBoxHierarchy();
+	
+	/**Hierarchy of {@link #allInteractionBoxes}.  Use this for spatial queries rather than checking every box.**/
+	public final BoundingBoxHierarchy interactionBoxHierarchy = new BoundingBoxHierarchy();
+	
 	/**Map of part slot boxes.  Key is the box, value is the definition for that slot.**/
 	public final Map<BoundingBox, JSONPartDefinition> allPartSlotBoxes = new HashMap<BoundingBox, JSONPartDefinition>();
 	
@@ -126,7 +133,7 @@ public abstract class AEntityE_Multipart<JSONDefinition extends AJSONPartProvide
 						for(JSONPartDefinition subPartDef : part.definition.parts){
 							if(packVehicleDef.equals(part.getPackForSubPart(subPartDef))){
 								//Need to find the delta between our 0-degree position and our current position.
-								Point3d delta = subPartDef.pos.copy().rotateFine(part.localAngles).subtract(subPartDef.pos);
+								Point3d delta = subPartDef.pos.copy().rotate(part.getLocalOrientation()).subtract(subPartDef.pos);
 								box.updateToEntity(this, delta);
 								updatedToSubPart = true;
 								break;
@@ -722,7 +729,7 @@ public abstract class AEntityE_Multipart<JSONDefinition extends AJSONPartProvide
 		allPartSlotBoxes.clear();
 		for(Entry<Point3d, JSONPartDefinition> packPartEntry : getAllPossiblePackParts().entrySet()){
 			if(getPartAtLocation(packPartEntry.getKey()) == null){
-				BoundingBox newSlotBox = new BoundingBox(packPartEntry.getKey(), packPartEntry.getKey().copy().rotateFine(angles).add(position), PART_SLOT_HITBOX_WIDTH/2D, PART_SLOT_HITBOX_HEIGHT/2D, PART_SLOT_HITBOX_WIDTH/2D, false, false, false, 0);
+				BoundingBox newSlotBox = new BoundingBox(packPartEntry.getKey(), packPartEntry.getKey().copy().rotate(getOrientation()).add(position), PART_SLOT_HITBOX_WIDTH/2D, PART_SLOT_HITBOX_HEIGHT/2D, PART_SLOT_HITBOX_WIDTH/2D, false, false, false, 0);
 				allPartSlotBoxes.put(newSlotBox, packPartEntry.getValue());
 			}
 		}
@@ -809,6 +816,11 @@ public abstract class AEntityE_Multipart<JSONDefinition extends AJSONPartProvide
 			boundingBox.widthRadius = (float) Math.max(boundingBox.widthRadius, Math.abs(box.globalCenter.z - position.z + box.depthRadius));
 		}
 		boundingBox.depthRadius = boundingBox.widthRadius;
+		
+		//Update hierarchies now that boxes are in their final positions.
+		//These only get re-built if the box lists changed, otherwise they are just re-fit.
+		collisionBoxHierarchy.update(allCollisionBoxes);
+		interactionBoxHierarchy.update(allInteractionBoxes);
 	}
 	
 	/**
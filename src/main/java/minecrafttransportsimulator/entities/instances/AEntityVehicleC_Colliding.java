@@ -5,6 +5,7 @@ import java.util.Iterator;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.jsondefs.JSONDoor;
 import minecrafttransportsimulator.mcinterface.WrapperEntity;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
@@ -40,15 +41,7 @@ abstract class AEntityVehicleC_Colliding extends AEntityVehicleB_Rideable{
 	@Override
 	public boolean update(){
 		if(super.update()){
-			//Set vectors to current velocity and orientation.
-			headingVector.set(0D, 0D, 1D).rotateFine(angles);
-			verticalVector.set(0D, 1D, 0D).rotateFine(angles);
-			sideVector.setTo(verticalVector.crossProduct(headingVector));
-			normalizedVelocityVector.setTo(motion).normalize();
-			axialVelocity = Math.abs(motion.dotProduct(headingVector));
-			
-			//Update mass.
-			currentMass = getCurrentMass();
+			updateMotionStates();
 			
 			//Auto-close any open doors that should be closed.
 			//Only do this once a second to prevent lag.
@@ -75,6 +68,24 @@ abstract class AEntityVehicleC_Colliding extends AEntityVehicleB_Rideable{
 		}
 	}
 	
+	/**
+	 * Sets the vectors for the current velocity and orientation, and updates the mass.
+	 * These are what forces are calculated from, so this is done at the start of every update.
+	 * It is also done before forces are calculated outside of the update, so both use the same states.
+	 */
+	protected void updateMotionStates(){
+		//These are just the columns of our orientation, with the side being the cross of the other two.
+		RotationMatrix orientation = getOrientation();
+		headingVector.set(orientation.m02, orientation.m12, orientation.m22);
+		verticalVector.set(orientation.m01, orientation.m11, orientation.m21);
+		sideVector.set(orientation.m00, orientation.m10, orientation.m20);
+		normalizedVelocityVector.setTo(motion).normalize();
+		axialVelocity = Math.abs(motion.dotProduct(headingVector));
+		
+		//Update mass.
+		currentMass = getCurrentMass();
+	}
+	
 	/**
 	 * Checks collisions and returns the collision depth for a box.
 	 * Returns -1 if collision was hard enough to destroy the vehicle.
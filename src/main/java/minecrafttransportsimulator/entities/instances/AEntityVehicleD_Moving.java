@@ -2,19 +2,20 @@ package minecrafttransportsimulator.entities.instances;
 
 import java.util.Iterator;
 
-import minecrafttransportsimulator.baseclasses.BezierCurve;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.TrailerConnection;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.baseclasses.VehicleGroundDeviceCollection;
 import minecrafttransportsimulator.blocks.components.ABlockBase;
 import minecrafttransportsimulator.blocks.instances.BlockCollision;
 import minecrafttransportsimulator.blocks.tileentities.components.RoadFollowingState;
-import minecrafttransportsimulator.blocks.tileentities.components.RoadLane;
 import minecrafttransportsimulator.blocks.tileentities.components.RoadLane.LaneSelectionRequest;
+import minecrafttransportsimulator.blocks.tileentities.components.RoadRoute;
 import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad;
 import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.entities.components.AEntityD_Interactable;
+import minecrafttransportsimulator.mcinterface.WrapperEntity;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
 import minecrafttransportsimulator.packets.components.InterfacePacket;
@@ -43,10 +44,44 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 	public boolean skidSteerActive;
 	public double groundVelocity;
 	
+	/**Distance, in blocks, fast-moving boxes are allowed into the first block in their path.  Less than the thinnest block.**/
+	private static final double SWEPT_COLLISION_PENETRATION = 0.05;
+	
+	//Sleeping states.
+	/**Number of ticks a vehicle needs to be at rest before it goes to sleep.**/
+	private static final int TICKS_TO_SLEEP = 40;
+	/**Max movement, in blocks, a vehicle can make in a tick and still be considered at rest.**/
+	private static final double MAX_SLEEP_MOTION = 0.001;
+	/**Max rotation, in degrees, a vehicle can make in a tick and still be considered at rest.**/
+	private static final double MAX_SLEEP_ROTATION = 0.01;
+	public boolean sleeping;
+	private int ticksAtRest;
+	private boolean parkingBrakeOnAtSleep;
+	private byte brakeAtSleep;
+	/**True if forces were already calculated for the next update by {@link EntityVehicleF_Physics#calculateForcesInParallel(WrapperWorld)}.
+	 * The motion and rotation they gave are saved rather than applied, along with the states they were calculated from.**/
+	protected boolean forcesCalculated;
+	private final Point3d calculatedMotion = new Point3d();
+	private final Point3d calculatedRotation = new Point3d();
+	private final Point3d calculatedFromPosition = new Point3d();
+	private final Point3d calculatedFromAngles = new Point3d();
+	private final Point3d calculatedFromMotion = new Point3d();
+	private final Point3d calculatedFromRotation = new Point3d();
+	
+	//Movement steps.
+	/**Number of steps this tick's movement is split into, and the step currently being done.  See {@link #getMovementSteps()}.**/
+	protected int movementSteps = 1;
+	protected int movementStep;
+	/**Positions and angles at the end of each step of the last tick's movement.  Only used for rendering if that tick had more than one step.**/
+	private Point3d[] stepPositions = new Point3d[0];
+	private Point3d[] stepAngles = new Point3d[0];
+	private int renderedSteps = 1;
+	
 	//Road-following data.
 	protected RoadFollowingState frontFollower;
 	protected RoadFollowingState rearFollower;
 	protected LaneSelectionRequest selectedSegment = LaneSelectionRequest.NONE;
+	protected RoadRoute route;
 	
 	//Internal movement variables.
 	private final Point3d serverDeltaM;
@@ -61,8 +96,12 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 	private final Point3d collisionRotation = new Point3d();
 	private final Point3d motionApplied = new Point3d();
 	private final Point3d rotationApplied = new Point3d();
+	private final Point3d tickMotionApplied = new Point3d();
+	private final Point3d tickRotationApplied = new Point3d();
 	private final Point3d tempBoxPosition = new Point3d();
 	private final Point3d tempBoxRotation = new Point3d();
+	private final Point3d sweptMotion = new Point3d();
+	private final Point3d sweptCollisionAxis = new Point3d();
 	private final Point3d normalizedGroundVelocityVector = new Point3d();
 	private final Point3d normalizedGroundHeadingVector = new Point3d();
 	private AEntityD_Interactable<?> lastCollidedEntity;
@@ -89,20 +128,62 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 				if(part instanceof PartGroundDevice){
 					if(!part.localOffset.equals(part.prevLocalOffset) || part.scale != part.prevScale){
 						groundDeviceCollective.updateBounds();
+						wakeUp();
 						break;
 					}
 				}
 			}
 			
+			//If we are sleeping, check if anything happened that requires us to wake up.
+			if(sleeping && shouldWakeUp()){
+				wakeUp();
+			}
+			
 			//Now do update calculations and logic.
-			if(!ConfigSystem.configObject.general.noclipVehicles.value || groundDeviceCollective.isReady()){
-				getForcesAndMotions();
-				performGroundOperations();
-				moveVehicle();
+			//If we are sleeping, we don't do any of this as we aren't moving.
+			renderedSteps = 1;
+			if(!sleeping && (!ConfigSystem.configObject.general.noclipVehicles.value || groundDeviceCollective.isReady())){
+				//Don't get forces if they were already calculated.  If we became a trailer since then, or something
+				//moved us, they were calculated from the wrong states, so drop them and get them as normal.
+				//If we are going fast we split our movement into steps.  Each step gets its own forces, ground
+				//operations, and collision-checked movement, with the orientation and motion left by the prior step.
+				if(forcesCalculated && (towedByConnection != null || !isSame(position, calculatedFromPosition) || !isSame(angles, calculatedFromAngles) || !isSame(motion, calculatedFromMotion) || !isSame(rotation, calculatedFromRotation))){
+					forcesCalculated = false;
+				}
+				if(!forcesCalculated){
+					movementSteps = getMovementSteps();
+				}
+				tickMotionApplied.set(0, 0, 0);
+				tickRotationApplied.set(0, 0, 0);
+				for(movementStep=0; movementStep<movementSteps; ++movementStep){
+					if(movementStep > 0){
+						velocity = motion.length();
+						updateMotionStates();
+					}
+					if(forcesCalculated && movementStep == 0){
+						motion.setTo(calculatedMotion);
+						rotation.setTo(calculatedRotation);
+					}else{
+						getForcesAndMotions();
+					}
+					performGroundOperations();
+					moveVehicle();
+					if(!isValid){
+						break;
+					}
+					if(movementSteps > 1){
+						recordStep();
+					}
+				}
+				if(movementSteps > 1 && movementStep == movementSteps){
+					renderedSteps = movementSteps;
+				}
 				if(!world.isClient()){
 					dampenControlSurfaces();
 				}
+				updateSleepState();
 			}
+			forcesCalculated = false;
 			
 			//Update parts after all movement is done.
 			updatePostMovement();
@@ -112,11 +193,80 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		}
 	}
 	
+	@Override
+	public Point3d getInterpolatedPosition(float partialTicks){
+		if(renderedSteps > 1 && stepPositions[renderedSteps - 1].equals(position)){
+			double stepTicks = partialTicks*renderedSteps;
+			int step = Math.min((int) stepTicks, renderedSteps - 1);
+			return (step == 0 ? prevPosition : stepPositions[step - 1]).getInterpolatedPoint(stepPositions[step], stepTicks - step);
+		}else{
+			return super.getInterpolatedPosition(partialTicks);
+		}
+	}
+	
+	@Override
+	public Point3d getInterpolatedAngles(float partialTicks){
+		if(renderedSteps > 1 && stepAngles[renderedSteps - 1].equals(angles)){
+			double stepTicks = partialTicks*renderedSteps;
+			int step = Math.min((int) stepTicks, renderedSteps - 1);
+			return (step == 0 ? prevAngles : stepAngles[step - 1]).getInterpolatedPoint(stepAngles[step], stepTicks - step);
+		}else{
+			return super.getInterpolatedAngles(partialTicks);
+		}
+	}
+	
+	/**
+	 *  Saves the position and angles at the end of the current movement step.
+	 *  These are used to render the vehicle along the path it took this tick,
+	 *  rather than on a straight line between where it started and ended.
+	 */
+	private void recordStep(){
+		if(stepPositions.length < movementSteps){
+			stepPositions = new Point3d[movementSteps];
+			stepAngles = new Point3d[movementSteps];
+			for(int i=0; i<movementSteps; ++i){
+				stepPositions[i] = new Point3d();
+				stepAngles[i] = new Point3d();
+			}
+		}
+		stepPositions[movementStep].setTo(position);
+		stepAngles[movementStep].setTo(angles);
+	}
+	
+	/**
+	 *  Calculates forces for the first movement step of the next update.  The motion and rotation this gives
+	 *  are saved for the update to apply, and this vehicle's motion and rotation are put back as they were,
+	 *  so the update starts from the same states it would have if forces weren't calculated here.
+	 *  Only call this from {@link EntityVehicleF_Physics#calculateForcesInParallel(WrapperWorld)}.
+	 */
+	protected void calculateForcesForNextUpdate(){
+		calculatedFromPosition.setTo(position);
+		calculatedFromAngles.setTo(angles);
+		calculatedFromMotion.setTo(motion);
+		calculatedFromRotation.setTo(rotation);
+		movementStep = 0;
+		getForcesAndMotions();
+		calculatedMotion.setTo(motion);
+		calculatedRotation.setTo(rotation);
+		motion.setTo(calculatedFromMotion);
+		rotation.setTo(calculatedFromRotation);
+		forcesCalculated = true;
+	}
+	
+	/**
+	 *  Returns true if the two points are exactly the same.  Unlike {@link Point3d#equals(Object)},
+	 *  this doesn't round to floats, as any change at all means saved forces are out of date.
+	 */
+	private static boolean isSame(Point3d point1, Point3d point2){
+		return point1.x == point2.x && point1.y == point2.y && point1.z == point2.z;
+	}
+	
 	@Override
 	public void addPart(APart part, boolean sendPacket){
 		super.addPart(part, sendPacket);
 		groundDeviceCollective.updateMembers();
 		groundDeviceCollective.updateBounds();
+		wakeUp();
 	}
 	
 	@Override
@@ -124,6 +274,19 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		super.removePart(part, iterator);
 		groundDeviceCollective.updateMembers();
 		groundDeviceCollective.updateBounds();
+		wakeUp();
+	}
+	
+	@Override
+	public boolean addRider(WrapperEntity rider, Point3d riderLocation){
+		wakeUp();
+		return super.addRider(rider, riderLocation);
+	}
+	
+	@Override
+	public void attack(Damage damage){
+		wakeUp();
+		super.attack(damage);
 	}
 	
 	@Override
@@ -150,6 +313,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		super.connectAsTrailer(connection);
 		parkingBrakeOn = false;
 		brake = 0;
+		wakeUp();
 	}
 	
 	@Override
@@ -158,6 +322,75 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		if(definition.motorized.isTrailer){
 			parkingBrakeOn = true;
 		}
+		wakeUp();
+	}
+	
+	/**
+	 * Returns true if this vehicle is allowed to sleep.  Sleeping vehicles don't do any
+	 * physics, so we can't sleep if anything could make us move on our own, or if
+	 * something we are connected to, or resting on, could move us.
+	 */
+	protected boolean canSleep(){
+		return getController() == null && towedByConnection == null && towingConnections.isEmpty() && lastCollidedEntity == null;
+	}
+	
+	/**
+	 * Wakes this vehicle up if it is sleeping.  Should be called whenever something
+	 * happens to this vehicle that could make it move.
+	 */
+	public void wakeUp(){
+		sleeping = false;
+		ticksAtRest = 0;
+	}
+	
+	/**
+	 * Checks if this vehicle has been at rest long enough to go to sleep, and
+	 * puts it to sleep if so.  Must come after movement as it depends on the
+	 * movement applied over all steps of this tick.
+	 */
+	private void updateSleepState(){
+		if(tickMotionApplied.length() < MAX_SLEEP_MOTION && tickRotationApplied.length() < MAX_SLEEP_ROTATION && canSleep()){
+			if(++ticksAtRest >= TICKS_TO_SLEEP){
+				sleeping = true;
+				parkingBrakeOnAtSleep = parkingBrakeOn;
+				brakeAtSleep = brake;
+				motion.set(0, 0, 0);
+				rotation.set(0, 0, 0);
+			}
+		}else{
+			ticksAtRest = 0;
+		}
+	}
+	
+	/**
+	 * Returns true if something changed that should wake up this sleeping vehicle.
+	 * This is any state that {@link #canSleep()} depends on, a change in braking,
+	 * or a change to the blocks near our collision boxes or ground devices.
+	 */
+	private boolean shouldWakeUp(){
+		if(!canSleep() || parkingBrakeOn != parkingBrakeOnAtSleep || brake != brakeAtSleep){
+			return true;
+		}
+		for(BoundingBox box : allBlockCollisionBoxes){
+			if(world.hasBlockChangedNear(box)){
+				return true;
+			}
+		}
+		for(APart part : parts){
+			if(part instanceof PartGroundDevice && world.hasBlockChangedNear(part.boundingBox)){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns the destination this vehicle should route to when following roads, or null
+	 * if it has none.  Routes are found on both the server and clients from the same roads,
+	 * so this should only return synced values to ensure both take the same route.
+	 */
+	protected Point3d getRouteDestination(){
+		return null;
 	}
 	
 	/**
@@ -169,29 +402,12 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		Point3d contactPoint = groundDeviceCollective.getContactPoint(false);
 		if(contactPoint != null){
 			contactPoint.rotateCoarse(angles).add(position);
-			Point3d testPoint = new Point3d();
 			ABlockBase block =  world.getBlock(contactPoint);
 			if(block instanceof BlockCollision){
 				TileEntityRoad road = ((BlockCollision) block).getMasterRoad(world, contactPoint);
 				if(road != null){
 					//Check to see which lane we are on, if any.
-					for(RoadLane lane : road.lanes){
-						//Check path-points on the curve.  If our angles and position are close, set this as the curve.
-						for(BezierCurve curve : lane.curves){
-							for(float f=0; f<curve.pathLength; ++f){
-								curve.setPointToPositionAt(testPoint, f);
-								testPoint.add(road.position.x, road.position.y, road.position.z);
-								if(testPoint.distanceTo(contactPoint) < 1){
-									curve.setPointToRotationAt(testPoint, f);
-									boolean sameDirection = Math.abs(testPoint.getClampedYDelta(angles.y)) < 10;
-									boolean oppositeDirection = Math.abs(testPoint.getClampedYDelta(angles.y)) > 170;
-									if(sameDirection || oppositeDirection){
-										return new RoadFollowingState(lane, curve, sameDirection, f);
-									}
-								}
-							}
-						}
-					}
+					return road.getLaneIndex().getFollowingState(contactPoint, angles.y);
 				}
 			}
 		}
@@ -202,12 +418,15 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 	 * Method block for ground operations.  This does braking force
 	 * and turning for applications independent of vehicle-specific
 	 * movement.  Must come AFTER force calculations as it depends on motions.
+	 * Braking and grip are per-tick amounts, so are split between movement steps.
 	 */
 	private void performGroundOperations(){
+		double stepFactor = 1D/movementSteps;
+		
 		//Get braking force and apply it to the motions.
 		float brakingFactor = towedByConnection == null ? getBrakingForce()*definition.motorized.brakingFactor : 0;
 		if(brakingFactor > 0){
-			double brakingForce = 20F*brakingFactor/currentMass;
+			double brakingForce = 20F*brakingFactor/currentMass*stepFactor;
 			if(brakingForce > velocity){
 				motion.x = 0;
 				motion.z = 0;
@@ -240,7 +459,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 			rotation.y += goingInReverse ? -turningForce : turningForce;
 		}
 		//Check how much grip the wheels have.
-		float skiddingFactor = getSkiddingForce();
+		double skiddingFactor = getSkiddingForce()*stepFactor;
 		if(skiddingFactor != 0 && groundVelocity > 0.01){
 			//Have enough grip, get angle delta between heading and motion.
 			Point3d crossProduct = normalizedGroundVelocityVector.crossProduct(normalizedGroundHeadingVector);
@@ -284,10 +503,13 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 				
 				//If we are slipping while turning, spawn block particles.
 				//Only do this as a main vehicle.  If we are a trailer, we don't do this unless the vehicle towing us is.
+				//Particles are only spawned once a tick, no matter how many steps we move in.
 				if(towedByConnection == null ? (world.isClient() && motionFactor != 1 && velocity > 0.75) : (towedByConnection != null && towedByConnection.hitchBaseEntity instanceof AEntityVehicleD_Moving && ((AEntityVehicleD_Moving) towedByConnection.hitchBaseEntity).slipping)){
 					slipping = true;
-					for(byte i=0; i<4; ++i){
-						groundDeviceCollective.spawnSlippingParticles();
+					if(movementStep == 0){
+						for(byte i=0; i<4; ++i){
+							groundDeviceCollective.spawnSlippingParticles();
+						}
 					}
 				}else{
 					slipping = false;
@@ -321,8 +543,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		for(BoundingBox box : allBlockCollisionBoxes){
 			if(!box.collidingBlockPositions.isEmpty()){
 				if(!world.isAir(box.globalCenter)){
-					float frictionLoss = 0.6F - world.getBlockSlipperiness(box.globalCenter) + world.getRainStrength(box.globalCenter)*0.1F;
-					brakingFactor += Math.max(2.0 - frictionLoss, 0);
+					brakingFactor += Math.max(2.0 - world.getFrictionLoss(box.globalCenter), 0);
 				}
 			}
 		}
@@ -444,8 +665,32 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 	/**
 	 * Call this when moving vehicle to ensure they move correctly.
 	 * Failure to do this will result in things going badly!
+	 * If we move in multiple steps, this is called once per step, and moves the vehicle
+	 * that step's fraction of its motion and rotation.
 	 */
 	private void moveVehicle(){
+		//Scale our motion and rotation to the amount we move in this step.  All the collision checks
+		//work off the motion and rotation, so this lets them check just this step's movement.
+		//This is un-done when we're finished so forces act on the actual motion.
+		if(movementSteps > 1){
+			motion.multiply(1D/movementSteps);
+			rotation.multiply(1D/movementSteps);
+			moveVehicleStep();
+			motion.multiply(movementSteps);
+			rotation.multiply(movementSteps);
+		}else{
+			moveVehicleStep();
+		}
+	}
+	
+	/**
+	 * Does the movement for {@link #moveVehicle()}, with the motion and rotation already
+	 * scaled to the current step.  Syncing is only done on the last step.
+	 */
+	private void moveVehicleStep(){
+		double stepFactor = 1D/movementSteps;
+		boolean lastStep = movementStep + 1 == movementSteps;
+		
 		//First, update the vehicle ground device boxes.
 		collidedEntities.clear();
 		groundDeviceCollective.updateCollisions();
@@ -459,7 +704,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 			rearFollower = getFollower();
 			if(rearFollower != null){
 				double pointDelta = groundDeviceCollective.getContactPoint(false).distanceTo(groundDeviceCollective.getContactPoint(true));
-				frontFollower = new RoadFollowingState(rearFollower.lane, rearFollower.curve, rearFollower.goingForwards, rearFollower.currentSegment).updateCurvePoints((float) pointDelta, LaneSelectionRequest.NONE);
+				frontFollower = new RoadFollowingState(rearFollower.lane, rearFollower.curve, rearFollower.goingForwards, rearFollower.currentSegment).updateCurvePoints((float) pointDelta, LaneSelectionRequest.NONE, route);
 			}
 		}
 		
@@ -484,9 +729,20 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 				selectedSegment = requestedSegment;
 			}
 			
-			float segmentDelta = (float) (goingInReverse ? -velocity*SPEED_FACTOR : velocity*SPEED_FACTOR);
-			frontFollower = frontFollower.updateCurvePoints(segmentDelta, selectedSegment);
-			rearFollower = rearFollower.updateCurvePoints(segmentDelta, selectedSegment);
+			//If we have a destination, make sure we have a route to it from where we are.
+			//If we went off the route, only re-route every second, as finding routes isn't free.
+			//Turn signals override the route, as the driver wants to go somewhere else.
+			Point3d routeDestination = getRouteDestination();
+			if(routeDestination == null){
+				route = null;
+			}else if(route == null || !route.destination.equals(routeDestination) || (!route.isOnRoute(rearFollower.getNode()) && ticksExisted%20 == 0)){
+				route = new RoadRoute(rearFollower.getNode(), routeDestination);
+			}
+			RoadRoute activeRoute = selectedSegment == LaneSelectionRequest.NONE ? route : null;
+			
+			float segmentDelta = (float) (goingInReverse ? -velocity*SPEED_FACTOR*stepFactor : velocity*SPEED_FACTOR*stepFactor);
+			frontFollower = frontFollower.updateCurvePoints(segmentDelta, selectedSegment, activeRoute);
+			rearFollower = rearFollower.updateCurvePoints(segmentDelta, selectedSegment, activeRoute);
 			Point3d rearPoint = groundDeviceCollective.getContactPoint(false);
 			
 			//Check to make sure followers are still valid, and do logic.
@@ -494,7 +750,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 				//Set our position so we're aligned with the road.
 				//To do this, we get the distance between our contact points for front and rear, and then interpolate between them.
 				//First get the rear point.  This defines the delta for the movement of the vehicle.
-				rearPoint.rotateFine(angles).add(position);
+				rearPoint.rotate(getOrientation()).add(position);
 				Point3d rearDesiredPoint = rearFollower.getCurrentPoint();
 				
 				//Apply the motion based on the delta between the actual and desired.
@@ -548,7 +804,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 					//If we didn't do this, the vehicle would accelerate upwards whenever we corrected ground devices.
 					//Having negative motion.y is okay, as this just means we are falling to the ground via gravity.
 					if(motion.y + groundCollisionBoost > 0){
-						groundCollisionBoost = Math.min(groundCollisionBoost, ConfigSystem.configObject.general.climbSpeed.value/SPEED_FACTOR);
+						groundCollisionBoost = Math.min(groundCollisionBoost, ConfigSystem.configObject.general.climbSpeed.value*stepFactor/SPEED_FACTOR);
 						motion.y += groundCollisionBoost;
 						groundCollisionBoost = motion.y;
 					}else{
@@ -565,6 +821,10 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 			//This prevents vehicles from phasing through walls even though they are driving on the ground.
 			//If we are being towed, apply this movement to the towing vehicle, not ourselves, as this can lead to the vehicle getting stuck.
 			//If the collision box is a liquid box, don't use it, as that gets used in ground device calculations instead.
+			//Before checking, limit our movement if we are going fast enough to pass through blocks in a single tick.
+			if(towedByConnection == null){
+				limitSweptMovement();
+			}
 			if(isCollisionBoxCollided()){
 				if(towedByConnection != null){
 					Point3d initalMotion = motion.copy();
@@ -611,12 +871,18 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 					//Add linear contribution to offset.
 					collisionMotion.add(mainVehicle.position).subtract(mainVehicle.prevPosition);
 					
+					//The entity moved this over its whole tick, so only move this step's share.
+					if(movementSteps > 1){
+						collisionMotion.multiply(stepFactor);
+						collisionRotation.multiply(stepFactor);
+					}
+					
 					//If we just contacted an entity, adjust our motion to match that entity's motion.
 					//We take our motion, and then remove it so it's the delta to that entity.
 					//This ensures that if we're moving and land on an entity, we don't run off.
 					if(lastCollidedEntity == null){
 						lastCollidedEntity = interactable;
-						motion.subtract(lastCollidedEntity.motion);
+						motion.subtract(lastCollidedEntity.motion.copy().multiply(stepFactor));
 					}
 					
 					//Only check one for now.  We could do multiple, but then we'd have to do maths.
@@ -626,7 +892,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		}else{
 			if(lastCollidedEntity != null){
 				//Add-back to our motion by adding the entity's motion.
-				motion.add(lastCollidedEntity.motion);
+				motion.add(lastCollidedEntity.motion.copy().multiply(stepFactor));
 				lastCollidedEntity = null;
 			}
 		}
@@ -636,10 +902,16 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		rotationApplied.setTo(rotation).add(roadRotation).add(collisionRotation);
 		collisionMotion.set(0, 0, 0);
 		collisionRotation.set(0, 0, 0);
-		if(!world.isClient()){
-			if(!motionApplied.isZero() || !rotationApplied.isZero()){
-				addToServerDeltas(motionApplied, rotationApplied);
-				InterfacePacket.sendToAllClients(new PacketVehicleServerMovement((EntityVehicleF_Physics) this, motionApplied, rotationApplied));
+		if(!lastStep){
+			//Not done moving this tick, so just keep track of our movement for syncing on the last step.
+			tickMotionApplied.add(motionApplied);
+			tickRotationApplied.add(rotationApplied);
+		}else if(!world.isClient()){
+			tickMotionApplied.add(motionApplied);
+			tickRotationApplied.add(rotationApplied);
+			if(!tickMotionApplied.isZero() || !tickRotationApplied.isZero()){
+				addToServerDeltas(tickMotionApplied, tickRotationApplied);
+				InterfacePacket.sendToAllClients(new PacketVehicleServerMovement((EntityVehicleF_Physics) this, tickMotionApplied, tickRotationApplied));
 			}
 		}else{
 			//Make sure the server is sending delta packets before we try to do delta correction.
@@ -679,9 +951,11 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 				}
 				
 				//Add actual movement to client deltas to prevent further corrections.
-				clientDeltaM.add(motionApplied);
-				clientDeltaR.add(rotationApplied);
+				clientDeltaM.add(tickMotionApplied).add(motionApplied);
+				clientDeltaR.add(tickRotationApplied).add(rotationApplied);
 			}
+			tickMotionApplied.add(motionApplied);
+			tickRotationApplied.add(rotationApplied);
 		}
 		
 		//Now add actual position and angles.
@@ -696,6 +970,39 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		motion.y -= (groundCollisionBoost + groundRotationBoost);
 	}
 	
+	/**
+	 *  Limits our proposed movement so collision boxes stop in the first block in their path.
+	 *  Normal collision checks only check where boxes end up, so a box that moves further than its
+	 *  size in a tick can end up on the other side of a block without ever colliding with it.
+	 *  Only boxes moving that fast are checked here, as all others are handled by the normal checks.
+	 *  Rotation is not considered, as boxes can't rotate far enough in a tick to skip blocks.
+	 *  <br><br>
+	 *  Boxes are stopped just inside the block rather than touching it.  This lets the normal collision
+	 *  checks find the block this tick, so they can do the block breaking, crash checks, and push-back
+	 *  exactly as they would for a slower vehicle.  Only the movement on the axis the block was hit on is
+	 *  limited, as movement on the other axes doesn't go into the block.  Those checks then set the motion
+	 *  on that axis, as they would for a slower vehicle, so we don't change our speed ourselves.
+	 */
+	private void limitSweptMovement(){
+		for(BoundingBox box : allBlockCollisionBoxes){
+			if(!box.collidesWithLiquids){
+				sweptMotion.setTo(motion).multiply(SPEED_FACTOR);
+				if(Math.abs(sweptMotion.x) > box.widthRadius || Math.abs(sweptMotion.y) > box.heightRadius || Math.abs(sweptMotion.z) > box.depthRadius){
+					double hitTime = world.getSweptCollisionTime(box, sweptMotion, sweptCollisionAxis);
+					if(hitTime < 1){
+						double axisMotion = Math.abs(sweptCollisionAxis.dotProduct(sweptMotion));
+						hitTime += SWEPT_COLLISION_PENETRATION/axisMotion;
+						if(hitTime < 1){
+							//Remove the part of the motion on the hit axis that is past the hit.
+							sweptMotion.setTo(sweptCollisionAxis).multiply(motion).multiply(1 - hitTime);
+							motion.subtract(sweptMotion);
+						}
+					}
+				}
+			}
+		}
+	}
+	
 	/**
 	 *  Checks if we have a collided collision box.  If so, true is returned.
 	 */
@@ -833,6 +1140,10 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 	public void addToServerDeltas(Point3d motionAdded, Point3d rotationAdded){
 		serverDeltaM.add(motionAdded);
 		serverDeltaR.add(rotationAdded);
+		if(world.isClient()){
+			//Server moved us, so we need to be awake to follow it.
+			wakeUp();
+		}
 	}
 	
 	/**
@@ -850,8 +1161,16 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 	 */
 	protected abstract void addToSteeringAngle(float degrees);
 	
+	/**
+	 * Method block for getting the number of steps to split this tick's movement into.
+	 * Called at the start of movement, before any forces are calculated.
+	 */
+	protected abstract int getMovementSteps();
+	
 	/**
 	 * Method block for force and motion calculations.
+	 * Called once for every movement step, so forces should only be applied
+	 * for that step's fraction of the tick.
 	 */
 	protected abstract void getForcesAndMotions();
 	
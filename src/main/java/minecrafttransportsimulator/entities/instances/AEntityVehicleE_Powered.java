@@ -294,6 +294,23 @@ abstract class AEntityVehicleE_Powered extends AEntityVehicleD_Moving{
 		return super.getCurrentMass() + fuelTank.getWeight();
 	}
 	
+	@Override
+	protected Point3d getRouteDestination(){
+		//Ground vehicles with a beacon selected route to it when following roads.
+		return selectedBeacon != null ? selectedBeacon.position : null;
+	}
+	
+	@Override
+	protected boolean canSleep(){
+		//Can't sleep with running engines, as they could make us move.
+		for(PartEngine engine : engines.values()){
+			if(engine.state.running){
+				return false;
+			}
+		}
+		return super.canSleep();
+	}
+	
 	@Override
 	public void addPart(APart part, boolean sendPacket){
 		super.addPart(part, sendPacket);
@@ -9,6 +9,7 @@ import java.util.Set;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TrailerConnection;
 import minecrafttransportsimulator.entities.components.AEntityD_Interactable;
 import minecrafttransportsimulator.entities.components.AEntityE_Multipart;
@@ -63,6 +64,7 @@ public abstract class APart extends AEntityD_Interactable<JSONPart>{
 	public final Point3d localOffset;
 	public final Point3d prevLocalOffset;
 	public final Point3d localAngles;
+	private final RotationMatrix localOrientation = new RotationMatrix();
 		
 	public APart(AEntityE_Multipart<?> entityOn, JSONPartDefinition placementDefinition, WrapperNBT data, APart parentPart){
 		super(entityOn.world, data);
@@ -105,7 +107,7 @@ public abstract class APart extends AEntityD_Interactable<JSONPart>{
 		createMovementClocks();
 		
 		//Set initial position and rotation.
-		position.setTo(localOffset).rotateFine(entityOn.angles).add(entityOn.position);
+		position.setTo(localOffset).rotate(entityOn.getOrientation()).add(entityOn.position);
 		angles.setTo(localAngles).add(entityOn.angles);
 		angles.setTo(placementAngles);
 		prevAngles.setTo(angles);
@@ -142,7 +144,7 @@ public abstract class APart extends AEntityD_Interactable<JSONPart>{
 				
 				//Rotate our current relative offset by the rotation of the parent to get the correct
 				//offset between us and our parent's position in our parent's coordinate system.
-				localOffset.rotateFine(parentPart.localAngles);
+				localOffset.rotate(parentPart.getLocalOrientation());
 				
 				//Add our parent's angles to our own so we have a cumulative rotation.
 				//This has the potential for funny rotations if we're both rotated, as we should
@@ -156,7 +158,7 @@ public abstract class APart extends AEntityD_Interactable<JSONPart>{
 			}
 			
 			//Set position and rotation to our net offset pos on the entity.
-			position.setTo(localOffset).rotateFine(entityOn.angles).add(entityOn.position);
+			position.setTo(localOffset).rotate(entityOn.getOrientation()).add(entityOn.position);
 			angles.setTo(localAngles).add(entityOn.angles);
 			
 			//Update post-movement things.
@@ -205,6 +207,14 @@ public abstract class APart extends AEntityD_Interactable<JSONPart>{
 		return entityOn.getTowingConnections();
 	}
 	
+	/**
+	 * Returns the rotation matrix for this part's local angles.  Like {@link #getOrientation()},
+	 * this is only re-calculated when the angles change.
+	 */
+	public RotationMatrix getLocalOrientation(){
+		return localOrientation.setToAngles(localAngles);
+	}
+	
 	/**
 	 * Updates the passed-in position and angles to the current position and rotation, 
 	 * as defined by the various animations and offsets defined in the passed-in JSON.
@@ -1,10 +1,19 @@
 package minecrafttransportsimulator.entities.instances;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
 
+import minecrafttransportsimulator.baseclasses.CoefficientTable;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.baseclasses.TrailerConnection;
+import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.jsondefs.JSONVehicle.VehicleMotorized;
 import minecrafttransportsimulator.mcinterface.InterfaceCore;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
@@ -98,6 +107,18 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered{
 	private Point3d thrustTorque = new Point3d();//kg*m^2/ticks^2
 	private Point3d totalTorque = new Point3d();//kg*m^2/ticks^2
 	private Point3d rotorRotation = new Point3d();//degrees
+	private boolean blimpStopped;
+	
+	//Coefficient tables.
+	/**Default lift table for all wings and control surfaces.  Max lift coefficient is 2, at 15 degrees.**/
+	private static final CoefficientTable DEFAULT_LIFT_TABLE = new CoefficientTable(-180, 180, 0.05, angle -> getLiftCoeff(angle, 2));
+	/**Lift and drag tables for each definition, shared by all vehicles of that definition.  Keyed weakly by the motorized section, as hotloading replaces it.**/
+	private static final Map<VehicleMotorized, CoefficientTable[]> definitionTables = Collections.synchronizedMap(new WeakHashMap<VehicleMotorized, CoefficientTable[]>());
+	private CoefficientTable wingLiftTable;
+	private CoefficientTable dragTable;
+	
+	//Parallel force calculations.
+	private static ForkJoinPool forcePool;
 	
 	//Animator for vehicles
 	private static RenderVehicle renderer;;
@@ -117,6 +138,7 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered{
 		this.autopilot = data.getBoolean("autopilot");
 		this.altitudeSetting = data.getDouble("altitudeSetting");
 		this.speedSetting = data.getDouble("speedSetting");
+		createCoefficientTables();
 	}
 	
 	@Override
@@ -193,206 +215,9 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered{
 		//If we are free, do normal updates.  But if we are towed by a vehicle, do trailer forces instead.
 		//This prevents trailers from behaving badly and flinging themselves into the abyss.
 		if(towedByConnection == null){
-			//Set moments.
-			momentRoll = definition.motorized.emptyMass*(1.5F + fuelTank.getFluidLevel()/10000F);
-			momentPitch = 2D*currentMass;
-			momentYaw = 3D*currentMass;
-			
-			//Get engine thrust force contributions.
-			thrustForce.set(0D, 0D, 0D);
-			thrustTorque.set(0D, 0D, 0D);
-			rotorRotation.set(0D, 0D, 0D);
-			for(APart part : parts){
-				Point3d partForce;
-				boolean isPropeller = false;
-				boolean isRotor = false;
-				double jetPower = 0;
-				if(part instanceof PartEngine){
-					partForce = ((PartEngine) part).getForceOutput();
-					jetPower = part.definition.engine.jetPowerFactor;
-				}else if(part instanceof PartPropeller){
-					partForce = ((PartPropeller) part).getForceOutput();
-					isPropeller = true;
-					isRotor = part.definition.propeller.isRotor;
-				}else{
-					continue;
-				}
-				
-				thrustForce.add(partForce);
-				
-				//If the part is a propeller or jet engine, we add thrust torque.
-				//If it's a rotor, we also add control surface torque.
-				//Torque added is relative to the propeller force output, factored by the angle of the control surface.
-				if(isPropeller || jetPower > 0){
-					thrustTorque.add(partForce.y*-part.placementOffset.z, partForce.z*part.placementOffset.x, partForce.y*part.placementOffset.x);
-				}
-				if(isRotor){
-					isVTOL = true;
-					if(!autopilot){
-						rotorRotation.add(-5D*elevatorAngle/MAX_ELEVATOR_ANGLE, -5D*rudderAngle/MAX_RUDDER_ANGLE, 5D*aileronAngle/MAX_AILERON_ANGLE);
-					}else{
-						if(angles.x < -1){
-							rotorRotation.x = 1;
-						}else if(angles.x > 1){
-							rotorRotation.x = -1;
-						}else{
-							rotorRotation.x = -angles.x;
-						}
-						if(angles.z < -1){
-							rotorRotation.z = 1;
-						}else if(angles.z > 1){
-							rotorRotation.z = -1;
-						}else{
-							rotorRotation.z = -angles.z;
-						}
-						rotorRotation.y = -5D*rudderAngle/MAX_RUDDER_ANGLE;
-					}
-				}
-			}
-			
-			//Get forces.  Some forces are specific to JSON sections.
-			//First get gravity.
-			gravitationalForce = definition.motorized.ballastVolume == 0 ? currentMass*(9.8/400) : 0;
-			if(!definition.motorized.isAircraft){
-				gravitationalForce *= ConfigSystem.configObject.general.gravityFactor.value;
-			}
-			
-			//Get the track angle.  This is used for control surfaces.
-			trackAngle = -Math.toDegrees(Math.asin(verticalVector.dotProduct(normalizedVelocityVector)));
-			
-			//Set blimp-specific states before calculating forces.
-			if(definition.motorized.isBlimp){
-				//Blimps are turned with rudders, not ailerons.  This puts the keys at an odd location.  To compensate, 
-				//we set the rudder to the aileron if the aileron is greater or less than the rudder.  That way no matter 
-				//which key is pressed, they both activate the rudder for turning.
-				if((aileronAngle < 0 && aileronAngle < rudderAngle) || (aileronAngle > 0 && aileronAngle > rudderAngle)){
-					rudderAngle = aileronAngle;
-					rudderCooldown = aileronCooldown;
-				}
-				
-				//If we have the brake pressed at a slow speed, stop the blimp.
-				//This is needed to prevent runaway blimps.
-				if(Math.abs(velocity) < 0.15 && (brake > 0 || parkingBrakeOn)){
-					motion.x = 0;
-					motion.z = 0;
-					thrustForce.set(0D, 0D, 0D);
-					thrustTorque.set(0D, 0D, 0D);
-				}
-			}
-			
-			//Get the lift coefficients and states for control surfaces.
-			double yawAngleDelta = Math.toDegrees(Math.asin(sideVector.dotProduct(normalizedVelocityVector)));
-			wingLiftCoeff = getLiftCoeff(trackAngle, 2 + flapCurrentAngle/MAX_FLAP_ANGLE_REFERENCE);
-			aileronLiftCoeff = getLiftCoeff((aileronAngle + aileronTrim)/10F, 2);
-			elevatorLiftCoeff = getLiftCoeff(-2.5 + trackAngle - (elevatorAngle + elevatorTrim)/10F, 2);
-			rudderLiftCoeff = getLiftCoeff((rudderAngle + rudderTrim)/10F - yawAngleDelta, 2);
-			currentWingArea = definition.motorized.wingArea + definition.motorized.wingArea*0.15D*flapCurrentAngle/MAX_FLAP_ANGLE_REFERENCE;
-			
-			//Get the drag coefficient and force.
-			if(definition.motorized.isBlimp){
-				dragCoeff = 0.004F*Math.pow(Math.abs(yawAngleDelta), 2) + (definition.motorized.dragCoefficient != 0 ? definition.motorized.dragCoefficient : 0.03D);
-			}else if(definition.motorized.isAircraft){
-				//Aircraft are 0.03 by default, or whatever is specified.
-				dragCoeff = 0.0004F*Math.pow(trackAngle, 2) + (definition.motorized.dragCoefficient != 0 ? definition.motorized.dragCoefficient : 0.03D);
-			}else{
-				dragCoeff = definition.motorized.dragCoefficient != 0 ? definition.motorized.dragCoefficient : 2.0D;
-				//If we aren't an aircraft, check for grounded ground devices.
-				//If we don't have any grounded ground devices, assume we are in the air or in water.
-				//This results in an increase in drag due to poor airflow.
-				if(groundDeviceCollective.groundedGroundDevices.isEmpty()){
-					dragCoeff *= 3D;
-				}
-			}
-			if(definition.motorized.crossSectionalArea > 0){
-				dragForce = 0.5F*airDensity*velocity*velocity*definition.motorized.crossSectionalArea*dragCoeff;
-			}else if(definition.motorized.wingSpan > 0){
-				dragForce = 0.5F*airDensity*velocity*velocity*currentWingArea*(dragCoeff + wingLiftCoeff*wingLiftCoeff/(Math.PI*definition.motorized.wingSpan*definition.motorized.wingSpan/currentWingArea*0.8));
-			}else{
-				dragForce = 0.5F*airDensity*velocity*velocity*5.0F*dragCoeff;
-			}
-			
-			//Get ballast force.
-			if(definition.motorized.ballastVolume > 0){
-				//Ballast gets less effective at applying positive lift at higher altitudes.
-				//This prevents blimps from ascending into space.
-				//Also take into account motionY, as we should provide less force if we are already going in the same direction.
-				if(elevatorAngle < 0){
-					ballastForce = airDensity*definition.motorized.ballastVolume*-elevatorAngle/100D;
-				}else if(elevatorAngle > 0){
-					ballastForce = 1.225*definition.motorized.ballastVolume*-elevatorAngle/100D;
-				}else{
-					ballastForce = 1.225*definition.motorized.ballastVolume*10D*-motion.y;
-				}
-				if(motion.y*ballastForce != 0){
-					ballastForce /= Math.pow(1 + Math.abs(motion.y), 2);
-				}
-			}
-			
-			//Get all other forces.
-			wingForce = 0.5F*airDensity*axialVelocity*axialVelocity*currentWingArea*wingLiftCoeff;
-			aileronForce = 0.5F*airDensity*axialVelocity*axialVelocity*definition.motorized.aileronArea*aileronLiftCoeff;
-			elevatorForce = 0.5F*airDensity*axialVelocity*axialVelocity*definition.motorized.elevatorArea*elevatorLiftCoeff;			
-			rudderForce = 0.5F*airDensity*axialVelocity*axialVelocity*definition.motorized.rudderArea*rudderLiftCoeff;
-			
-			//Get torques.  Point for ailerons is 0.75% to the edge of the wing.
-			aileronTorque = aileronForce*definition.motorized.wingSpan*0.5F*0.75F;
-			elevatorTorque = elevatorForce*definition.motorized.tailDistance;
-			rudderTorque = rudderForce*definition.motorized.tailDistance;
-			
-			//If the elevator torque is low, don't apply it.  This prevents elevators from
-			//having effects at slow speeds.  We use a faux-torque here from the main plane
-			//body to check if we are below this point.
-			if(Math.abs(elevatorTorque) < 2D*currentMass/400D){
-				elevatorTorque = 0;
-			}
-			
-			//Do more blimp-specific things for the forces.
-			if(definition.motorized.isBlimp){
-				//Roll and pitch are applied only if we aren't level.
-				//This only happens if we fall out of the sky and land on the ground and tilt.
-				if(angles.z > 0){
-					aileronTorque = -Math.min(0.5F, angles.z)*currentMass/100;
-				}else if(angles.z < 0){
-					aileronTorque = -Math.max(-0.5F, angles.z)*currentMass/100;
-				}else{
-					aileronTorque = 0;
-				}
-				if(angles.x > 0){
-					elevatorTorque = -Math.min(0.5F, angles.x)*currentMass/100;
-				}else if(angles.x < 0){
-					elevatorTorque = -Math.max(-0.5F, angles.x)*currentMass/100;
-				}else{
-					elevatorTorque = 0;
-				}
-				
-				//If we are turning with the rudder, don't let us heel out of line easily.
-				//Rudder force should be minimal for blimps due to their moment of inertia.
-				if(rudderTorque*rudderAngle <= 0){
-					rudderTorque = 0;
-				}
-			}
-			
-			//As a special case, if the vehicle is a stalled plane, add a forwards pitch to allow the plane to right itself.
-			//This is needed to prevent the plane from getting stuck in a vertical position and crashing.
-			if(definition.motorized.wingArea > 0 && trackAngle > 40 && angles.x < 45 && !groundDeviceCollective.isAnythingOnGround()){
-				elevatorTorque += 100;
-			}
-			
-			//Add all forces to the main force matrix and apply them.
-			totalAxialForce.set(0D, wingForce - elevatorForce, 0D).add(thrustForce).rotateFine(angles);
-			totalMotiveForce.set(-dragForce, -dragForce, -dragForce).multiply(normalizedVelocityVector);
-			totalGlobalForce.set(0D, ballastForce - gravitationalForce, 0D);
-			totalForce.setTo(totalAxialForce).add(totalMotiveForce).add(totalGlobalForce).multiply(1/currentMass);
-			motion.add(totalForce);
-			
-			//Add all torques to the main torque matrix and apply them.
-			pitchDirectionFactor = Math.abs(angles.z%360);
-			pitchDirectionFactor = pitchDirectionFactor < 90 || pitchDirectionFactor > 270 ? 1.0D : -1.0D;
-			totalTorque.set(elevatorTorque, rudderTorque, aileronTorque).add(thrustTorque).multiply(180D/Math.PI);
-			rotation.x = (pitchDirectionFactor*(1-Math.abs(sideVector.y))*totalTorque.x + sideVector.y*totalTorque.y)/momentPitch;
-			rotation.y = (sideVector.y*totalTorque.x - verticalVector.y*totalTorque.y)/momentYaw;
-			rotation.z = totalTorque.z/momentRoll;
-			rotation.add(rotorRotation);
+			//Forces are only applied for the current movement step.  The vehicle is moved
+			//between steps, so each step's forces use the orientation and motion left by the last.
+			addForces(1D/movementSteps, movementStep == 0);
 		}else{
 			//If we are a trailer that is mounted, just move the vehicle to the exact position of the trailer connection.
 			//Otherwise, do movement logic  Make sure the towed vehicle is loaded, however.  It may not yet be.
@@ -446,6 +271,246 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered{
 		}
 	}
 	
+	/**
+	 * Returns the number of steps to split movement into for this tick.
+	 * Slow vehicles only need one step, but fast ones, or ones that are rotating fast,
+	 * need more to remain stable as their forces depend on their velocity, and so
+	 * they don't move past blocks without colliding with them.  Trailers follow
+	 * whatever is towing them, so they always move in one step.
+	 */
+	@Override
+	protected int getMovementSteps(){
+		int maxSteps = ConfigSystem.configObject.general.maxPhysicsSubsteps.value;
+		if(maxSteps > 1 && towedByConnection == null){
+			double speedSteps = velocity*SPEED_FACTOR/ConfigSystem.configObject.general.physicsSubstepSpeed.value;
+			double rotationSteps = rotation.length()/ConfigSystem.configObject.general.physicsSubstepRotation.value;
+			int steps = (int) Math.ceil(Math.max(speedSteps, rotationSteps));
+			return steps < 1 ? 1 : (steps > maxSteps ? maxSteps : steps);
+		}else{
+			return 1;
+		}
+	}
+	
+	/**
+	 * Calculates all forces and torques for a free vehicle, and applies them to the motion and rotation.
+	 * The step factor is the fraction of the tick the forces are applied for.  Rotation is set
+	 * as a per-tick rate, so is not affected by this factor.  Engines only adjust their wheels, and
+	 * blimps only set their rudder and brakes, on the first step, as that is done once per tick.
+	 */
+	private void addForces(double stepFactor, boolean firstStep){
+		//Set moments.
+		momentRoll = definition.motorized.emptyMass*(1.5F + fuelTank.getFluidLevel()/10000F);
+		momentPitch = 2D*currentMass;
+		momentYaw = 3D*currentMass;
+		
+		//Get engine thrust force contributions.
+		thrustForce.set(0D, 0D, 0D);
+		thrustTorque.set(0D, 0D, 0D);
+		rotorRotation.set(0D, 0D, 0D);
+		for(APart part : parts){
+			Point3d partForce;
+			boolean isPropeller = false;
+			boolean isRotor = false;
+			double jetPower = 0;
+			if(part instanceof PartEngine){
+				partForce = ((PartEngine) part).getForceOutput(firstStep);
+				jetPower = part.definition.engine.jetPowerFactor;
+			}else if(part instanceof PartPropeller){
+				partForce = ((PartPropeller) part).getForceOutput();
+				isPropeller = true;
+				isRotor = part.definition.propeller.isRotor;
+			}else{
+				continue;
+			}
+			
+			thrustForce.add(partForce);
+			
+			//If the part is a propeller or jet engine, we add thrust torque.
+			//If it's a rotor, we also add control surface torque.
+			//Torque added is relative to the propeller force output, factored by the angle of the control surface.
+			if(isPropeller || jetPower > 0){
+				thrustTorque.add(partForce.y*-part.placementOffset.z, partForce.z*part.placementOffset.x, partForce.y*part.placementOffset.x);
+			}
+			if(isRotor){
+				isVTOL = true;
+				if(!autopilot){
+					rotorRotation.add(-5D*elevatorAngle/MAX_ELEVATOR_ANGLE, -5D*rudderAngle/MAX_RUDDER_ANGLE, 5D*aileronAngle/MAX_AILERON_ANGLE);
+				}else{
+					if(angles.x < -1){
+						rotorRotation.x = 1;
+					}else if(angles.x > 1){
+						rotorRotation.x = -1;
+					}else{
+						rotorRotation.x = -angles.x;
+					}
+					if(angles.z < -1){
+						rotorRotation.z = 1;
+					}else if(angles.z > 1){
+						rotorRotation.z = -1;
+					}else{
+						rotorRotation.z = -angles.z;
+					}
+					rotorRotation.y = -5D*rudderAngle/MAX_RUDDER_ANGLE;
+				}
+			}
+		}
+		
+		//Get forces.  Some forces are specific to JSON sections.
+		//First get gravity.
+		gravitationalForce = definition.motorized.ballastVolume == 0 ? currentMass*(9.8/400) : 0;
+		if(!definition.motorized.isAircraft){
+			gravitationalForce *= ConfigSystem.configObject.general.gravityFactor.value;
+		}
+		
+		//Get the track angle.  This is used for control surfaces.
+		trackAngle = -Math.toDegrees(Math.asin(verticalVector.dotProduct(normalizedVelocityVector)));
+		
+		//Set blimp-specific states before calculating forces.
+		if(definition.motorized.isBlimp){
+			if(firstStep){
+				//Blimps are turned with rudders, not ailerons.  This puts the keys at an odd location.  To compensate, 
+				//we set the rudder to the aileron if the aileron is greater or less than the rudder.  That way no matter 
+				//which key is pressed, they both activate the rudder for turning.
+				if((aileronAngle < 0 && aileronAngle < rudderAngle) || (aileronAngle > 0 && aileronAngle > rudderAngle)){
+					rudderAngle = aileronAngle;
+					rudderCooldown = aileronCooldown;
+				}
+				
+				//If we have the brake pressed at a slow speed, stop the blimp.
+				//This is needed to prevent runaway blimps.
+				blimpStopped = Math.abs(velocity) < 0.15 && (brake > 0 || parkingBrakeOn);
+				if(blimpStopped){
+					motion.x = 0;
+					motion.z = 0;
+				}
+			}
+			if(blimpStopped){
+				thrustForce.set(0D, 0D, 0D);
+				thrustTorque.set(0D, 0D, 0D);
+			}
+		}
+		
+		//Get the lift coefficients and states for control surfaces.
+		double yawAngleDelta = Math.toDegrees(Math.asin(sideVector.dotProduct(normalizedVelocityVector)));
+		wingLiftCoeff = wingLiftTable.getValue(trackAngle)*(1 + flapCurrentAngle/MAX_FLAP_ANGLE_REFERENCE/2D);
+		aileronLiftCoeff = DEFAULT_LIFT_TABLE.getValue((aileronAngle + aileronTrim)/10F);
+		elevatorLiftCoeff = DEFAULT_LIFT_TABLE.getValue(-2.5 + trackAngle - (elevatorAngle + elevatorTrim)/10F);
+		rudderLiftCoeff = DEFAULT_LIFT_TABLE.getValue((rudderAngle + rudderTrim)/10F - yawAngleDelta);
+		currentWingArea = definition.motorized.wingArea + definition.motorized.wingArea*0.15D*flapCurrentAngle/MAX_FLAP_ANGLE_REFERENCE;
+		
+		//Get the drag coefficient and force.
+		double airDensity = getAirDensity();
+		if(definition.motorized.isBlimp){
+			dragCoeff = 0.004F*yawAngleDelta*yawAngleDelta + (definition.motorized.dragCoefficient != 0 ? definition.motorized.dragCoefficient : 0.03D);
+		}else if(definition.motorized.isAircraft){
+			//Aircraft are 0.03 by default, or whatever is specified.
+			//If we have a drag table, use that instead.
+			if(dragTable != null){
+				dragCoeff = dragTable.getValue(trackAngle);
+			}else{
+				dragCoeff = 0.0004F*trackAngle*trackAngle + (definition.motorized.dragCoefficient != 0 ? definition.motorized.dragCoefficient : 0.03D);
+			}
+		}else{
+			dragCoeff = definition.motorized.dragCoefficient != 0 ? definition.motorized.dragCoefficient : 2.0D;
+			//If we aren't an aircraft, check for grounded ground devices.
+			//If we don't have any grounded ground devices, assume we are in the air or in water.
+			//This results in an increase in drag due to poor airflow.
+			if(groundDeviceCollective.groundedGroundDevices.isEmpty()){
+				dragCoeff *= 3D;
+			}
+		}
+		if(definition.motorized.crossSectionalArea > 0){
+			dragForce = 0.5F*airDensity*velocity*velocity*definition.motorized.crossSectionalArea*dragCoeff;
+		}else if(definition.motorized.wingSpan > 0){
+			dragForce = 0.5F*airDensity*velocity*velocity*currentWingArea*(dragCoeff + wingLiftCoeff*wingLiftCoeff/(Math.PI*definition.motorized.wingSpan*definition.motorized.wingSpan/currentWingArea*0.8));
+		}else{
+			dragForce = 0.5F*airDensity*velocity*velocity*5.0F*dragCoeff;
+		}
+		
+		//Get ballast force.
+		if(definition.motorized.ballastVolume > 0){
+			//Ballast gets less effective at applying positive lift at higher altitudes.
+			//This prevents blimps from ascending into space.
+			//Also take into account motionY, as we should provide less force if we are already going in the same direction.
+			if(elevatorAngle < 0){
+				ballastForce = airDensity*definition.motorized.ballastVolume*-elevatorAngle/100D;
+			}else if(elevatorAngle > 0){
+				ballastForce = 1.225*definition.motorized.ballastVolume*-elevatorAngle/100D;
+			}else{
+				ballastForce = 1.225*definition.motorized.ballastVolume*10D*-motion.y;
+			}
+			if(motion.y*ballastForce != 0){
+				ballastForce /= Math.pow(1 + Math.abs(motion.y), 2);
+			}
+		}
+		
+		//Get all other forces.
+		wingForce = 0.5F*airDensity*axialVelocity*axialVelocity*currentWingArea*wingLiftCoeff;
+		aileronForce = 0.5F*airDensity*axialVelocity*axialVelocity*definition.motorized.aileronArea*aileronLiftCoeff;
+		elevatorForce = 0.5F*airDensity*axialVelocity*axialVelocity*definition.motorized.elevatorArea*elevatorLiftCoeff;			
+		rudderForce = 0.5F*airDensity*axialVelocity*axialVelocity*definition.motorized.rudderArea*rudderLiftCoeff;
+		
+		//Get torques.  Point for ailerons is 0.75% to the edge of the wing.
+		aileronTorque = aileronForce*definition.motorized.wingSpan*0.5F*0.75F;
+		elevatorTorque = elevatorForce*definition.motorized.tailDistance;
+		rudderTorque = rudderForce*definition.motorized.tailDistance;
+		
+		//If the elevator torque is low, don't apply it.  This prevents elevators from
+		//having effects at slow speeds.  We use a faux-torque here from the main plane
+		//body to check if we are below this point.
+		if(Math.abs(elevatorTorque) < 2D*currentMass/400D){
+			elevatorTorque = 0;
+		}
+		
+		//Do more blimp-specific things for the forces.
+		if(definition.motorized.isBlimp){
+			//Roll and pitch are applied only if we aren't level.
+			//This only happens if we fall out of the sky and land on the ground and tilt.
+			if(angles.z > 0){
+				aileronTorque = -Math.min(0.5F, angles.z)*currentMass/100;
+			}else if(angles.z < 0){
+				aileronTorque = -Math.max(-0.5F, angles.z)*currentMass/100;
+			}else{
+				aileronTorque = 0;
+			}
+			if(angles.x > 0){
+				elevatorTorque = -Math.min(0.5F, angles.x)*currentMass/100;
+			}else if(angles.x < 0){
+				elevatorTorque = -Math.max(-0.5F, angles.x)*currentMass/100;
+			}else{
+				elevatorTorque = 0;
+			}
+			
+			//If we are turning with the rudder, don't let us heel out of line easily.
+			//Rudder force should be minimal for blimps due to their moment of inertia.
+			if(rudderTorque*rudderAngle <= 0){
+				rudderTorque = 0;
+			}
+		}
+		
+		//As a special case, if the vehicle is a stalled plane, add a forwards pitch to allow the plane to right itself.
+		//This is needed to prevent the plane from getting stuck in a vertical position and crashing.
+		if(definition.motorized.wingArea > 0 && trackAngle > 40 && angles.x < 45 && !groundDeviceCollective.isAnythingOnGround()){
+			elevatorTorque += 100;
+		}
+		
+		//Add all forces to the main force matrix and apply them.
+		totalAxialForce.set(0D, wingForce - elevatorForce, 0D).add(thrustForce).rotate(getOrientation());
+		totalMotiveForce.set(-dragForce, -dragForce, -dragForce).multiply(normalizedVelocityVector);
+		totalGlobalForce.set(0D, ballastForce - gravitationalForce, 0D);
+		totalForce.setTo(totalAxialForce).add(totalMotiveForce).add(totalGlobalForce).multiply(1/currentMass);
+		motion.add(totalForce.multiply(stepFactor));
+		
+		//Add all torques to the main torque matrix and apply them.
+		pitchDirectionFactor = Math.abs(angles.z%360);
+		pitchDirectionFactor = pitchDirectionFactor < 90 || pitchDirectionFactor > 270 ? 1.0D : -1.0D;
+		totalTorque.set(elevatorTorque, rudderTorque, aileronTorque).add(thrustTorque).multiply(180D/Math.PI);
+		rotation.x = (pitchDirectionFactor*(1-Math.abs(sideVector.y))*totalTorque.x + sideVector.y*totalTorque.y)/momentPitch;
+		rotation.y = (sideVector.y*totalTorque.x - verticalVector.y*totalTorque.y)/momentYaw;
+		rotation.z = totalTorque.z/momentRoll;
+		rotation.add(rotorRotation);
+	}
+	
 	@Override
 	protected void dampenControlSurfaces(){
 		if(!definition.motorized.isAircraft && autopilot){
@@ -571,6 +636,100 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered{
 		}
 	}
 	
+	/**
+	 * Calculates the forces for all free vehicles in the passed-in world on multiple threads.
+	 * This is called at the start of the server tick, before any vehicles update.  Each vehicle only
+	 * reads and changes its own states and parts when calculating forces, so vehicles can be done at the
+	 * same time as long as nothing else is going on.  As such, this method blocks until all vehicles are done.
+	 * The motion and rotation from the forces are saved rather than applied, so vehicles are left as they were.
+	 * Their update then applies these in place of calculating forces, and does all movement, collision, and
+	 * networking as normal.  Trailers, sleeping vehicles, and vehicles that haven't updated since their last
+	 * calculation are skipped, and will calculate their forces during their update as normal.  So will vehicles
+	 * that become trailers or are moved by something else before they update, as their saved forces are dropped.
+	 * <br><br>
+	 * Forces never look at the world.  Anything they need from it, such as if propellers are in liquid, is
+	 * saved by the parts in their update at the end of the prior tick.  The states the update normally sets
+	 * before calculating forces are set here on the main thread first, using the same code, so forces are
+	 * calculated from the same states as they would be during the update.  Parts are updated after movement
+	 * in both cases, so neither way is a tick behind the other.
+	 */
+	public static void calculateForcesInParallel(WrapperWorld world){
+		List<EntityVehicleF_Physics> parallelVehicles = new ArrayList<EntityVehicleF_Physics>();
+		for(EntityVehicleF_Physics vehicle : AEntityA_Base.getEntities(world, EntityVehicleF_Physics.class)){
+			if(vehicle.isValid && !vehicle.sleeping && !vehicle.forcesCalculated && vehicle.towedByConnection == null && vehicle.partsFromNBT.isEmpty() && (!ConfigSystem.configObject.general.noclipVehicles.value || vehicle.groundDeviceCollective.isReady())){
+				//Set the states that are normally set at the start of the update, as we are before that.
+				//Mass depends on what we are towing, so remove any connections that will be removed in the update first.
+				vehicle.towingConnections.removeIf(connection -> !connection.hookupEntity.isValid);
+				vehicle.velocity = vehicle.motion.length();
+				vehicle.updateMotionStates();
+				//Only the first movement step is done here, as the steps after it need to be moved to first.
+				vehicle.movementSteps = vehicle.getMovementSteps();
+				parallelVehicles.add(vehicle);
+			}
+		}
+		if(!parallelVehicles.isEmpty()){
+			if(forcePool == null){
+				forcePool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+			}
+			forcePool.submit(() -> parallelVehicles.parallelStream().forEach(vehicle -> vehicle.calculateForcesForNextUpdate())).join();
+		}
+	}
+	
+	/**
+	 * Shuts down the threads used by {@link #calculateForcesInParallel(WrapperWorld)}.  This is called when
+	 * the server stops.  If forces are calculated in parallel again after this, new threads will be made.
+	 */
+	public static void shutdownForcePool(){
+		if(forcePool != null){
+			forcePool.shutdown();
+			forcePool = null;
+		}
+	}
+	
+	/**
+	 * Sets the coefficient tables for this vehicle.  Tables are only created the first time a definition
+	 * is used, and are then shared with all other vehicles using it.
+	 */
+	private void createCoefficientTables(){
+		CoefficientTable[] tables = definitionTables.computeIfAbsent(definition.motorized, motorized -> createCoefficientTables(motorized, definition.packID + ":" + definition.systemName));
+		wingLiftTable = tables[0];
+		dragTable = tables[1];
+	}
+	
+	/**
+	 * Creates the lift and drag tables for the passed-in definition section.  If it has its own
+	 * coefficients, tables are made from those.  Otherwise, the default lift table and no drag table are used.
+	 */
+	private static CoefficientTable[] createCoefficientTables(VehicleMotorized motorized, String definitionName){
+		CoefficientTable[] tables = new CoefficientTable[]{DEFAULT_LIFT_TABLE, null};
+		if(motorized.liftCoefficients != null){
+			if(CoefficientTable.arePointsValid(motorized.liftCoefficientAngles, motorized.liftCoefficients)){
+				tables[0] = new CoefficientTable(motorized.liftCoefficientAngles, motorized.liftCoefficients, 0.1);
+			}else{
+				InterfaceCore.logError("Invalid lift coefficients on " + definitionName + ".  Angles must be in increasing order and have one coefficient each.  Using default lift.");
+			}
+		}
+		if(motorized.dragCoefficients != null){
+			if(CoefficientTable.arePointsValid(motorized.dragCoefficientAngles, motorized.dragCoefficients)){
+				tables[1] = new CoefficientTable(motorized.dragCoefficientAngles, motorized.dragCoefficients, 0.1);
+			}else{
+				InterfaceCore.logError("Invalid drag coefficients on " + definitionName + ".  Angles must be in increasing order and have one coefficient each.  Using default drag.");
+			}
+		}
+		return tables;
+	}
+	
+	@Override
+	public void onDefinitionReset(){
+		super.onDefinitionReset();
+		createCoefficientTables();
+	}
+	
+	/**
+	 * Returns the lift coefficient for the passed-in angle of attack.  This is the
+	 * function used to create the default lift table, so use that table rather than
+	 * calling this method during physics calculations.
+	 */
 	protected static double getLiftCoeff(double angleOfAttack, double maxLiftCoeff){
 		if(angleOfAttack == 0){
 			return 0;
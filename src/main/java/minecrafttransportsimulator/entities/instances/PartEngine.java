@@ -854,7 +854,12 @@ public class PartEngine extends APart{
 		return driveshaftRotation + (driveshaftRotation - prevDriveshaftRotation)*partialTicks;
 	}
 	
-	public Point3d getForceOutput(){
+	/**
+	 * Returns the force this engine provides to the vehicle.  If updateWheels is true, the speed
+	 * of the driven wheels is also adjusted for spin-out.  That is a once-per-tick change, so it
+	 * should only be done on the first step when forces are calculated in multiple steps.
+	 */
+	public Point3d getForceOutput(boolean updateWheels){
 		engineForce.set(0D, 0D, 0D);
 		//First get wheel forces, if we have friction to do so.
 		if(definition.engine.jetPowerFactor == 0 && wheelFriction != 0){
@@ -867,23 +872,25 @@ public class PartEngine extends APart{
 					//If they do, we'll need to provide less force.
 					if(Math.abs(wheelForce/300D) > wheelFriction || (Math.abs(lowestWheelVelocity) - Math.abs(desiredWheelVelocity) > 0.1 && Math.abs(lowestWheelVelocity) - Math.abs(desiredWheelVelocity) < Math.abs(wheelForce/300D))){
 						wheelForce *= vehicleOn.currentMass/100000D*wheelFriction/Math.abs(wheelForce/300F);
-						for(PartGroundDevice wheel : vehicleOn.groundDeviceCollective.drivenWheels){
-							if(currentGearRatio > 0){
-								if(wheelForce >= 0){
-									wheel.angularVelocity = Math.min(engineTargetRPM/1200F/currentGearRatio/vehicleOn.definition.motorized.axleRatio, wheel.angularVelocity + 0.01D);
-								}else{
-									wheel.angularVelocity = Math.max(engineTargetRPM/1200F/currentGearRatio/vehicleOn.definition.motorized.axleRatio, wheel.angularVelocity - 0.01D);
-								}
-							}else{
-								if(wheelForce >= 0){
-									wheel.angularVelocity = Math.min(engineTargetRPM/1200F/currentGearRatio/vehicleOn.definition.motorized.axleRatio, wheel.angularVelocity + 0.01D);
+						if(updateWheels){
+							for(PartGroundDevice wheel : vehicleOn.groundDeviceCollective.drivenWheels){
+								if(currentGearRatio > 0){
+									if(wheelForce >= 0){
+										wheel.angularVelocity = Math.min(engineTargetRPM/1200F/currentGearRatio/vehicleOn.definition.motorized.axleRatio, wheel.angularVelocity + 0.01D);
+									}else{
+										wheel.angularVelocity = Math.max(engineTargetRPM/1200F/currentGearRatio/vehicleOn.definition.motorized.axleRatio, wheel.angularVelocity - 0.01D);
+									}
 								}else{
-									wheel.angularVelocity = Math.max(engineTargetRPM/1200F/currentGearRatio/vehicleOn.definition.motorized.axleRatio, wheel.angularVelocity - 0.01D);
+									if(wheelForce >= 0){
+										wheel.angularVelocity = Math.min(engineTargetRPM/1200F/currentGearRatio/vehicleOn.definition.motorized.axleRatio, wheel.angularVelocity + 0.01D);
+									}else{
+										wheel.angularVelocity = Math.max(engineTargetRPM/1200F/currentGearRatio/vehicleOn.definition.motorized.axleRatio, wheel.angularVelocity - 0.01D);
+									}
 								}
+								wheel.skipAngularCalcs = true;
 							}
-							wheel.skipAngularCalcs = true;
 						}
-					}else{
+					}else if(updateWheels){
 						//If we have wheels not on the ground and we drive them, adjust their velocity now.
 						for(PartGroundDevice wheel : vehicleOn.groundDeviceCollective.drivenWheels){
 							wheel.skipAngularCalcs = false;
@@ -914,6 +921,7 @@ public class PartEngine extends APart{
 			//by the core of the engine.  This is speed-independent as the core will ALWAYS accelerate air.
 			//Note that due to a lack of jet physics formulas available, this is "hacky math".
 			double safeRPMFactor = rpm/definition.engine.maxSafeRPM;
+			double airDensity = getAirDensity();
 			double coreContribution = Math.max(10*airDensity*definition.engine.fuelConsumption*safeRPMFactor - definition.engine.bypassRatio, 0);
 			
 			//The fan portion is calculated similarly to how propellers are calculated.
@@ -35,6 +35,7 @@ public class PartGroundDevice extends APart{
 	private int ticksCalcsSkipped = 0;
 	private double prevAngularVelocity;
 	private final PartGroundDeviceFake fakePart;
+	private final Point3d groundPosition = new Point3d();
 	
 	public PartGroundDevice(AEntityE_Multipart<?> entityOn, JSONPartDefinition placementDefinition, WrapperNBT data, APart parentPart){
 		super(entityOn, placementDefinition, data, parentPart);
@@ -205,12 +206,8 @@ public class PartGroundDevice extends APart{
 	}
 	
 	public float getFrictionLoss(){
-		Point3d groundPosition = position.copy().add(0, -1, 0);
-		if(!world.isAir(groundPosition)){
-			return 0.6F - world.getBlockSlipperiness(groundPosition) + world.getRainStrength(groundPosition)*0.1F;
-		}else{
-			return 0;
-		}
+		groundPosition.setTo(position).add(0, -1, 0);
+		return world.getFrictionLoss(groundPosition);
 	}
 	
 	public double getDesiredAngularVelocity(){
@@ -18,6 +18,8 @@ public class PartPropeller extends APart{
 	public int currentPitch;
 	
 	private final PartEngine connectedEngine;
+	/**Liquid state as of the last update.  Forces use this rather than checking the world, as they may be calculated off the main thread.**/
+	private boolean inLiquid;
 	private final Point3d propellerForce = new Point3d();
 	
 	public static final int MIN_DYNAMIC_PITCH = 45;
@@ -82,6 +84,7 @@ public class PartPropeller extends APart{
 				angularVelocity = 0;
 			}
 			angularPosition += angularVelocity;
+			inLiquid = isInLiquid();
 			
 			//Damage propeller or entities if required.
 			if(!world.isClient()){
@@ -180,7 +183,7 @@ public class PartPropeller extends APart{
 				//Multiply the thrust difference by the area of the propeller.  This accounts for the force-area defined by it.
 				thrust *= Math.PI*Math.pow(0.0254*definition.propeller.diameter/2D, 2);
 				//Finally, multiply by the air density, and a constant.  Less dense air causes less thrust force.
-				thrust *= airDensity/25D*1.5D;
+				thrust *= getAirDensity()/25D*1.5D;
 
 				//Get the angle of attack of the propeller.
 				//Note pitch velocity is in linear in meters per second, 
@@ -193,7 +196,7 @@ public class PartPropeller extends APart{
 				}
 				
 				//If the propeller is in the water, increase thrust.
-				if(isInLiquid()){
+				if(inLiquid){
 					thrust *= 50;
 				}
 				
@@ -359,26 +359,23 @@ public class ItemItem extends AItemPack<JSONItem> implements IItemVehicleInterac
 			}
 		}else if(definition.item.type.equals(ItemComponentType.Y2K_BUTTON)){
 			if(!world.isClient() && player.isOP()){
-				for(AEntityA_Base entity : AEntityA_Base.getEntities(world)){
-					if(entity instanceof EntityVehicleF_Physics){
-						EntityVehicleF_Physics vehicle = (EntityVehicleF_Physics) entity;
-						vehicle.throttle = 0;
-						InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(vehicle, PacketVehicleControlAnalog.Controls.THROTTLE, (short) 0, (byte) 0));
-						vehicle.parkingBrakeOn = true;
-						InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.P_BRAKE, true));
-						for(PartEngine engine : vehicle.engines.values()){
-							engine.setMagnetoStatus(false);
-							InterfacePacket.sendToAllClients(new PacketPartEngine(engine, Signal.MAGNETO_OFF));
-						}
-						Iterator<String> variableIterator = vehicle.variablesOn.iterator();
-						while(variableIterator.hasNext()){
-							String variableName = variableIterator.next();
-							for(LightType light : LightType.values()){
-								if(light.lowercaseName.equals(variableName)){
-									InterfacePacket.sendToAllClients(new PacketEntityVariableToggle(vehicle, variableName));
-									variableIterator.remove();
-									break;
-								}
+				for(EntityVehicleF_Physics vehicle : AEntityA_Base.getEntities(world, EntityVehicleF_Physics.class)){
+					vehicle.throttle = 0;
+					InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(vehicle, PacketVehicleControlAnalog.Controls.THROTTLE, (short) 0, (byte) 0));
+					vehicle.parkingBrakeOn = true;
+					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.P_BRAKE, true));
+					for(PartEngine engine : vehicle.engines.values()){
+						engine.setMagnetoStatus(false);
+						InterfacePacket.sendToAllClients(new PacketPartEngine(engine, Signal.MAGNETO_OFF));
+					}
+					Iterator<String> variableIterator = vehicle.variablesOn.iterator();
+					while(variableIterator.hasNext()){
+						String variableName = variableIterator.next();
+						for(LightType light : LightType.values()){
+							if(light.lowercaseName.equals(variableName)){
+								InterfacePacket.sendToAllClients(new PacketEntityVariableToggle(vehicle, variableName));
+								variableIterator.remove();
+								break;
 							}
 						}
 					}
@@ -35,14 +35,19 @@ public class JSONConfig{
 		public ConfigBoolean noclipVehicles = new ConfigBoolean(false, "If true, vehicles will not be able to collide with blocks.  This also prevents them from moving if they do not have wheels on them, as otherwise they would phase through the ground into the void.");
 		public ConfigBoolean creativeDamage = new ConfigBoolean(false, "If true, damage from vehicles and guns will be applied to creative players.");
 		public ConfigBoolean chunkloadVehicles = new ConfigBoolean(true, "If true, vehicles will be chunkloaded when on roads/tracks.  This allows them to travel into unloaded chunks.");
+		public ConfigBoolean parallelVehiclePhysics = new ConfigBoolean(false, "If true, vehicle forces will be calculated on multiple threads at the start of every server tick, rather than one vehicle at a time.  Movement and collision are still done one vehicle at a time.  This can help servers with lots of vehicles and CPU cores, but does nothing for clients.");
 		public ConfigDouble speedFactor = new ConfigDouble(0.35D, "Factor to apply to vehicle movement.  1 is the realistic value, but this makes vehicles move too fast for Minecraft. Adjust with caution.");
 		public ConfigDouble fuelUsageFactor = new ConfigDouble(1.0D, "Factor times which engines use fuel.  Change this if you think engines use fuel too fast or slow.");
 		public ConfigDouble engineHoursFactor = new ConfigDouble(1.0D, "Factor times which engines hours accumulate.  Change this if you want to adjust how fast engines wear out.");
 		public ConfigDouble climbSpeed = new ConfigDouble(0.125D, "How far a vehicle will 'climb' blocks every tick when the wheels go into the ground.  Higher values make vehicles climb blocks quicker at the cost of smooth movement.");
 		public ConfigDouble gravityFactor = new ConfigDouble(1.0D, "Factor for gravitational forces applied to vehicles.  Can be adjusted if you think cars are too 'floaty'.  Does not affect aircraft.");
+		public ConfigInteger maxPhysicsSubsteps = new ConfigInteger(1, "Max number of steps vehicle movement will be split into every tick for fast vehicles.  Each step calculates forces and checks collisions, so higher values make fast vehicles, like jets, more stable and less likely to pass through blocks at the cost of extra calculations.  Slow vehicles always use one step.  A value of 1 disables this.");
+		public ConfigDouble physicsSubstepSpeed = new ConfigDouble(1.0D, "Speed, in blocks per tick, vehicles need to go for every extra movement step they use, up to the max number of steps.");
+		public ConfigDouble physicsSubstepRotation = new ConfigDouble(5.0D, "Rotation, in degrees per tick, vehicles need to be rotating for every extra movement step they use, up to the max number of steps.");
 		public ConfigDouble engineSpeedTempFactor = new ConfigDouble(1.0D, "Factor for how RPM affects engine temp.  Higher values will make engines heat up quicker at higher RPMs.");
 		public ConfigDouble engineBiomeTempFactor = new ConfigDouble(1.0D, "Factor for how biome temp affects engine temp.  Higher values will make engines heat up quicker in hotter biomes.");
 		public ConfigItemWeights itemWeights = new ConfigItemWeights();
+		public ConfigBlockFrictions blockFrictions = new ConfigBlockFrictions();
 		
 		public static class ConfigItemWeights{
 			public String comment1 = "The following section is used for calculating item weights.  Any item that contains the text bits will have its weight multiplied by the following factor.";
@@ -61,6 +66,13 @@ public class JSONConfig{
 				return weights;
 			}
 		}
+		
+		public static class ConfigBlockFrictions{
+			public String comment1 = "The following section is used for calculating the friction of blocks under vehicles.  Any block whose name matches an entry will have the following friction loss added to it.";
+			public String comment2 = "Positive values make blocks more slippery, while negative values make them grippier.  For reference, normal blocks have a friction loss of 0, ice has 0.38, and rain adds 0.1.";
+			public String comment3 = "Note that the name must be the block's full registry name, such as minecraft:gravel, NOT the in-game display name.  This is the same name used in the /setblock command.";
+			public Map<String, Double> frictions = new HashMap<String, Double>();
+		}
 	}
 	
 	public static class ConfigDamage{
@@ -19,6 +19,8 @@ public class JSONRoadComponent extends AJSONMultiModelProvider{
     	public float[] laneOffsets;
     	public float borderOffset;
     	public int collisionHeight;
+    	@JSONDescription("Which version of collision blocks to spawn for this dynamic road.  0, the default, samples the road at points along its curve and gives the blocks roads have always had.  1 rasterizes the road's band, which is faster and covers every block the road crosses, so roads are usually a little wider at their edges.")
+    	public int collisionVersion;
     	
     	//Static variables.
     	public List<JSONLaneSector> sectors;
@@ -83,6 +83,12 @@ public class JSONVehicle extends AJSONPartProvider{
     	@JSONDescription("How areodynamic this vehicle is.  Not required, but for things like cars this will make a significant difference in your high-speed performance.  So do some research before you slap some random value in here!  If you don't set this parameter, one will be automatically generated.  Planes and non-planes have a different formula, as planes are more areodynamic than most other vehicles.")
     	public float dragCoefficient;
     	
+    	@JSONDescription("A listing of angles of attack, in degrees, for the dragCoefficients list.  These must be in increasing order, and there must be one coefficient for every angle.")
+    	public List<Float> dragCoefficientAngles;
+    	
+    	@JSONDescription("An optional listing of drag coefficients for this vehicle at the angles of attack in dragCoefficientAngles.  Only used on aircraft.  If set, these will be used instead of dragCoefficient and the automatic drag increase at high angles of attack, so you can use measured data for your aircraft.  Values between angles are interpolated, and values past the first or last angle will be the same as the value at that angle.")
+    	public List<Float> dragCoefficients;
+    	
     	@JSONDescription("The distance from the center of rotation of the model, to the center point of the tail, in the Z-axis, in meters.  This essentially tells MTS where the rudder and elevators are located so it knows where to apply the forces they create.")
     	public float tailDistance;
     	
@@ -92,6 +98,12 @@ public class JSONVehicle extends AJSONPartProvider{
     	@JSONDescription("The surface area of the wings of this vehicle, in square meters.  Make sure not to include the fuselage between the wings as that doesn't generate lift!")
         public float wingArea;
     	
+    	@JSONDescription("A listing of angles of attack, in degrees, for the liftCoefficients list.  These must be in increasing order, and there must be one coefficient for every angle.")
+    	public List<Float> liftCoefficientAngles;
+    	
+    	@JSONDescription("An optional listing of lift coefficients for the wings of this vehicle at the angles of attack in liftCoefficientAngles.  If set, these will be used instead of the default lift curve, which has a max coefficient of 2 at 15 degrees and stalls past that.  Values between angles are interpolated, and values past the first or last angle will be the same as the value at that angle.  Flaps will still increase these values as they deploy.")
+    	public List<Float> liftCoefficients;
+    	
     	@JSONDescription("Similar to wingArea, but for the ailerons.  Units are square meters.")
         public float aileronArea;
     	
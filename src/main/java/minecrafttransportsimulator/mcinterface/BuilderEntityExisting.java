@@ -1,8 +1,11 @@
 package minecrafttransportsimulator.mcinterface;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -70,6 +73,8 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
 	private WrapperAABBCollective interactionBoxes;
 	/**Collective for collision boxes.  These are used by this entity to make things collide with it.**/
 	private WrapperAABBCollective collisionBoxes;
+	/**Entities standing on our collision boxes.  These are moved along with us every tick until they leave.**/
+	private final Set<Entity> standingEntities = new HashSet<Entity>();
 	
 	public BuilderEntityExisting(World world){
 		super(world);
@@ -92,6 +97,7 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
 	    		setPosition(entity.position.x, entity.position.y, entity.position.z);
 	    		rotationYaw = (float) -entity.angles.y;
 	    		rotationPitch = (float) entity.angles.x;
+	    		entity.world.updateLargeBuilderChunks(this);
 	    		
 	    		//If we are outside valid bounds on the server, set us as dead and exit.
 	    		if(!world.isRemote && posY < 0 && world.isOutsideBuildHeight(getPosition())){
@@ -107,14 +113,24 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
 	        		//Only do this after the first tick of the entity, as we might have some states that need updating
 	        		//on that first tick that would cause bad maths.
 	        		//We also do this only every second, as it prevents excess checks.
-	        		interactionBoxes = new WrapperAABBCollective(this, interactable.getInteractionBoxes());
-	        		collisionBoxes = new WrapperAABBCollective(this, interactable.getCollisionBoxes());
+	        		if(interactable instanceof AEntityE_Multipart){
+	        			AEntityE_Multipart<?> multipart = (AEntityE_Multipart<?>) interactable;
+	        			interactionBoxes = new WrapperAABBCollective(this, multipart.interactionBoxHierarchy);
+	        			collisionBoxes = new WrapperAABBCollective(this, multipart.collisionBoxHierarchy);
+	        		}else{
+	        			interactionBoxes = new WrapperAABBCollective(this, interactable.getInteractionBoxes());
+	        			collisionBoxes = new WrapperAABBCollective(this, interactable.getCollisionBoxes());
+	        		}
 	        		if(interactable.ticksExisted > 1 && interactable.ticksExisted%20 == 0){
 	        			if(entity.boundingBox != null){
 	        				setSize((float) entity.boundingBox.widthRadius*2F, (float) entity.boundingBox.heightRadius*2F);
-	        				//Make sure the collision bounds for MC are big enough to collide with this entity.
-		    				if(World.MAX_ENTITY_RADIUS < entity.boundingBox.widthRadius || World.MAX_ENTITY_RADIUS < entity.boundingBox.heightRadius){
-		    					World.MAX_ENTITY_RADIUS = Math.max(entity.boundingBox.widthRadius, entity.boundingBox.heightRadius);
+	        				//Make sure our queries can find this entity if it's too big for MC to find.
+	        				//We don't increase MC's max radius on servers, as that makes all entity queries slower.
+	        				//Clients still need it though, as MC's mouse-over checks won't use our queries.
+	        				double radius = Math.max(entity.boundingBox.widthRadius, entity.boundingBox.heightRadius);
+	        				entity.world.updateEntityRadius(this, radius);
+		    				if(world.isRemote && World.MAX_ENTITY_RADIUS < radius){
+		    					World.MAX_ENTITY_RADIUS = radius;
 		    				}
 	        			}
 	        		}
@@ -132,43 +148,60 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
 	    	    		}
 	        		}
 	        		
-	        		//Move all entities that are touching this entity.
+	        		//Find entities that have landed on our collision boxes, and register them as standing on us.
+	        		//We only check entities in the area around our collision boxes, not every entity in the world.
 	        		if(!collisionBoxes.boxes.isEmpty()){
-		        		for(Entity mcEntity : world.loadedEntityList){
-		        			//Don't try and move builders, entities riding others, or spectator players.  That's excess collision checks.
-		        			if(!(mcEntity instanceof ABuilderEntityBase) && mcEntity.getRidingEntity() == null && (mcEntity instanceof EntityPlayer ? !((EntityPlayer) mcEntity).isSpectator() : true)){
-		        				//Check each box individually.  Need to do this to know which delta to apply.
-		        				for(BoundingBox box : collisionBoxes.boxes){
-			        				if(mcEntity.getEntityBoundingBox().intersects(box.convert().expand(0, 0.25, 0))){
-			        					AxisAlignedBB entityBox = mcEntity.getEntityBoundingBox();
-										//If the entity is within 0.5 units of the top of the box, we can move them.
-										//If not, they are just colliding and not on top of the entity and we should leave them be.
-										double entityBottomDelta = box.globalCenter.y + box.heightRadius - entityBox.minY;
-										if(entityBottomDelta >= -0.5 && entityBottomDelta <= 0.5 && (mcEntity.motionY < 0 || mcEntity.motionY < entityBottomDelta)){
-											//Get how much the entity moved the collision box the entity collided with so we know how much to move the entity.
-											//This lets entities "move along" with entities when touching a collision box.
-											Point3d linearMovement = entity.position.copy().subtract(entity.prevPosition);
-											Point3d angularMovement = entity.angles.copy().subtract(entity.prevAngles);
-											Point3d entityDeltaOffset = new Point3d(mcEntity.posX - entity.prevPosition.x, mcEntity.posY - entity.prevPosition.y, mcEntity.posZ - entity.prevPosition.z);
-											Point3d vehicleBoxMovement = entityDeltaOffset.copy().rotateFine(angularMovement).subtract(entityDeltaOffset).add(linearMovement);
-											
-											//Apply motions to move entity, and add them to the moved entity list.
-											mcEntity.move(MoverType.SELF, vehicleBoxMovement.x, vehicleBoxMovement.y + entityBottomDelta, vehicleBoxMovement.z);
-											mcEntity.rotationYaw += -angularMovement.y;
-											if(mcEntity instanceof EntityLivingBase){
-												((EntityLivingBase) mcEntity).renderYawOffset += -angularMovement.y; 
-											}
-											
-											//Set entity as on ground to allow them to jump on the collision box.
-											//Also set fallDistance to 0 to prevent damage.
-											mcEntity.onGround = true;
-											mcEntity.fallDistance = 0;
-											break;
-										}
-			        				}
-		        				}
-		        			}
-		        		}
+	        			double minX = Double.MAX_VALUE;
+	        			double minY = Double.MAX_VALUE;
+	        			double minZ = Double.MAX_VALUE;
+	        			double maxX = -Double.MAX_VALUE;
+	        			double maxY = -Double.MAX_VALUE;
+	        			double maxZ = -Double.MAX_VALUE;
+	        			for(BoundingBox box : collisionBoxes.boxes){
+	        				minX = Math.min(minX, box.globalCenter.x - box.widthRadius);
+	        				minY = Math.min(minY, box.globalCenter.y - box.heightRadius);
+	        				minZ = Math.min(minZ, box.globalCenter.z - box.depthRadius);
+	        				maxX = Math.max(maxX, box.globalCenter.x + box.widthRadius);
+	        				maxY = Math.max(maxY, box.globalCenter.y + box.heightRadius);
+	        				maxZ = Math.max(maxZ, box.globalCenter.z + box.depthRadius);
+	        			}
+	        			for(Entity mcEntity : world.getEntitiesWithinAABBExcludingEntity(this, new AxisAlignedBB(minX, minY - 0.25, minZ, maxX, maxY + 0.25, maxZ))){
+	        				if(!standingEntities.contains(mcEntity) && canStandOn(mcEntity) && getBoxStoodOn(mcEntity) != null){
+	        					standingEntities.add(mcEntity);
+	        				}
+	        			}
+	        		}
+	        		
+	        		//Move all entities that are standing on this entity.
+	        		//If they aren't standing on us anymore, they get removed.
+	        		Iterator<Entity> standingIterator = standingEntities.iterator();
+	        		while(standingIterator.hasNext()){
+	        			Entity mcEntity = standingIterator.next();
+	        			BoundingBox box = mcEntity.isDead || mcEntity.world != world || !canStandOn(mcEntity) ? null : getBoxStoodOn(mcEntity);
+	        			if(box == null){
+	        				standingIterator.remove();
+	        			}else{
+	        				double entityBottomDelta = box.globalCenter.y + box.heightRadius - mcEntity.getEntityBoundingBox().minY;
+	        				
+	        				//Get how much the entity moved the collision box the entity collided with so we know how much to move the entity.
+	        				//This lets entities "move along" with entities when touching a collision box.
+	        				Point3d linearMovement = entity.position.copy().subtract(entity.prevPosition);
+	        				Point3d angularMovement = entity.angles.copy().subtract(entity.prevAngles);
+	        				Point3d entityDeltaOffset = new Point3d(mcEntity.posX - entity.prevPosition.x, mcEntity.posY - entity.prevPosition.y, mcEntity.posZ - entity.prevPosition.z);
+	        				Point3d vehicleBoxMovement = entityDeltaOffset.copy().rotateFine(angularMovement).subtract(entityDeltaOffset).add(linearMovement);
+	        				
+	        				//Apply motions to move entity, and add them to the moved entity list.
+	        				mcEntity.move(MoverType.SELF, vehicleBoxMovement.x, vehicleBoxMovement.y + entityBottomDelta, vehicleBoxMovement.z);
+	        				mcEntity.rotationYaw += -angularMovement.y;
+	        				if(mcEntity instanceof EntityLivingBase){
+	        					((EntityLivingBase) mcEntity).renderYawOffset += -angularMovement.y; 
+	        				}
+	        				
+	        				//Set entity as on ground to allow them to jump on the collision box.
+	        				//Also set fallDistance to 0 to prevent damage.
+	        				mcEntity.onGround = true;
+	        				mcEntity.fallDistance = 0;
+	        			}
 	        		}
 	    		}
 	    		
@@ -203,6 +236,32 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
     	}
     }
     
+	/**
+	 *  Returns true if the passed-in entity can stand on this entity.
+	 *  We don't move builders, entities riding others, or spectator players.  That's excess collision checks.
+	 */
+	private static boolean canStandOn(Entity mcEntity){
+		return !(mcEntity instanceof ABuilderEntityBase) && mcEntity.getRidingEntity() == null && (mcEntity instanceof EntityPlayer ? !((EntityPlayer) mcEntity).isSpectator() : true);
+	}
+	
+	/**
+	 *  Returns the collision box the passed-in entity is standing on, or null if it isn't standing on any.
+	 *  Entities are standing on a box if they are touching it and are within 0.5 units of its top.
+	 *  If not, they are just colliding and not on top of the entity and we should leave them be.
+	 */
+	private BoundingBox getBoxStoodOn(Entity mcEntity){
+		AxisAlignedBB entityBox = mcEntity.getEntityBoundingBox();
+		for(BoundingBox box : collisionBoxes.getBoxesNear(entityBox.minX, entityBox.minY - 0.25, entityBox.minZ, entityBox.maxX, entityBox.maxY + 0.25, entityBox.maxZ, new ArrayList<BoundingBox>())){
+			if(entityBox.intersects(box.convert().expand(0, 0.25, 0))){
+				double entityBottomDelta = box.globalCenter.y + box.heightRadius - entityBox.minY;
+				if(entityBottomDelta >= -0.5 && entityBottomDelta <= 0.5 && (mcEntity.motionY < 0 || mcEntity.motionY < entityBottomDelta)){
+					return box;
+				}
+			}
+		}
+		return null;
+	}
+	
 	@Override
 	public void setDead(){
 		super.setDead();
@@ -216,6 +275,7 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
 		
 		//Notify internal entity of it being invalid.
 		if(entity != null){
+			entity.world.removeLargeBuilder(this);
 			entity.remove();
 		}
 	}
@@ -242,7 +302,7 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
 				//it's a player firing a gun that had a bullet, or a random TNT lighting in the world.
 				//Explosions, unlike other damage sources, can hit multiple collision boxes on an entity at once.
 				BoundingBox explosiveBounds = new BoundingBox(lastExplosionPosition, amount, amount, amount);
-				for(BoundingBox box : interactionBoxes.boxes){
+				for(BoundingBox box : interactionBoxes.getBoxesNear(lastExplosionPosition.x - amount, lastExplosionPosition.y - amount, lastExplosionPosition.z - amount, lastExplosionPosition.x + amount, lastExplosionPosition.y + amount, lastExplosionPosition.z + amount, new ArrayList<BoundingBox>())){
 					if(box.intersects(explosiveBounds)){
 						interactable.attack(new Damage(source.damageType, amount, box, null, playerSource).setExplosive());
 					}
@@ -252,7 +312,7 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
 				Damage damage = null;
 				//Check the damage at the current position of the attacker.
 				Point3d attackerPosition = new Point3d(attacker.posX, attacker.posY, attacker.posZ);
-				for(BoundingBox box : interactionBoxes.boxes){
+				for(BoundingBox box : interactionBoxes.getBoxesNear(attackerPosition.x, attackerPosition.y, attackerPosition.z, attackerPosition.x, attackerPosition.y, attackerPosition.z, new ArrayList<BoundingBox>())){
 					if(box.isPointInside(attackerPosition)){
 						damage = new Damage(source.damageType, amount, box, null, playerSource);
 						break;
@@ -0,0 +1,332 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.systems.ConfigSystem;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**Cache of the collision shapes of blocks in a world.  Vehicles sit on, and drive through, the
+ * same blocks tick after tick, so rather than query the block states and collision boxes of
+ * every block a vehicle box overlaps every tick, we store the shapes in chunk sections and
+ * only re-query them when the blocks change.  Shapes are stored relative to the block's
+ * origin, so they can be offset to any block position without creating new objects.
+ * <br><br>
+ * Shapes are lazily created the first time they are requested, and are removed when the
+ * block, or a neighbor of the block, is changed.  Neighbors are removed as blocks like fences
+ * and stairs change shape depending on the blocks around them.  Blocks with tile entities are
+ * never cached, as their shapes may change with the tile entity's data rather than the block state.
+ * All sections for a chunk are removed when it unloads.
+ * <br><br>
+ * The friction loss of blocks is cached the same way, as every ground device on every vehicle
+ * checks the friction of the block under it every tick.  This is stored separately from the shapes,
+ * as blocks with the same shape, like stone and ice, can have very different friction.
+ * <br><br>
+ * Liquid blocks also cache the height of the surface of the liquid they are in.  Floating vehicles
+ * have boxes that sit in the same body of water every tick, so this lets collisions find how deep
+ * a box is in the liquid with one lookup per column rather than checking every liquid block.  As
+ * the surface depends on all the blocks above a block, changing a block removes the surface
+ * heights for all blocks below it in its column, not just the blocks next to it.
+ *
+ * @author don_bruce
+ */
+public class CollisionShapeCache{
+	/**Shape for air and any other non-colliding, non-liquid block.**/
+	public static final BlockShape EMPTY = new BlockShape(true, false, new double[0], null);
+	/**Shape for non-air blocks that can be walked through, like grass.**/
+	public static final BlockShape PASSABLE = new BlockShape(false, false, EMPTY.collisionBounds, null);
+	/**Shape for a normal, full-cube block.**/
+	public static final BlockShape FULL_CUBE = new BlockShape(false, false, new double[]{0, 0, 0, 1, 1, 1}, null);
+	/**Mask that intersects with every box.  Used to get all boxes for a block, rather than just ones in a range.**/
+	private static final AxisAlignedBB ALL_BLOCKS_MASK = new AxisAlignedBB(-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE);
+
+	private final World world;
+	private final Map<Long, BlockShape[]> sections = new HashMap<Long, BlockShape[]>();
+	private final Map<Long, float[]> frictionSections = new HashMap<Long, float[]>();
+	private final Map<Long, float[]> liquidSurfaceSections = new HashMap<Long, float[]>();
+	private final List<AxisAlignedBB> blockAABBs = new ArrayList<AxisAlignedBB>();
+
+	public CollisionShapeCache(World world){
+		this.world = world;
+	}
+
+	/**
+	 *  Returns the shape of the block at the passed-in position.  The position MUST be loaded,
+	 *  as this method will not check for that and will happily ask MC to load the chunk.
+	 */
+	public BlockShape getShape(BlockPos pos){
+		BlockShape[] section = sections.get(getSectionKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4));
+		int index = getIndex(pos.getX(), pos.getY(), pos.getZ());
+		if(section != null && section[index] != null){
+			return section[index];
+		}
+
+		IBlockState state = world.getBlockState(pos);
+		BlockShape shape = createShape(state, pos);
+		if(!state.getBlock().hasTileEntity(state)){
+			if(section == null){
+				section = new BlockShape[4096];
+				sections.put(getSectionKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4), section);
+			}
+			section[index] = shape;
+		}
+		return shape;
+	}
+
+	/**
+	 *  Returns the friction loss of the block at the passed-in position.  This is how much less grip
+	 *  there is on the block than on a normal block, based on the block's slipperiness and the friction
+	 *  set for it in the config.  Like {@link #getShape(BlockPos)}, the position MUST be loaded.
+	 */
+	public float getFrictionLoss(BlockPos pos){
+		long key = getSectionKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4);
+		float[] section = frictionSections.get(key);
+		int index = getIndex(pos.getX(), pos.getY(), pos.getZ());
+		if(section != null && !Float.isNaN(section[index])){
+			return section[index];
+		}
+		
+		IBlockState state = world.getBlockState(pos);
+		float frictionLoss = 0.6F - state.getBlock().getSlipperiness(state, world, pos, null);
+		Double configFriction = ConfigSystem.configObject.general.blockFrictions.frictions.get(state.getBlock().getRegistryName().toString());
+		if(configFriction != null){
+			frictionLoss += configFriction;
+		}
+		if(!state.getBlock().hasTileEntity(state)){
+			if(section == null){
+				section = new float[4096];
+				Arrays.fill(section, Float.NaN);
+				frictionSections.put(key, section);
+			}
+			section[index] = frictionLoss;
+		}
+		return frictionLoss;
+	}
+	
+	/**
+	 *  Returns the Y-coordinate of the surface of the liquid the block at the passed-in position is in.
+	 *  This is the top of the highest liquid block in the unbroken run of liquid blocks above the position.
+	 *  The block at the position MUST be a liquid, and like {@link #getShape(BlockPos)}, it MUST be loaded.
+	 */
+	public float getLiquidSurfaceHeight(BlockPos pos){
+		long key = getSectionKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4);
+		float[] section = liquidSurfaceSections.get(key);
+		int index = getIndex(pos.getX(), pos.getY(), pos.getZ());
+		if(section != null && !Float.isNaN(section[index])){
+			return section[index];
+		}
+		
+		//Go up until we find the top liquid block.  Blocks above are in the same chunk, so are also loaded.
+		BlockPos.MutableBlockPos surfacePos = new BlockPos.MutableBlockPos(pos);
+		BlockShape surfaceShape = getShape(surfacePos);
+		while(surfacePos.getY() + 1 < world.getHeight()){
+			surfacePos.setY(surfacePos.getY() + 1);
+			BlockShape shape = getShape(surfacePos);
+			if(shape.isLiquid){
+				surfaceShape = shape;
+			}else{
+				surfacePos.setY(surfacePos.getY() - 1);
+				break;
+			}
+		}
+		float surfaceHeight = (float) (surfacePos.getY() + surfaceShape.liquidBounds[4]);
+		
+		//All blocks we went through share the same surface, so set them all while we have it.
+		for(int j=pos.getY(); j<=surfacePos.getY(); ++j){
+			key = getSectionKey(pos.getX() >> 4, j >> 4, pos.getZ() >> 4);
+			section = liquidSurfaceSections.get(key);
+			if(section == null){
+				section = new float[4096];
+				Arrays.fill(section, Float.NaN);
+				liquidSurfaceSections.put(key, section);
+			}
+			section[getIndex(pos.getX(), j, pos.getZ())] = surfaceHeight;
+		}
+		return surfaceHeight;
+	}
+	
+	/**
+	 *  Removes the shapes for the block at the passed-in position, and all blocks around it.
+	 *  Should be called whenever a block changes.
+	 */
+	public void invalidateBlock(int x, int y, int z){
+		invalidateRange(x - 1, y - 1, z - 1, x + 1, y + 1, z + 1);
+	}
+
+	/**
+	 *  Removes all shapes, and friction losses, in the passed-in range, inclusive.
+	 *  Liquid surface heights are removed for all blocks in the range and below it.
+	 */
+	public void invalidateRange(int minX, int minY, int minZ, int maxX, int maxY, int maxZ){
+		if(!liquidSurfaceSections.isEmpty()){
+			for(int sectionX=minX >> 4; sectionX<=maxX >> 4; ++sectionX){
+				for(int sectionY=0; sectionY<=maxY >> 4; ++sectionY){
+					for(int sectionZ=minZ >> 4; sectionZ<=maxZ >> 4; ++sectionZ){
+						float[] section = liquidSurfaceSections.get(getSectionKey(sectionX, sectionY, sectionZ));
+						if(section != null){
+							for(int i=Math.max(minX, sectionX << 4); i<=Math.min(maxX, (sectionX << 4) + 15); ++i){
+								for(int j=sectionY << 4; j<=Math.min(maxY, (sectionY << 4) + 15); ++j){
+									for(int k=Math.max(minZ, sectionZ << 4); k<=Math.min(maxZ, (sectionZ << 4) + 15); ++k){
+										section[getIndex(i, j, k)] = Float.NaN;
+									}
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+		if(!frictionSections.isEmpty()){
+			for(int sectionX=minX >> 4; sectionX<=maxX >> 4; ++sectionX){
+				for(int sectionY=minY >> 4; sectionY<=maxY >> 4; ++sectionY){
+					for(int sectionZ=minZ >> 4; sectionZ<=maxZ >> 4; ++sectionZ){
+						float[] section = frictionSections.get(getSectionKey(sectionX, sectionY, sectionZ));
+						if(section != null){
+							for(int i=Math.max(minX, sectionX << 4); i<=Math.min(maxX, (sectionX << 4) + 15); ++i){
+								for(int j=Math.max(minY, sectionY << 4); j<=Math.min(maxY, (sectionY << 4) + 15); ++j){
+									for(int k=Math.max(minZ, sectionZ << 4); k<=Math.min(maxZ, (sectionZ << 4) + 15); ++k){
+										section[getIndex(i, j, k)] = Float.NaN;
+									}
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+		if(!sections.isEmpty()){
+			//Go section by section, so we only do one lookup for each section in the range.
+			for(int sectionX=minX >> 4; sectionX<=maxX >> 4; ++sectionX){
+				for(int sectionY=minY >> 4; sectionY<=maxY >> 4; ++sectionY){
+					for(int sectionZ=minZ >> 4; sectionZ<=maxZ >> 4; ++sectionZ){
+						BlockShape[] section = sections.get(getSectionKey(sectionX, sectionY, sectionZ));
+						if(section != null){
+							for(int i=Math.max(minX, sectionX << 4); i<=Math.min(maxX, (sectionX << 4) + 15); ++i){
+								for(int j=Math.max(minY, sectionY << 4); j<=Math.min(maxY, (sectionY << 4) + 15); ++j){
+									for(int k=Math.max(minZ, sectionZ << 4); k<=Math.min(maxZ, (sectionZ << 4) + 15); ++k){
+										section[getIndex(i, j, k)] = null;
+									}
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 *  Removes all sections for the chunk at the passed-in chunk coordinates.
+	 */
+	public void invalidateChunk(int chunkX, int chunkZ){
+		Iterator<Long> iterator = sections.keySet().iterator();
+		while(iterator.hasNext()){
+			long key = iterator.next();
+			if(getSectionX(key) == chunkX && getSectionZ(key) == chunkZ){
+				iterator.remove();
+			}
+		}
+		iterator = frictionSections.keySet().iterator();
+		while(iterator.hasNext()){
+			long key = iterator.next();
+			if(getSectionX(key) == chunkX && getSectionZ(key) == chunkZ){
+				iterator.remove();
+			}
+		}
+		iterator = liquidSurfaceSections.keySet().iterator();
+		while(iterator.hasNext()){
+			long key = iterator.next();
+			if(getSectionX(key) == chunkX && getSectionZ(key) == chunkZ){
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 *  Creates a new shape for the passed-in state.  If the shape is one of the common
+	 *  shapes, that shape is returned instead of a new one.
+	 */
+	private BlockShape createShape(IBlockState state, BlockPos pos){
+		Block block = state.getBlock();
+		boolean isAir = block.isAir(state, world, pos);
+		double[] collisionBounds;
+		if(block.canCollideCheck(state, false) && state.getCollisionBoundingBox(world, pos) != null){
+			blockAABBs.clear();
+			state.addCollisionBoxToList(world, pos, ALL_BLOCKS_MASK, blockAABBs, null, false);
+			collisionBounds = new double[blockAABBs.size()*6];
+			for(int i=0; i<blockAABBs.size(); ++i){
+				AxisAlignedBB colBox = blockAABBs.get(i);
+				collisionBounds[i*6] = colBox.minX - pos.getX();
+				collisionBounds[i*6 + 1] = colBox.minY - pos.getY();
+				collisionBounds[i*6 + 2] = colBox.minZ - pos.getZ();
+				collisionBounds[i*6 + 3] = colBox.maxX - pos.getX();
+				collisionBounds[i*6 + 4] = colBox.maxY - pos.getY();
+				collisionBounds[i*6 + 5] = colBox.maxZ - pos.getZ();
+			}
+		}else{
+			collisionBounds = EMPTY.collisionBounds;
+		}
+
+		double[] liquidBounds = null;
+		if(state.getMaterial().isLiquid()){
+			AxisAlignedBB liquidBox = state.getBoundingBox(world, pos);
+			liquidBounds = new double[]{liquidBox.minX, liquidBox.minY, liquidBox.minZ, liquidBox.maxX, liquidBox.maxY, liquidBox.maxZ};
+		}
+
+		if(liquidBounds == null){
+			if(collisionBounds.length == 0){
+				return isAir ? EMPTY : PASSABLE;
+			}else if(!isAir && collisionBounds.length == 6 && collisionBounds[0] == 0 && collisionBounds[1] == 0 && collisionBounds[2] == 0 && collisionBounds[3] == 1 && collisionBounds[4] == 1 && collisionBounds[5] == 1){
+				return FULL_CUBE;
+			}
+		}
+		return new BlockShape(isAir, liquidBounds != null, collisionBounds, liquidBounds);
+	}
+
+	/**
+	 *  Returns the key for the passed-in section.  Also used by {@link WrapperWorld} to group changed blocks by section.
+	 */
+	static long getSectionKey(int sectionX, int sectionY, int sectionZ){
+		return ((sectionX & 0x3FFFFFL) << 42) | ((sectionZ & 0x3FFFFFL) << 20) | (sectionY & 0xFFFFFL);
+	}
+
+	private static int getSectionX(long key){
+		return (int) (key >> 42);
+	}
+
+	private static int getSectionZ(long key){
+		return (int) (key << 22 >> 42);
+	}
+
+	private static int getIndex(int x, int y, int z){
+		return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+	}
+
+	/**Collision shape of a single block.  All bounds are relative to the block's origin.
+	 * Collision bounds are stored as sets of 6 values in minX, minY, minZ, maxX, maxY, maxZ order,
+	 * one set for each box the block has.
+	 *
+	 * @author don_bruce
+	 */
+	public static class BlockShape{
+		public final boolean isAir;
+		public final boolean isLiquid;
+		public final double[] collisionBounds;
+		public final double[] liquidBounds;
+
+		BlockShape(boolean isAir, boolean isLiquid, double[] collisionBounds, double[] liquidBounds){
+			this.isAir = isAir;
+			this.isLiquid = isLiquid;
+			this.collisionBounds = collisionBounds;
+			this.liquidBounds = liquidBounds;
+		}
+	}
+}
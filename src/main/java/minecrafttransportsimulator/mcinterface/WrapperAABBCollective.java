@@ -1,10 +1,13 @@
 package minecrafttransportsimulator.mcinterface;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import javax.annotation.Nullable;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.BoundingBoxHierarchy;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.AxisAlignedBB;
@@ -21,8 +24,20 @@ import net.minecraft.util.math.Vec3d;
 public class WrapperAABBCollective extends AxisAlignedBB{
 	public final Collection<BoundingBox> boxes;
 	public BoundingBox lastBoxRayTraced;
+	private final BoundingBoxHierarchy hierarchy;
 	
 	public WrapperAABBCollective(BuilderEntityExisting entity, Collection<BoundingBox> boxes){
+		this(entity, boxes, null);
+	}
+	
+	/**
+	 *  Like the normal constructor, but uses the passed-in hierarchy to find boxes rather than checking them all.
+	 */
+	public WrapperAABBCollective(BuilderEntityExisting entity, BoundingBoxHierarchy hierarchy){
+		this(entity, hierarchy.getBoxes(), hierarchy);
+	}
+	
+	private WrapperAABBCollective(BuilderEntityExisting entity, Collection<BoundingBox> boxes, BoundingBoxHierarchy hierarchy){
 		super(	entity.posX - entity.width/2D,
 				entity.posY - entity.height/2D,
 				entity.posZ - entity.width/2D,
@@ -31,6 +46,30 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 				entity.posZ + entity.width/2D
 			);
 		this.boxes = boxes;
+		this.hierarchy = hierarchy;
+	}
+	
+	/**
+	 *  Returns the boxes that may touch the passed-in bounds.  If we have a hierarchy, this is only the boxes it finds,
+	 *  which are added to the passed-in list and that list is returned.  Otherwise, it's all boxes and the list is
+	 *  left alone.  The list is owned by the caller, so queries made while iterating another query's results are safe.
+	 *  Callers still need to check the boxes returned.
+	 */
+	public Collection<BoundingBox> getBoxesNear(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, List<BoundingBox> nearbyBoxes){
+		if(hierarchy != null){
+			hierarchy.getBoxesInBounds(minX, minY, minZ, maxX, maxY, maxZ, nearbyBoxes);
+			return nearbyBoxes;
+		}else{
+			return boxes;
+		}
+	}
+	
+	/**
+	 *  Helper method to get a list for {@link #getBoxesNear(double, double, double, double, double, double, List)}.
+	 *  Only needed if we have a hierarchy, as otherwise the box collection is returned directly.
+	 */
+	private List<BoundingBox> createNearbyList(){
+		return hierarchy != null ? new ArrayList<BoundingBox>() : null;
 	}
 	
 	@Override
@@ -40,7 +79,7 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 	
 	@Override
 	public double calculateXOffset(AxisAlignedBB box, double offset){
-		for(BoundingBox testBox : boxes){
+		for(BoundingBox testBox : getBoxesNear(box.minX + Math.min(offset, 0), box.minY, box.minZ, box.maxX + Math.max(offset, 0), box.maxY, box.maxZ, createNearbyList())){
 			if(box.maxY > testBox.globalCenter.y - testBox.heightRadius && box.minY < testBox.globalCenter.y + testBox.heightRadius && box.maxZ > testBox.globalCenter.z - testBox.depthRadius && box.minZ < testBox.globalCenter.z + testBox.depthRadius){
 				if(offset > 0.0D){
 					//Positive offset, box.maxX <= this.minX.
@@ -62,7 +101,7 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 	
 	@Override
 	public double calculateYOffset(AxisAlignedBB box, double offset){
-		for(BoundingBox testBox : boxes){
+		for(BoundingBox testBox : getBoxesNear(box.minX, box.minY + Math.min(offset, 0), box.minZ, box.maxX, box.maxY + Math.max(offset, 0), box.maxZ, createNearbyList())){
 			if(box.maxX > testBox.globalCenter.x - testBox.widthRadius && box.minX < testBox.globalCenter.x + testBox.widthRadius && box.maxZ > testBox.globalCenter.z - testBox.depthRadius && box.minZ < testBox.globalCenter.z + testBox.depthRadius){
 				if(offset > 0.0D){
 					//Positive offset, box.maxX <= this.minX.
@@ -84,7 +123,7 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 	
 	@Override
 	public double calculateZOffset(AxisAlignedBB box, double offset){
-		for(BoundingBox testBox : boxes){
+		for(BoundingBox testBox : getBoxesNear(box.minX, box.minY, box.minZ + Math.min(offset, 0), box.maxX, box.maxY, box.maxZ + Math.max(offset, 0), createNearbyList())){
 			if(box.maxX > testBox.globalCenter.x - testBox.widthRadius && box.minX < testBox.globalCenter.x + testBox.widthRadius && box.maxY > testBox.globalCenter.y - testBox.heightRadius && box.minY < testBox.globalCenter.y + testBox.heightRadius){
 				if(offset > 0.0D){
 					//Positive offset, box.maxX <= this.minX.
@@ -106,7 +145,7 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 	
 	@Override
     public boolean intersects(double otherMinX, double otherMinY, double otherMinZ, double otherMaxX, double otherMaxY, double otherMaxZ){
-		for(BoundingBox testBox : boxes){
+		for(BoundingBox testBox : getBoxesNear(otherMinX, otherMinY, otherMinZ, otherMaxX, otherMaxY, otherMaxZ, createNearbyList())){
 				if(
 					otherMaxX > testBox.globalCenter.x - testBox.widthRadius && 
 					otherMinX < testBox.globalCenter.x + testBox.widthRadius && 
@@ -135,7 +174,13 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 		Point3d end = new Point3d(vecB.x, vecB.y, vecB.z);
 		Point3d intersection = null;
 		EnumFacing sideHit = null;
-		for(BoundingBox testBox : boxes){
+		Collection<BoundingBox> testBoxes = boxes;
+		if(hierarchy != null){
+			List<BoundingBox> nearbyBoxes = new ArrayList<BoundingBox>();
+			hierarchy.getBoxesOnPath(start, end, nearbyBoxes);
+			testBoxes = nearbyBoxes;
+		}
+		for(BoundingBox testBox : testBoxes){
 			Point3d testIntersection = testBox.getIntersectionPoint(start, end);
 			if(testIntersection != null){
 				if(intersection == null || testIntersection.distanceTo(start) < intersection.distanceTo(start)){
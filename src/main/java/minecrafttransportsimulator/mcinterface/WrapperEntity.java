@@ -125,10 +125,10 @@ public class WrapperEntity{
 	public void setRiding(AEntityD_Interactable<?> entityToRide){
 		if(entityToRide != null){
 			//Get the builder for this entity and set the player to riding it.
-			AxisAlignedBB searchBounds = new AxisAlignedBB(new BlockPos(entityToRide.position.x, entityToRide.position.y, entityToRide.position.z)).grow(World.MAX_ENTITY_RADIUS);
-			for(BuilderEntityExisting builder : getWorld().world.getEntitiesWithinAABB(BuilderEntityExisting.class, searchBounds)){
-				if(entityToRide.equals(builder.entity)){
-					entity.startRiding(builder, true);
+			AxisAlignedBB searchBounds = new AxisAlignedBB(new BlockPos(entityToRide.position.x, entityToRide.position.y, entityToRide.position.z)).grow(Math.max(World.MAX_ENTITY_RADIUS, Math.max(entityToRide.boundingBox.widthRadius, entityToRide.boundingBox.heightRadius)));
+			for(Entity mcEntity : getWorld().getEntitiesWithin(searchBounds, null)){
+				if(mcEntity instanceof BuilderEntityExisting && entityToRide.equals(((BuilderEntityExisting) mcEntity).entity)){
+					entity.startRiding(mcEntity, true);
 					return;
 				}
 			}
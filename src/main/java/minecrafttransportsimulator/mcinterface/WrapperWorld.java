@@ -2,14 +2,19 @@ package minecrafttransportsimulator.mcinterface;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.TreeMap;
 
 import minecrafttransportsimulator.MasterLoader;
+import minecrafttransportsimulator.baseclasses.BezierCurve;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
@@ -29,6 +34,7 @@ import minecrafttransportsimulator.items.components.AItemBase;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.items.components.AItemSubTyped;
 import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
+import minecrafttransportsimulator.mcinterface.CollisionShapeCache.BlockShape;
 import minecrafttransportsimulator.packets.components.InterfacePacket;
 import minecrafttransportsimulator.packets.instances.PacketWorldSavedDataCSHandshake;
 import minecrafttransportsimulator.systems.ConfigSystem;
@@ -59,15 +65,20 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.NonNullList;
 import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.IWorldEventListener;
 import net.minecraft.world.World;
 import net.minecraft.world.storage.WorldSavedData;
 import net.minecraftforge.common.IPlantable;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.GetCollisionBoxesEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -85,18 +96,46 @@ import net.minecraftforge.fml.common.gameevent.TickEvent;
 public class WrapperWorld{
 	private static final Map<World, WrapperWorld> worldWrappers = new HashMap<World, WrapperWorld>();
 	private static final Map<EntityPlayer, Integer> ticksSincePlayerJoin = new HashMap<EntityPlayer, Integer>();
+	private static final ThreadLocal<BlockPos.MutableBlockPos> mutablePos = ThreadLocal.withInitial(BlockPos.MutableBlockPos::new);
+	/**Scratch sets for large builder queries.  Identity-based, as we only care if we have seen the exact object.**/
+	private static final ThreadLocal<Set<BuilderEntityExisting>> largeBuilderScratch = ThreadLocal.withInitial(() -> Collections.newSetFromMap(new IdentityHashMap<BuilderEntityExisting, Boolean>()));
+	private static final ThreadLocal<Set<AxisAlignedBB>> largeBuilderBoxScratch = ThreadLocal.withInitial(() -> Collections.newSetFromMap(new IdentityHashMap<AxisAlignedBB, Boolean>()));
 	
 	public final World world;
+	private final CollisionShapeCache collisionCache;
+	/**Blocks that changed this tick and last tick, grouped by the 16x16x16 section they are in.**/
+	private final Map<Long, List<BlockPos>> changedBlocks = new HashMap<Long, List<BlockPos>>();
+	private final Map<Long, List<BlockPos>> lastChangedBlocks = new HashMap<Long, List<BlockPos>>();
+	private long changedBlocksTime;
+	private float rainStrength;
+	private long rainStrengthTime = -1;
+	/**Builders too large for MC to find with its max entity radius, and the range of chunks their bounds were in at their last update.**/
+	private final Map<BuilderEntityExisting, int[]> largeBuilders = new HashMap<BuilderEntityExisting, int[]>();
+	/**Large builders keyed by the chunks their bounds are in.  We check these ourselves in entity queries, but only for the chunks the query is in.**/
+	private final Map<Long, Set<BuilderEntityExisting>> largeBuilderChunks = new HashMap<Long, Set<BuilderEntityExisting>>();
 	public InterfaceWorldSavedData savedDataAccessor;
 	public static final String STORED_WORLD_DATA_ID = MasterLoader.MODID + "_WORLD_DATA";
 
 	private WrapperWorld(World world){
 		this.world = world;
+		this.collisionCache = new CollisionShapeCache(world);
+		world.addEventListener(new WorldBlockListener());
 		if(world.isRemote){
 			InterfacePacket.sendToServer(new PacketWorldSavedDataCSHandshake(InterfaceClient.getClientPlayer(), (WrapperNBT)null));
 		}
 	}
 	
+	/**
+	 *  Creates a wrapper that isn't backed by a MC world, such as the headless worlds used to test
+	 *  vehicle physics.  Sub-classes MUST override every method that gets called on them, as the
+	 *  methods in this class all query the MC world.  Wrappers made this way aren't cached or sent
+	 *  any world events, so they only exist for as long as whatever made them keeps them.
+	 */
+	protected WrapperWorld(){
+		this.world = null;
+		this.collisionCache = null;
+	}
+	
 	/**
 	 *  Returns a wrapper instance for the passed-in world instance.
 	 *  Wrapper is cached to avoid re-creating the wrapper each time it is requested.
@@ -205,12 +244,134 @@ public class WrapperWorld{
 		return null;
 	}
 	
+	/**
+	 *  Sets the radius of the passed-in builder.  If this is larger than MC's max entity radius,
+	 *  the builder is added to the large builder list so it can be found in entity queries.
+	 *  This is done rather than increasing the max radius, as that would make MC search more
+	 *  chunks for every entity query in the world, not just ones for our builders.
+	 *  <br><br>
+	 *  Explosions still find large builders this way, as MC only damages entities whose center is in
+	 *  the explosion's range, and it always searches the chunks in that range.  Projectiles are a known gap:
+	 *  MC searches for what they hit with its own query, so on servers they can miss large builders
+	 *  whose center is too far from the projectile.
+	 */
+	public void updateEntityRadius(BuilderEntityExisting builder, double radius){
+		if(radius > World.MAX_ENTITY_RADIUS){
+			if(!largeBuilders.containsKey(builder)){
+				largeBuilders.put(builder, null);
+				updateLargeBuilderChunks(builder);
+			}
+		}else{
+			removeLargeBuilder(builder);
+		}
+	}
+	
+	/**
+	 *  Updates the chunks the passed-in builder is listed in if it is a large builder.
+	 *  Should be called every time the builder moves, so queries look in the right chunks.
+	 *  Builders only change chunks every so often, so this normally only checks the chunks they are in.
+	 */
+	public void updateLargeBuilderChunks(BuilderEntityExisting builder){
+		if(largeBuilders.containsKey(builder)){
+			AxisAlignedBB bounds = builder.getEntityBoundingBox();
+			AxisAlignedBB collisionBounds = builder.getCollisionBoundingBox();
+			if(collisionBounds != null){
+				bounds = bounds.union(collisionBounds);
+			}
+			int minChunkX = ((int) Math.floor(bounds.minX)) >> 4;
+			int minChunkZ = ((int) Math.floor(bounds.minZ)) >> 4;
+			int maxChunkX = ((int) Math.floor(bounds.maxX)) >> 4;
+			int maxChunkZ = ((int) Math.floor(bounds.maxZ)) >> 4;
+			int[] chunks = largeBuilders.get(builder);
+			if(chunks == null || chunks[0] != minChunkX || chunks[1] != minChunkZ || chunks[2] != maxChunkX || chunks[3] != maxChunkZ){
+				removeLargeBuilderChunks(builder, chunks);
+				for(int chunkX=minChunkX; chunkX<=maxChunkX; ++chunkX){
+					for(int chunkZ=minChunkZ; chunkZ<=maxChunkZ; ++chunkZ){
+						largeBuilderChunks.computeIfAbsent(ChunkPos.asLong(chunkX, chunkZ), k -> new HashSet<BuilderEntityExisting>()).add(builder);
+					}
+				}
+				largeBuilders.put(builder, new int[]{minChunkX, minChunkZ, maxChunkX, maxChunkZ});
+			}
+		}
+	}
+	
+	/**
+	 *  Removes the passed-in builder from the large builder listings, if it is in them.
+	 *  Should be called when the builder is removed from the world.
+	 */
+	public void removeLargeBuilder(BuilderEntityExisting builder){
+		if(largeBuilders.containsKey(builder)){
+			removeLargeBuilderChunks(builder, largeBuilders.remove(builder));
+		}
+	}
+	
+	private void removeLargeBuilderChunks(BuilderEntityExisting builder, int[] chunks){
+		if(chunks != null){
+			for(int chunkX=chunks[0]; chunkX<=chunks[2]; ++chunkX){
+				for(int chunkZ=chunks[1]; chunkZ<=chunks[3]; ++chunkZ){
+					long key = ChunkPos.asLong(chunkX, chunkZ);
+					Set<BuilderEntityExisting> chunkBuilders = largeBuilderChunks.get(key);
+					if(chunkBuilders != null){
+						chunkBuilders.remove(builder);
+						if(chunkBuilders.isEmpty()){
+							largeBuilderChunks.remove(key);
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 *  Adds all large builders that are in the chunks the passed-in bounds are in to the passed-in set.
+	 *  Builders that span multiple chunks are only added once, as the set should be an identity set.
+	 *  Builders are not checked against the bounds; callers should do that.
+	 */
+	private void addLargeBuildersNear(AxisAlignedBB bounds, Set<BuilderEntityExisting> builders){
+		for(int chunkX=((int) Math.floor(bounds.minX)) >> 4; chunkX<=((int) Math.floor(bounds.maxX)) >> 4; ++chunkX){
+			for(int chunkZ=((int) Math.floor(bounds.minZ)) >> 4; chunkZ<=((int) Math.floor(bounds.maxZ)) >> 4; ++chunkZ){
+				Set<BuilderEntityExisting> chunkBuilders = largeBuilderChunks.get(ChunkPos.asLong(chunkX, chunkZ));
+				if(chunkBuilders != null){
+					builders.addAll(chunkBuilders);
+				}
+			}
+		}
+	}
+	
+	/**
+	 *  Returns all entities that intersect the passed-in bounds, except the passed-in entity, if it is not null.
+	 *  This includes all entities MC finds, as well as any large builders it can't find due to its max entity radius.
+	 *  Use this rather than MC's methods for any query that needs to find our builders.
+	 */
+	public List<Entity> getEntitiesWithin(AxisAlignedBB bounds, Entity excludedEntity){
+		List<Entity> entities = world.getEntitiesWithinAABBExcludingEntity(excludedEntity, bounds);
+		if(!largeBuilderChunks.isEmpty()){
+			Set<BuilderEntityExisting> builders = largeBuilderScratch.get();
+			addLargeBuildersNear(bounds, builders);
+			if(!builders.isEmpty()){
+				//Don't add builders MC already found.  One pass over its list rather than a search per builder.
+				for(Entity entity : entities){
+					if(entity instanceof BuilderEntityExisting){
+						builders.remove(entity);
+					}
+				}
+				for(BuilderEntityExisting builder : builders){
+					if(!builder.isDead && builder != excludedEntity && builder.getEntityBoundingBox().intersects(bounds)){
+						entities.add(builder);
+					}
+				}
+				builders.clear();
+			}
+		}
+		return entities;
+	}
+	
 	/**
 	 *  Returns a list of entities within the specified bounds.
 	 */
 	public List<WrapperEntity> getEntitiesWithin(BoundingBox box){
 		List<WrapperEntity> entities = new ArrayList<WrapperEntity>();
-		for(Entity entity : world.getEntitiesWithinAABB(Entity.class, box.convert())){
+		for(Entity entity : getEntitiesWithin(box.convert(), null)){
 			entities.add(WrapperEntity.getWrapperFor(entity));
 		}
 		return entities;
@@ -260,7 +421,7 @@ public class WrapperWorld{
 		Vec3d mcLookerPos = mcLooker.getPositionVector();
 		Point3d lookerLos = entityLooking.getLineOfSight(searchRadius).add(entityLooking.getPosition());
 		Vec3d losVector = new Vec3d(lookerLos.x, lookerLos.y, lookerLos.z);
-		for(Entity entity : world.getEntitiesWithinAABBExcludingEntity(mcLooker, mcLooker.getEntityBoundingBox().grow(searchRadius))){
+		for(Entity entity : getEntitiesWithin(mcLooker.getEntityBoundingBox().grow(searchRadius), mcLooker)){
 			if(!entity.equals(mcLooker.getRidingEntity())){
 				float distance = mcLooker.getDistance(entity);
 				if(distance < smallestDistance){
@@ -309,9 +470,9 @@ public class WrapperWorld{
 		//Get collided entities.
 		if(motion != null){
 			mcBox = mcBox.expand(motion.x, motion.y, motion.z);
-			collidedEntities = world.getEntitiesWithinAABB(Entity.class, mcBox);
+			collidedEntities = getEntitiesWithin(mcBox, null);
 		}else{
-			collidedEntities = world.getEntitiesWithinAABB(Entity.class, mcBox);
+			collidedEntities = getEntitiesWithin(mcBox, null);
 		}
 		
 		//Get variables.  If we aren't moving, we won't need these.
@@ -353,7 +514,9 @@ public class WrapperWorld{
 				if(motion != null){
 					TreeMap<Double, BoundingBox> hitBoxes = new TreeMap<Double, BoundingBox>();
 					if(entityAttacked instanceof AEntityE_Multipart){
-						for(BoundingBox box : ((AEntityE_Multipart<?>) entityAttacked).allInteractionBoxes){
+						List<BoundingBox> boxesOnPath = new ArrayList<BoundingBox>();
+						((AEntityE_Multipart<?>) entityAttacked).interactionBoxHierarchy.getBoxesOnPath(startPoint, endPoint, boxesOnPath);
+						for(BoundingBox box : boxesOnPath){
 							Point3d delta = box.getIntersectionPoint(startPoint, endPoint); 
 							if(delta != null){
 								hitBoxes.put(delta.distanceTo(startPoint), box);
@@ -459,6 +622,39 @@ public class WrapperWorld{
 		return world.getBlockState(pos).getBlockHardness(world, pos);
 	}
 	
+	/**
+	 *  Returns the friction loss of the block at the passed-in position.  This is how much less grip
+	 *  there is on the block than on a normal block.  This includes the block's slipperiness, the
+	 *  friction set for the block in the config, and any rain on the block.  Air has no friction loss.
+	 *  Block friction is cached as it's checked by every ground device every tick, and is only
+	 *  re-calculated when the block changes.  Rain is checked once a tick, and only if it's raining.
+	 */
+	public float getFrictionLoss(Point3d position){
+		BlockPos.MutableBlockPos pos = mutablePos.get();
+		pos.setPos(position.x, position.y, position.z);
+		float frictionLoss;
+		if(world.isBlockLoaded(pos)){
+			if(collisionCache.getShape(pos).isAir){
+				return 0;
+			}
+			frictionLoss = collisionCache.getFrictionLoss(pos);
+		}else{
+			if(isAir(position)){
+				return 0;
+			}
+			frictionLoss = 0.6F - getBlockSlipperiness(position);
+		}
+		
+		if(world.getTotalWorldTime() != rainStrengthTime){
+			rainStrengthTime = world.getTotalWorldTime();
+			rainStrength = world.isRaining() ? world.getRainStrength(1.0F) + world.getThunderStrength(1.0F) : 0.0F;
+		}
+		if(rainStrength > 0 && world.isRainingAt(pos.setPos(position.x, position.y + 1, position.z))){
+			frictionLoss += rainStrength*0.1F;
+		}
+		return frictionLoss;
+	}
+	
 	/**
 	 *  Returns the slipperiness of the block at the passed-in position.
 	 *  0.6 is default slipperiness for blocks.
@@ -514,7 +710,12 @@ public class WrapperWorld{
 	 *  Returns true if the block is liquid.
 	 */
 	public boolean isBlockLiquid(Point3d position){
-        return world.getBlockState(new BlockPos(position.x, position.y, position.z)).getMaterial().isLiquid();
+		BlockPos pos = mutablePos.get().setPos(position.x, position.y, position.z);
+		if(world.isBlockLoaded(pos)){
+			return collisionCache.getShape(pos).isLiquid;
+		}else{
+			return world.getBlockState(pos).getMaterial().isLiquid();
+		}
 	}
 	
 	/**
@@ -554,71 +755,230 @@ public class WrapperWorld{
 	 * is set, then the system will not set the collisionDepth of corresponding axis if the motion is less than the
 	 * collisionMotion axis.  If this value is not set, the function simply looks for a non-zero value to make the
 	 * collisionDepth be set for that axis.
+	 * <br><br>
+	 * This method is called many times a tick for every moving vehicle, so it does not create any positions, lists,
+	 * or AABBs of its own.  Block positions are mutable, block shapes come from the {@link CollisionShapeCache}, and
+	 * colliding block positions are stored in the box's own re-usable buffer.  Liquids are checked once per run of
+	 * liquid blocks in a column using the cached liquid surface height, so boxes deep in water don't have to check
+	 * every liquid block they overlap.  Every liquid block is still added as a colliding block.
 	 */
 	public void updateBoundingBoxCollisions(BoundingBox box, Point3d collisionMotion, boolean ignoreIfGreater){
-		AxisAlignedBB mcBox = box.convert();
-		box.collidingBlockPositions.clear();
-		List<AxisAlignedBB> collidingAABBs = new ArrayList<AxisAlignedBB>(); 
-		for(int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i){
-    		for(int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j){
-    			for(int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k){
-    				BlockPos pos = new BlockPos(i, j, k);
-    				if(world.isBlockLoaded(pos)){
-	    				IBlockState state = world.getBlockState(pos);
-	    				if(state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, pos) != null){
-	    					int oldCollidingBlockCount = collidingAABBs.size();
-	    					state.addCollisionBoxToList(world, pos, mcBox, collidingAABBs, null, false);
-	    					if(collidingAABBs.size() > oldCollidingBlockCount){
-	    						box.collidingBlockPositions.add(new Point3d(i, j, k));
+		double minX = box.globalCenter.x - box.widthRadius;
+		double minY = box.globalCenter.y - box.heightRadius;
+		double minZ = box.globalCenter.z - box.depthRadius;
+		double maxX = box.globalCenter.x + box.widthRadius;
+		double maxY = box.globalCenter.y + box.heightRadius;
+		double maxZ = box.globalCenter.z + box.depthRadius;
+		BlockPos.MutableBlockPos pos = mutablePos.get();
+		box.clearCollidingBlockPositions();
+		box.currentCollisionDepth.set(0D, 0D, 0D);
+		for(int i = (int) Math.floor(minX); i < Math.ceil(maxX); ++i){
+    		for(int k = (int) Math.floor(minZ); k < Math.ceil(maxZ); ++k){
+    			boolean checkedLiquidRun = false;
+    			for(int j = (int) Math.floor(minY); j < Math.ceil(maxY); ++j){
+    				pos.setPos(i, j, k);
+    				BlockShape shape = getCollisionShape(pos);
+    				if(shape != null){
+    					double[] bounds = shape.collisionBounds;
+    					if(bounds.length != 0){
+	    					boolean collidedWithBlock = false;
+	    					for(int l=0; l<bounds.length; l+=6){
+	    						if(i + bounds[l] < maxX && i + bounds[l + 3] > minX && j + bounds[l + 1] < maxY && j + bounds[l + 4] > minY && k + bounds[l + 2] < maxZ && k + bounds[l + 5] > minZ){
+	    							updateCollisionDepth(box, collisionMotion, ignoreIfGreater, minX, minY, minZ, maxX, maxY, maxZ, i + bounds[l], j + bounds[l + 1], k + bounds[l + 2], i + bounds[l + 3], j + bounds[l + 4], k + bounds[l + 5]);
+	    							collidedWithBlock = true;
+	    						}
+	    					}
+	    					if(collidedWithBlock){
+	    						box.addCollidingBlockPosition(i, j, k);
 	    					}
 	    				}
-						if(box.collidesWithLiquids && state.getMaterial().isLiquid()){
-							collidingAABBs.add(state.getBoundingBox(world, pos).offset(pos));
-							box.collidingBlockPositions.add(new Point3d(i, j, k));
+						if(box.collidesWithLiquids && shape.isLiquid){
+							//Use the liquid surface for the whole run of liquid blocks, rather than checking each block in it.
+							//The surface is capped to the box's block range, as blocks above that aren't checked.
+							//Runs end at the first non-liquid block, so liquid above air pockets or blocks is checked on its own.
+							if(!checkedLiquidRun){
+								bounds = shape.liquidBounds;
+								double surfaceHeight = Math.min(getLiquidSurfaceHeight(pos), Math.ceil(maxY));
+								updateCollisionDepth(box, collisionMotion, ignoreIfGreater, minX, minY, minZ, maxX, maxY, maxZ, i + bounds[0], j + bounds[1], k + bounds[2], i + bounds[3], surfaceHeight, k + bounds[5]);
+								checkedLiquidRun = true;
+							}
+							box.addCollidingBlockPosition(i, j, k);
+						}else{
+							checkedLiquidRun = false;
 						}
     				}
     			}
     		}
     	}
-		
-		//If we are in the depth bounds for this collision, set it as the collision depth.
-		box.currentCollisionDepth.set(0D, 0D, 0D);
+	}
+	
+	/**
+	 * Helper method for {@link #updateBoundingBoxCollisions(BoundingBox, Point3d, boolean)}.
+	 * If we are in the depth bounds for the passed-in collision, it is set as the box's collision depth.
+	 * Bounds are passed as raw values rather than as AABBs to prevent creating new objects.
+	 */
+	private static void updateCollisionDepth(BoundingBox box, Point3d collisionMotion, boolean ignoreIfGreater, double minX, double minY, double minZ, double maxX, double maxY, double maxZ, double colMinX, double colMinY, double colMinZ, double colMaxX, double colMaxY, double colMaxZ){
 		double boxCollisionDepth;
-		for(AxisAlignedBB colBox : collidingAABBs){
-			if(collisionMotion.x > 0){
-				boxCollisionDepth = mcBox.maxX - colBox.minX;
-				if(!ignoreIfGreater || collisionMotion.x - boxCollisionDepth > 0){
-					box.currentCollisionDepth.x = Math.max(box.currentCollisionDepth.x, boxCollisionDepth);
-				}
-			}else if(collisionMotion.x < 0){
-				boxCollisionDepth = colBox.maxX - mcBox.minX;
-				if(!ignoreIfGreater || collisionMotion.x + boxCollisionDepth < 0){
-					box.currentCollisionDepth.x = Math.max(box.currentCollisionDepth.x, boxCollisionDepth);
-				}
+		if(collisionMotion.x > 0){
+			boxCollisionDepth = maxX - colMinX;
+			if(!ignoreIfGreater || collisionMotion.x - boxCollisionDepth > 0){
+				box.currentCollisionDepth.x = Math.max(box.currentCollisionDepth.x, boxCollisionDepth);
 			}
-			if(collisionMotion.y > 0){
-				boxCollisionDepth = mcBox.maxY - colBox.minY;
-				if(!ignoreIfGreater || collisionMotion.y - boxCollisionDepth > 0){
-					box.currentCollisionDepth.y = Math.max(box.currentCollisionDepth.y, boxCollisionDepth);
-				}
-			}else if(collisionMotion.y < 0){
-				boxCollisionDepth = colBox.maxY - mcBox.minY;
-				if(!ignoreIfGreater || collisionMotion.y + boxCollisionDepth < 0){
-					box.currentCollisionDepth.y = Math.max(box.currentCollisionDepth.y, boxCollisionDepth);
-				}
+		}else if(collisionMotion.x < 0){
+			boxCollisionDepth = colMaxX - minX;
+			if(!ignoreIfGreater || collisionMotion.x + boxCollisionDepth < 0){
+				box.currentCollisionDepth.x = Math.max(box.currentCollisionDepth.x, boxCollisionDepth);
 			}
-			if(collisionMotion.z > 0){
-				boxCollisionDepth = mcBox.maxZ - colBox.minZ;
-				if(!ignoreIfGreater || collisionMotion.z - boxCollisionDepth > 0){
-					box.currentCollisionDepth.z = Math.max(box.currentCollisionDepth.z, boxCollisionDepth);
-				}
-			}else if(collisionMotion.z < 0){
-				boxCollisionDepth = colBox.maxZ - mcBox.minZ;
-				if(!ignoreIfGreater || collisionMotion.z + boxCollisionDepth < 0){
-					box.currentCollisionDepth.z = Math.max(box.currentCollisionDepth.z, boxCollisionDepth);
+		}
+		if(collisionMotion.y > 0){
+			boxCollisionDepth = maxY - colMinY;
+			if(!ignoreIfGreater || collisionMotion.y - boxCollisionDepth > 0){
+				box.currentCollisionDepth.y = Math.max(box.currentCollisionDepth.y, boxCollisionDepth);
+			}
+		}else if(collisionMotion.y < 0){
+			boxCollisionDepth = colMaxY - minY;
+			if(!ignoreIfGreater || collisionMotion.y + boxCollisionDepth < 0){
+				box.currentCollisionDepth.y = Math.max(box.currentCollisionDepth.y, boxCollisionDepth);
+			}
+		}
+		if(collisionMotion.z > 0){
+			boxCollisionDepth = maxZ - colMinZ;
+			if(!ignoreIfGreater || collisionMotion.z - boxCollisionDepth > 0){
+				box.currentCollisionDepth.z = Math.max(box.currentCollisionDepth.z, boxCollisionDepth);
+			}
+		}else if(collisionMotion.z < 0){
+			boxCollisionDepth = colMaxZ - minZ;
+			if(!ignoreIfGreater || collisionMotion.z + boxCollisionDepth < 0){
+				box.currentCollisionDepth.z = Math.max(box.currentCollisionDepth.z, boxCollisionDepth);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the fraction of the passed-in motion the passed-in box can move before it hits a block.
+	 * If the box won't hit any blocks, 1 is returned.  The axis of the face the box hits is set in the
+	 * passed-in collisionAxis as a 1 on that axis, so callers know which motion axis to limit.
+	 * Blocks the box is already colliding with are ignored, as the normal collision checks handle those.
+	 * <br><br>
+	 * Unlike {@link #updateBoundingBoxCollisions(BoundingBox, Point3d, boolean)}, this checks the whole path
+	 * of the box, not just where it ends up, so boxes moving further than their size in a tick can't pass
+	 * through blocks.  To keep from checking every block in the box's path at once, the path is split into
+	 * steps that move the box at most one block on any axis.  Each step only checks the blocks the box passes
+	 * through for that step, and we stop at the first step that has a hit as no later step can hit sooner.
+	 */
+	public double getSweptCollisionTime(BoundingBox box, Point3d motion, Point3d collisionAxis){
+		collisionAxis.set(0D, 0D, 0D);
+		int steps = (int) Math.ceil(Math.max(Math.abs(motion.x), Math.max(Math.abs(motion.y), Math.abs(motion.z))));
+		if(steps == 0){
+			return 1;
+		}
+		double minX = box.globalCenter.x - box.widthRadius;
+		double minY = box.globalCenter.y - box.heightRadius;
+		double minZ = box.globalCenter.z - box.depthRadius;
+		double maxX = box.globalCenter.x + box.widthRadius;
+		double maxY = box.globalCenter.y + box.heightRadius;
+		double maxZ = box.globalCenter.z + box.depthRadius;
+		BlockPos.MutableBlockPos pos = mutablePos.get();
+		double hitTime = 1;
+		for(int step=0; step<steps; ++step){
+			double stepStart = step/(double) steps;
+			double stepEnd = (step + 1)/(double) steps;
+			double stepMinX = minX + Math.min(motion.x*stepStart, motion.x*stepEnd);
+			double stepMinY = minY + Math.min(motion.y*stepStart, motion.y*stepEnd);
+			double stepMinZ = minZ + Math.min(motion.z*stepStart, motion.z*stepEnd);
+			double stepMaxX = maxX + Math.max(motion.x*stepStart, motion.x*stepEnd);
+			double stepMaxY = maxY + Math.max(motion.y*stepStart, motion.y*stepEnd);
+			double stepMaxZ = maxZ + Math.max(motion.z*stepStart, motion.z*stepEnd);
+			for(int i = (int) Math.floor(stepMinX); i < Math.ceil(stepMaxX); ++i){
+				for(int j = (int) Math.floor(stepMinY); j < Math.ceil(stepMaxY); ++j){
+					for(int k = (int) Math.floor(stepMinZ); k < Math.ceil(stepMaxZ); ++k){
+						pos.setPos(i, j, k);
+						BlockShape shape = getCollisionShape(pos);
+						if(shape != null){
+							double[] bounds = shape.collisionBounds;
+							for(int l=0; l<bounds.length; l+=6){
+								hitTime = getCollisionTime(motion, collisionAxis, hitTime, minX, minY, minZ, maxX, maxY, maxZ, i + bounds[l], j + bounds[l + 1], k + bounds[l + 2], i + bounds[l + 3], j + bounds[l + 4], k + bounds[l + 5]);
+							}
+						}
+					}
 				}
 			}
+			if(hitTime <= stepEnd){
+				return hitTime;
+			}
 		}
+		return hitTime;
+	}
+	
+	/**
+	 * Helper method for {@link #getSweptCollisionTime(BoundingBox, Point3d, Point3d)}.
+	 * Returns the time at which the moving bounds first touch the collision bounds, if it is before
+	 * the passed-in current time.  Otherwise, the current time is returned.  The time of an axis is when
+	 * the bounds start to overlap on that axis, so the time of the hit is the latest of these, as long
+	 * as it is before the bounds stop overlapping on any axis.
+	 */
+	private static double getCollisionTime(Point3d motion, Point3d collisionAxis, double currentTime, double minX, double minY, double minZ, double maxX, double maxY, double maxZ, double colMinX, double colMinY, double colMinZ, double colMaxX, double colMaxY, double colMaxZ){
+		double enterTime = -Double.MAX_VALUE;
+		double exitTime = Double.MAX_VALUE;
+		int hitAxis = 0;
+		double axisEnterTime;
+		
+		if(motion.x != 0){
+			axisEnterTime = motion.x > 0 ? (colMinX - maxX)/motion.x : (colMaxX - minX)/motion.x;
+			exitTime = Math.min(exitTime, motion.x > 0 ? (colMaxX - minX)/motion.x : (colMinX - maxX)/motion.x);
+			if(axisEnterTime > enterTime){
+				enterTime = axisEnterTime;
+				hitAxis = 1;
+			}
+		}else if(maxX <= colMinX || minX >= colMaxX){
+			return currentTime;
+		}
+		
+		if(motion.y != 0){
+			axisEnterTime = motion.y > 0 ? (colMinY - maxY)/motion.y : (colMaxY - minY)/motion.y;
+			exitTime = Math.min(exitTime, motion.y > 0 ? (colMaxY - minY)/motion.y : (colMinY - maxY)/motion.y);
+			if(axisEnterTime > enterTime){
+				enterTime = axisEnterTime;
+				hitAxis = 2;
+			}
+		}else if(maxY <= colMinY || minY >= colMaxY){
+			return currentTime;
+		}
+		
+		if(motion.z != 0){
+			axisEnterTime = motion.z > 0 ? (colMinZ - maxZ)/motion.z : (colMaxZ - minZ)/motion.z;
+			exitTime = Math.min(exitTime, motion.z > 0 ? (colMaxZ - minZ)/motion.z : (colMinZ - maxZ)/motion.z);
+			if(axisEnterTime > enterTime){
+				enterTime = axisEnterTime;
+				hitAxis = 3;
+			}
+		}else if(maxZ <= colMinZ || minZ >= colMaxZ){
+			return currentTime;
+		}
+		
+		if(enterTime >= 0 && enterTime < exitTime && enterTime < currentTime){
+			collisionAxis.set(hitAxis == 1 ? 1 : 0, hitAxis == 2 ? 1 : 0, hitAxis == 3 ? 1 : 0);
+			return enterTime;
+		}else{
+			return currentTime;
+		}
+	}
+	
+	/**
+	 * Returns the collision shape of the block at the passed-in position, or null if the block isn't loaded.
+	 * All block collision checks get their blocks from here, so worlds that aren't backed by a MC world
+	 * can override this to give those checks their own blocks.
+	 */
+	protected BlockShape getCollisionShape(BlockPos pos){
+		return world.isBlockLoaded(pos) ? collisionCache.getShape(pos) : null;
+	}
+	
+	/**
+	 * Returns the Y-coordinate of the surface of the liquid the passed-in liquid block is in.
+	 * Like {@link #getCollisionShape(BlockPos)}, this is here for worlds that aren't backed by a MC world.
+	 */
+	protected float getLiquidSurfaceHeight(BlockPos pos){
+		return collisionCache.getLiquidSurfaceHeight(pos);
 	}
 	
 	/**
@@ -776,10 +1136,74 @@ public class WrapperWorld{
 	 *  Returns true if the block at this position is air.
 	 */
 	public boolean isAir(Point3d position){
-		BlockPos pos = new BlockPos(position.x, position.y, position.z);
-		IBlockState state = world.getBlockState(pos); 
-		Block block = state.getBlock();
-		return block.isAir(state, world, pos);
+		BlockPos pos = mutablePos.get().setPos(position.x, position.y, position.z);
+		if(world.isBlockLoaded(pos)){
+			return collisionCache.getShape(pos).isAir;
+		}else{
+			IBlockState state = world.getBlockState(pos); 
+			Block block = state.getBlock();
+			return block.isAir(state, world, pos);
+		}
+	}
+	
+	/**
+	 *  Returns true if any block that is in, or next to, the passed-in box changed
+	 *  this tick or last tick.  Used by entities that stop checking their collisions
+	 *  while they are at rest to know if the blocks they are resting on have changed.
+	 *  Only blocks in the sections the box is in, or next to, are checked.
+	 */
+	public boolean hasBlockChangedNear(BoundingBox box){
+		updateChangedBlocks();
+		if(changedBlocks.isEmpty() && lastChangedBlocks.isEmpty()){
+			return false;
+		}
+		double minX = box.globalCenter.x - box.widthRadius - 1;
+		double maxX = box.globalCenter.x + box.widthRadius + 1;
+		double minY = box.globalCenter.y - box.heightRadius - 1;
+		double maxY = box.globalCenter.y + box.heightRadius + 1;
+		double minZ = box.globalCenter.z - box.depthRadius - 1;
+		double maxZ = box.globalCenter.z + box.depthRadius + 1;
+		for(int sectionX=((int) Math.floor(minX) - 1) >> 4; sectionX<=((int) Math.floor(maxX)) >> 4; ++sectionX){
+			for(int sectionY=((int) Math.floor(minY) - 1) >> 4; sectionY<=((int) Math.floor(maxY)) >> 4; ++sectionY){
+				for(int sectionZ=((int) Math.floor(minZ) - 1) >> 4; sectionZ<=((int) Math.floor(maxZ)) >> 4; ++sectionZ){
+					long key = CollisionShapeCache.getSectionKey(sectionX, sectionY, sectionZ);
+					if(hasBlockChangedIn(changedBlocks.get(key), minX, minY, minZ, maxX, maxY, maxZ) || hasBlockChangedIn(lastChangedBlocks.get(key), minX, minY, minZ, maxX, maxY, maxZ)){
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+	
+	private static boolean hasBlockChangedIn(List<BlockPos> blocks, double minX, double minY, double minZ, double maxX, double maxY, double maxZ){
+		if(blocks != null){
+			for(BlockPos pos : blocks){
+				if(	pos.getX() <= maxX && pos.getX() + 1 >= minX &&
+					pos.getY() <= maxY && pos.getY() + 1 >= minY &&
+					pos.getZ() <= maxZ && pos.getZ() + 1 >= minZ){
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 *  Moves the changed blocks to the last changed block list if the world has ticked
+	 *  since they changed.  Blocks that changed before last tick are removed.
+	 *  We do this here rather than in a tick event as clients don't get world ticks.
+	 */
+	private void updateChangedBlocks(){
+		long worldTime = world.getTotalWorldTime();
+		if(worldTime != changedBlocksTime){
+			lastChangedBlocks.clear();
+			if(worldTime == changedBlocksTime + 1){
+				lastChangedBlocks.putAll(changedBlocks);
+			}
+			changedBlocks.clear();
+			changedBlocksTime = worldTime;
+		}
 	}
 	
 	/**
@@ -960,9 +1384,15 @@ public class WrapperWorld{
     * Spawn "follower" entities for the player if they don't exist already.
     * This only happens if the player joined and has been present for 2 seconds.
     * This delay is done to ensure all chunks are loaded before spawning any followers.
+    * Also calculates vehicle forces before the world ticks if that is done in parallel.
     */
    @SubscribeEvent
    public static void on(TickEvent.WorldTickEvent event){
+	   //If we calculate vehicle forces in parallel, do so now before any vehicles update.
+	   if(event.phase.equals(TickEvent.Phase.START) && ConfigSystem.configObject.general.parallelVehiclePhysics.value){
+		   EntityVehicleF_Physics.calculateForcesInParallel(getWrapperFor(event.world));
+	   }
+	   
 	   if(!ticksSincePlayerJoin.isEmpty()){
 		   Iterator<Entry<EntityPlayer, Integer>> iterator = ticksSincePlayerJoin.entrySet().iterator();
 		   while(iterator.hasNext()){
@@ -992,9 +1422,57 @@ public class WrapperWorld{
 	   }
    }
 	
+   /**
+    * Add the collision boxes of large builders to MC's collision checks.  MC only checks entities
+    * within its max entity radius of the bounds, so it won't find these builders on its own.
+    */
+   @SubscribeEvent
+   public static void on(GetCollisionBoxesEvent event){
+	   Entity entity = event.getEntity();
+	   WrapperWorld wrapper = worldWrappers.get(event.getWorld());
+	   if(entity != null && wrapper != null && !wrapper.largeBuilderChunks.isEmpty()){
+		   Set<BuilderEntityExisting> builders = largeBuilderScratch.get();
+		   wrapper.addLargeBuildersNear(event.getAabb(), builders);
+		   if(!builders.isEmpty()){
+			   Set<AxisAlignedBB> collisionBoxes = largeBuilderBoxScratch.get();
+			   for(BuilderEntityExisting builder : builders){
+				   if(builder != entity && !builder.isDead && !entity.isRidingSameEntity(builder)){
+					   AxisAlignedBB collisionBox = builder.getCollisionBoundingBox();
+					   if(collisionBox != null && collisionBox.intersects(event.getAabb())){
+						   collisionBoxes.add(collisionBox);
+					   }
+				   }
+			   }
+			   builders.clear();
+			   if(!collisionBoxes.isEmpty()){
+				   //Don't add boxes MC already found.  One pass over its list rather than a search per box.
+				   for(AxisAlignedBB box : event.getCollisionBoxesList()){
+					   if(box instanceof WrapperAABBCollective){
+						   collisionBoxes.remove(box);
+					   }
+				   }
+				   event.getCollisionBoxesList().addAll(collisionBoxes);
+				   collisionBoxes.clear();
+			   }
+		   }
+	   }
+   }
+	
+	/**
+     * Remove all cached collision shapes for chunks that unload, as the
+     * blocks in them may change without us being notified.
+     */
+    @SubscribeEvent
+    public static void on(ChunkEvent.Unload event){
+    	WrapperWorld wrapper = worldWrappers.get(event.getWorld());
+    	if(wrapper != null){
+    		wrapper.collisionCache.invalidateChunk(event.getChunk().x, event.getChunk().z);
+    	}
+    }
+	
 	/**
      * Remove all entities from our maps if we unload the world.  This will cause duplicates if we don't.
-     * Also remove this wrapper from the created lists, as it's invalid.
+     * Also remove this wrapper from the created lists, as it's invalid, and clear the cached road curves.
      */
     @SubscribeEvent
     public static void on(WorldEvent.Unload event){
@@ -1006,9 +1484,61 @@ public class WrapperWorld{
 	    	for(EntityPlayer player : event.getWorld().playerEntities){
 	    		BuilderEntityRenderForwarder.activeFollowers.remove(player.getUniqueID());
 	    	}
+	    	BezierCurve.clearOffsetCurves();
     	}
     }
 	
+	/**
+	 *  Listener for block changes in the world.  Used to remove cached data for the changed blocks,
+	 *  and to record the blocks that changed.  All other world events are ignored.
+	 */
+	private class WorldBlockListener implements IWorldEventListener{
+		@Override
+		public void notifyBlockUpdate(World worldIn, BlockPos pos, IBlockState oldState, IBlockState newState, int flags){
+			collisionCache.invalidateBlock(pos.getX(), pos.getY(), pos.getZ());
+			if(oldState != newState){
+				updateChangedBlocks();
+				changedBlocks.computeIfAbsent(CollisionShapeCache.getSectionKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4), k -> new ArrayList<BlockPos>()).add(pos.toImmutable());
+			}
+		}
+
+		@Override
+		public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2){
+			//Clients get block changes from chunk data this way, rather than via block updates.
+			collisionCache.invalidateRange(x1 - 1, y1 - 1, z1 - 1, x2 + 1, y2 + 1, z2 + 1);
+		}
+
+		@Override
+		public void notifyLightSet(BlockPos pos){}
+
+		@Override
+		public void playSoundToAllNearExcept(EntityPlayer player, SoundEvent soundIn, SoundCategory category, double x, double y, double z, float volume, float pitch){}
+
+		@Override
+		public void playRecord(SoundEvent soundIn, BlockPos pos){}
+
+		@Override
+		public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters){}
+
+		@Override
+		public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters){}
+
+		@Override
+		public void onEntityAdded(Entity entityIn){}
+
+		@Override
+		public void onEntityRemoved(Entity entityIn){}
+
+		@Override
+		public void broadcastSound(int soundID, BlockPos pos, int data){}
+
+		@Override
+		public void playEvent(EntityPlayer player, int type, BlockPos blockPosIn, int data){}
+
+		@Override
+		public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress){}
+	}
+	
 	/**
 	 *  Class used to interface with world saved data methods.
 	 */
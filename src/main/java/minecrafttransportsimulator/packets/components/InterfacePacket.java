@@ -60,7 +60,8 @@ import net.minecraftforge.fml.relauncher.Side;
  * @author don_bruce
  */
 public class InterfacePacket{
-	private static final SimpleNetworkWrapper network = NetworkRegistry.INSTANCE.newSimpleChannel(MasterLoader.MODID);
+	/**Network for all our packets.  Null until {@link #init()} is called, which only happens when MC is running.**/
+	private static SimpleNetworkWrapper network;
 	private static final BiMap<Byte, Class<? extends APacketBase>> packetMappings = HashBiMap.create();
 	
 	/**
@@ -68,7 +69,8 @@ public class InterfacePacket{
 	 *  Packets should be registered at this point in this constructor.
 	 */
 	public static void init(){
-		//Register the main wrapper packet.
+		//Create the network and register the main wrapper packet.
+		network = NetworkRegistry.INSTANCE.newSimpleChannel(MasterLoader.MODID);
 		network.registerMessage(WrapperHandler.class, WrapperPacket.class, 0, Side.CLIENT);
 		network.registerMessage(WrapperHandler.class, WrapperPacket.class, 1, Side.SERVER);
 		
@@ -143,16 +145,22 @@ public class InterfacePacket{
 	
 	/**
 	 *  Sends the passed-in packet to the server.
+	 *  Packets are dropped if there is no network, as there is nothing to send them to.
 	 */
 	public static void sendToServer(APacketBase packet){
-		network.sendToServer(new WrapperPacket(packet));
+		if(network != null){
+			network.sendToServer(new WrapperPacket(packet));
+		}
 	}
 	
 	/**
 	 *  Sends the passed-in packet to all clients.
+	 *  Packets are dropped if there is no network, as there is nothing to send them to.
 	 */
 	public static void sendToAllClients(APacketBase packet){
-		network.sendToAll(new WrapperPacket(packet));
+		if(network != null){
+			network.sendToAll(new WrapperPacket(packet));
+		}
 	}
 	
 	/**
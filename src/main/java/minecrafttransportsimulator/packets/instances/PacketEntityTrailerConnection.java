@@ -61,9 +61,9 @@ public class PacketEntityTrailerConnection extends APacketEntityInteract<AEntity
 			boolean matchingConnection = false;
 			boolean trailerInRange = false;
 			if(fromTrailer){
-				for(AEntityA_Base testEntity : AEntityA_Base.getEntities(world)){
-					if(testEntity instanceof AEntityD_Interactable && shouldConnect((AEntityD_Interactable<?>) testEntity, entity)){
-						switch(((AEntityD_Interactable<?>) testEntity).checkIfTrailerCanConnect(entity, -1, connectionGroupIndex)){
+				for(AEntityD_Interactable<?> testEntity : AEntityA_Base.getEntities(world, AEntityD_Interactable.class)){
+					if(shouldConnect(testEntity, entity)){
+						switch(testEntity.checkIfTrailerCanConnect(entity, -1, connectionGroupIndex)){
 							case TRAILER_CONNECTED : player.sendPacket(new PacketPlayerChatMessage(player, "interact.trailer.connect")); return false;
 							case TRAILER_TOO_FAR : matchingConnection = true; break;
 							case TRAILER_WRONG_HITCH : trailerInRange = true; break;
@@ -72,9 +72,9 @@ public class PacketEntityTrailerConnection extends APacketEntityInteract<AEntity
 					}
 				}
 			}else{
-				for(AEntityA_Base testEntity : AEntityA_Base.getEntities(world)){
-					if(testEntity instanceof AEntityD_Interactable  && shouldConnect(entity, (AEntityD_Interactable<?>) testEntity)){
-						switch(entity.checkIfTrailerCanConnect((AEntityD_Interactable<?>) testEntity, connectionGroupIndex, -1)){
+				for(AEntityD_Interactable<?> testEntity : AEntityA_Base.getEntities(world, AEntityD_Interactable.class)){
+					if(shouldConnect(entity, testEntity)){
+						switch(entity.checkIfTrailerCanConnect(testEntity, connectionGroupIndex, -1)){
 							case TRAILER_CONNECTED : player.sendPacket(new PacketPlayerChatMessage(player, "interact.trailer.connect")); return false;
 							case TRAILER_TOO_FAR : matchingConnection = true; break;
 							case TRAILER_WRONG_HITCH : trailerInRange = true; break;
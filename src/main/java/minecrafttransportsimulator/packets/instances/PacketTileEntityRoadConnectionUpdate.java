@@ -92,6 +92,7 @@ public class PacketTileEntityRoadConnectionUpdate extends APacketEntity<TileEnti
 	@Override
 	protected boolean handle(WrapperWorld world, TileEntityRoad road){
 		RoadLane lane = road.lanes.get(laneNumber);
+		lane.invalidateConnectionTables();
 		if(otherPosition != null){
 			//Connecting to another curve.  Create connection from this curve to the other one.
 			if(connectedToStart){
@@ -57,13 +57,13 @@ public abstract class ARenderEntity<RenderedEntity extends AEntityC_Definable<?>
 		if(!disableMainRendering(entity, partialTicks)){
 			//Get the render offset.
 			//This is the interpolated movement, plus the prior position.
-			Point3d entityPositionDelta = entity.prevPosition.getInterpolatedPoint(entity.position, partialTicks);
+			Point3d entityPositionDelta = entity.getInterpolatedPosition(partialTicks);
 			
 			//Subtract the entity's position by the render entity position to get the delta for translating.
 			entityPositionDelta.subtract(InterfaceClient.getRenderViewEntity().getRenderedPosition(partialTicks));
 			
 			//Get the entity rotation.
-			Point3d entityRotation = entity.prevAngles.getInterpolatedPoint(entity.angles, partialTicks);
+			Point3d entityRotation = entity.getInterpolatedAngles(partialTicks);
 	       
 	        //Set up lighting.  Set it to 1 block above, as entities can travel low and easily clip into blocks.
 			//That results in black entities.
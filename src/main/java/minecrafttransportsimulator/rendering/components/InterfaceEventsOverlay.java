@@ -1,6 +1,8 @@
 package minecrafttransportsimulator.rendering.components;
 
 import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.lwjgl.opengl.GL11;
 
@@ -98,7 +100,9 @@ public class InterfaceEventsOverlay{
 	    	if(InterfaceClient.inFirstPerson()){
 				if(mousedOverEntity instanceof EntityVehicleF_Physics){
 					EntityVehicleF_Physics vehicle = (EntityVehicleF_Physics) mousedOverEntity;
-					for(BoundingBox box : vehicle.allInteractionBoxes){
+					List<BoundingBox> boxesAtPoint = new ArrayList<BoundingBox>();
+					vehicle.interactionBoxHierarchy.getBoxesInBounds(mousedOverPoint.x, mousedOverPoint.y, mousedOverPoint.z, mousedOverPoint.x, mousedOverPoint.y, mousedOverPoint.z, boxesAtPoint);
+					for(BoundingBox box : boxesAtPoint){
 						if(box.isPointInside(mousedOverPoint)){
 							APart part = vehicle.getPartWithBox(box);
 							if(part instanceof PartInteractable){
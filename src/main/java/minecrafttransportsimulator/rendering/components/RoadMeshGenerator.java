@@ -0,0 +1,171 @@
+package minecrafttransportsimulator.rendering.components;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import minecrafttransportsimulator.baseclasses.BezierCurve;
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.baseclasses.RotationMatrix;
+import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad;
+import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad.RoadComponent;
+import minecrafttransportsimulator.items.instances.ItemRoadComponent;
+
+/**Class responsible for generating the meshes of road components.  Dynamic roads need every vertex of
+ * their models transformed for every block of their curves, which is far too slow to do on the render
+ * thread when lots of roads load at once.  Instead, meshes are generated on worker threads, and the
+ * render thread only has to upload them once they are done.  Meshes are arrays of floats, with 8 floats
+ * per vertex, in the same order as the vertices from {@link AModelParser#parseModel(String)}.
+ * <br><br>
+ * Mesh generation only reads the road's curve, definition, and rotation, none of which change after
+ * the road is created, so it is safe to do while the road is being used by the game.
+ *
+ * @author don_bruce
+ */
+public final class RoadMeshGenerator{
+	/**Floats per vertex in a mesh: position, texture coordinates, and normal.**/
+	public static final int VERTEX_SIZE = 8;
+
+	private static ForkJoinPool meshPool;
+
+	/**
+	 *  Queues generation of the mesh for the passed-in component of the passed-in road.  The returned
+	 *  task will have the mesh once it is done.  If the road doesn't have the component, the mesh will be empty.
+	 */
+	public static ForkJoinTask<float[]> queueMesh(TileEntityRoad road, RoadComponent component){
+		if(meshPool == null){
+			//Leave a core for the render thread.
+			meshPool = new ForkJoinPool(Math.max(Runtime.getRuntime().availableProcessors() - 1, 1));
+		}
+		ItemRoadComponent componentItem = road.components.get(component);
+		return meshPool.submit(() -> generateMesh(road, component, componentItem));
+	}
+
+	/**
+	 *  Generates the mesh for the passed-in component of the passed-in road.  Only core components
+	 *  currently have models, so all other components return empty meshes.
+	 */
+	public static float[] generateMesh(TileEntityRoad road, RoadComponent component, ItemRoadComponent componentItem){
+		if(component == RoadComponent.CORE && componentItem != null){
+			Map<String, Float[][]> parsedModel = AModelParser.parseModel(componentItem.definition.getModelLocation(componentItem.subName));
+			//If we are a dynamic curve, generate the dynamic vertex paths.
+			//If we are static, just use the model as-is.
+			if(road.definition.road.isDynamic && road.dynamicCurve != null){
+				return generateDynamicMesh(parsedModel, road.dynamicCurve, road.definition.road.borderOffset);
+			}else if(!road.definition.road.isDynamic){
+				return generateStaticMesh(parsedModel, road.rotation);
+			}
+		}
+		return new float[0];
+	}
+
+	/**
+	 *  Generates a mesh for a dynamic road.  The model is stretched into a wedge between every 1-block step
+	 *  of the curve, with the model's z-axis being the distance between the steps.  The passed-in border
+	 *  offset is used to detect steps where the model would be inverted on sharp curves.
+	 */
+	public static float[] generateDynamicMesh(Map<String, Float[][]> parsedModel, BezierCurve curve, double borderOffset){
+		int modelVertexCount = 0;
+		for(Float[][] vertexSet : parsedModel.values()){
+			modelVertexCount += vertexSet.length;
+		}
+		//At most one segment per block, plus one for the end of the curve.
+		float[] mesh = new float[((int) Math.ceil(curve.pathLength) + 1)*modelVertexCount*VERTEX_SIZE];
+		int meshIndex = 0;
+
+		Point3d position = new Point3d();
+		Point3d rotation = new Point3d();
+		Point3d priorPosition = new Point3d();
+		Point3d priorRotation = new Point3d();
+		RotationMatrix orientation = new RotationMatrix();
+		RotationMatrix priorOrientation = new RotationMatrix();
+		Point3d testPoint1 = new Point3d();
+		Point3d testPoint2 = new Point3d();
+		Point3d vertexOffsetPrior = new Point3d();
+		Point3d vertexOffsetCurrent = new Point3d();
+		float priorIndex = 0;
+
+		for(float currentIndex=1; currentIndex<=curve.pathLength; ++currentIndex){
+			//Get current and prior curve position and rotation.
+			//From this, we know how much to stretch the model to that point's rendering area.
+			curve.setPointToPositionAt(priorPosition, priorIndex);
+			curve.setPointToRotationAt(priorRotation, priorIndex);
+			curve.setPointToPositionAt(position, currentIndex);
+			curve.setPointToRotationAt(rotation, currentIndex);
+			priorOrientation.setToAngles(priorRotation);
+			orientation.setToAngles(rotation);
+
+			//If we are a really sharp curve, we might have inverted our model at the inner corner.
+			//Check for this, and if we have done so, skip this segment.
+			//If we detect this in the last 3 segments, skip right to the end.
+			//This prevents a missing end segment due to collision.
+			testPoint1.set(borderOffset, 0, 0).rotate(priorOrientation).add(priorPosition);
+			testPoint2.set(borderOffset, 0, 0).rotate(orientation).add(position);
+			if(currentIndex != curve.pathLength && (position.x - priorPosition.x)*(testPoint2.x - testPoint1.x) < 0 || (position.z - priorPosition.z)*(testPoint2.z - testPoint1.z) < 0){
+				if(currentIndex != curve.pathLength && currentIndex + 3 > curve.pathLength){
+					currentIndex = curve.pathLength - 1;
+				}
+				continue;
+			}
+
+			//Depending on the vertex position in the model, transform it to match with the offset rotation.
+			//This depends on how far the vertex is from the origin of the model, and how big the delta is.
+			//For all points, their magnitude depends on how far away they are on the Z-axis.
+			for(Float[][] vertexSet : parsedModel.values()){
+				for(Float[] vertex : vertexSet){
+					vertexOffsetPrior.set(vertex[0], vertex[1], 0).rotate(priorOrientation).add(priorPosition);
+					vertexOffsetCurrent.set(vertex[0], vertex[1], vertex[2]).rotate(orientation).add(position);
+					vertexOffsetPrior.subtract(vertexOffsetCurrent).multiply(Math.abs(vertex[2])).add(vertexOffsetCurrent);
+					meshIndex = addVertex(mesh, meshIndex, vertexOffsetPrior, vertex);
+				}
+			}
+
+			//Set the last index.
+			priorIndex = currentIndex;
+
+			//If we are at the last index, do special logic to get the very end point.
+			if(currentIndex != curve.pathLength && currentIndex + 1 > curve.pathLength){
+				currentIndex -= ((currentIndex + 1) - curve.pathLength);
+			}
+		}
+		return Arrays.copyOf(mesh, meshIndex);
+	}
+
+	/**
+	 *  Generates a mesh for a static road.  This is just the model, rotated to the road's rotation.
+	 */
+	public static float[] generateStaticMesh(Map<String, Float[][]> parsedModel, Point3d rotation){
+		int modelVertexCount = 0;
+		for(Float[][] vertexSet : parsedModel.values()){
+			modelVertexCount += vertexSet.length;
+		}
+		float[] mesh = new float[modelVertexCount*VERTEX_SIZE];
+		int meshIndex = 0;
+		Point3d position = new Point3d();
+		RotationMatrix orientation = new RotationMatrix().setToAngles(rotation);
+		for(Float[][] vertexSet : parsedModel.values()){
+			for(Float[] vertex : vertexSet){
+				//Need to offset by 0.5 to match the offset of the TE as we're block-aligned.
+				position.set(vertex[0] - 0.5, vertex[1], vertex[2] - 0.5).rotate(orientation);
+				meshIndex = addVertex(mesh, meshIndex, position, vertex);
+			}
+		}
+		return mesh;
+	}
+
+	/**
+	 *  Helper method to add a vertex to the passed-in mesh at the passed-in index.  The position is
+	 *  the passed-in point, while the texture coordinates and normal come from the model vertex.
+	 *  Returns the index for the next vertex.
+	 */
+	private static int addVertex(float[] mesh, int meshIndex, Point3d position, Float[] vertex){
+		mesh[meshIndex] = (float) position.x;
+		mesh[meshIndex + 1] = (float) position.y;
+		mesh[meshIndex + 2] = (float) position.z;
+		for(int i=3; i<VERTEX_SIZE; ++i){
+			mesh[meshIndex + i] = vertex[i];
+		}
+		return meshIndex + VERTEX_SIZE;
+	}
+}
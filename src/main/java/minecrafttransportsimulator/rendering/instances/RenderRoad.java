@@ -1,9 +1,9 @@
 package minecrafttransportsimulator.rendering.instances;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
 
 import org.lwjgl.opengl.GL11;
 
@@ -15,23 +15,67 @@ import minecrafttransportsimulator.blocks.tileentities.components.RoadLaneConnec
 import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad;
 import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad.RoadComponent;
 import minecrafttransportsimulator.items.instances.ItemRoadComponent;
+import minecrafttransportsimulator.mcinterface.InterfaceCore;
 import minecrafttransportsimulator.mcinterface.InterfaceRender;
-import minecrafttransportsimulator.rendering.components.AModelParser;
 import minecrafttransportsimulator.rendering.components.ARenderTileEntityBase;
+import minecrafttransportsimulator.rendering.components.RoadMeshGenerator;
 import minecrafttransportsimulator.systems.ConfigSystem;
 
 public class RenderRoad extends ARenderTileEntityBase<TileEntityRoad>{
 	private static final Map<TileEntityRoad, Map<RoadComponent, Integer>> roadCachedVertexMap = new HashMap<TileEntityRoad, Map<RoadComponent, Integer>>();
+	private static final Map<TileEntityRoad, Map<RoadComponent, ForkJoinTask<float[]>>> roadPendingMeshes = new HashMap<TileEntityRoad, Map<RoadComponent, ForkJoinTask<float[]>>>();
+	
+	/**
+	 *  Queues generation of the meshes for all components of the passed-in road that don't have them.
+	 *  Meshes are generated on worker threads by {@link RoadMeshGenerator}, so this should be called as
+	 *  soon as the road is ready to have them generated, rather than waiting for the road to be rendered.
+	 *  Must only be called on the client thread.  Clients only have roads in chunks they have loaded,
+	 *  and {@link #removeMeshes(TileEntityRoad)} is called when those unload, so this doesn't build up.
+	 */
+	public static void queueMeshes(TileEntityRoad road){
+		Map<RoadComponent, Integer> cachedVertexMap = roadCachedVertexMap.get(road);
+		Map<RoadComponent, ForkJoinTask<float[]>> pendingMeshes = roadPendingMeshes.get(road);
+		if(pendingMeshes == null){
+			pendingMeshes = new HashMap<RoadComponent, ForkJoinTask<float[]>>();
+			roadPendingMeshes.put(road, pendingMeshes);
+		}
+		for(RoadComponent component : road.components.keySet()){
+			if((cachedVertexMap == null || !cachedVertexMap.containsKey(component)) && !pendingMeshes.containsKey(component)){
+				pendingMeshes.put(component, RoadMeshGenerator.queueMesh(road, component));
+			}
+		}
+		if(pendingMeshes.isEmpty()){
+			roadPendingMeshes.remove(road);
+		}
+	}
+	
+	/**
+	 *  Cancels any meshes still being generated for the passed-in road, and deletes the DisplayLists
+	 *  of the ones that were uploaded.  Should be called when the road is removed from the world,
+	 *  including when its chunk or world unloads.  Must only be called on the client thread.
+	 */
+	public static void removeMeshes(TileEntityRoad road){
+		Map<RoadComponent, ForkJoinTask<float[]>> pendingMeshes = roadPendingMeshes.remove(road);
+		if(pendingMeshes != null){
+			for(ForkJoinTask<float[]> pendingMesh : pendingMeshes.values()){
+				pendingMesh.cancel(false);
+			}
+		}
+		Map<RoadComponent, Integer> cachedVertexMap = roadCachedVertexMap.remove(road);
+		if(cachedVertexMap != null){
+			for(int displayListIndex : cachedVertexMap.values()){
+				InterfaceRender.deleteVertices(displayListIndex);
+			}
+		}
+	}
 	
 	@Override
 	public void renderAdditionalModels(TileEntityRoad road, boolean blendingEnabled, float partialTicks){
 		//Render road components.
 		//First set helper variables.
 		Point3d position = new Point3d();
-		Point3d rotation = new Point3d();
 		
-		//If we haven't rendered the road yet, do so now.
-		//We cache it in a DisplayList, as there are a LOT of transforms done each component.
+		//If we haven't rendered the road yet, create the map for its DisplayLists.
 		if(!roadCachedVertexMap.containsKey(road)){
 			roadCachedVertexMap.put(road, new HashMap<RoadComponent, Integer>());
 		}
@@ -51,108 +95,40 @@ public class RenderRoad extends ARenderTileEntityBase<TileEntityRoad>{
 			ItemRoadComponent componentItem = road.components.get(component);
 			
 			if(!cachedVertexMap.containsKey(component)){
+				//Meshes are generated off the render thread.  Don't render components until theirs is done.
+				Map<RoadComponent, ForkJoinTask<float[]>> pendingMeshes = roadPendingMeshes.get(road);
+				if(pendingMeshes == null || !pendingMeshes.containsKey(component)){
+					queueMeshes(road);
+					pendingMeshes = roadPendingMeshes.get(road);
+				}
+				ForkJoinTask<float[]> pendingMesh = pendingMeshes.get(component);
+				if(!pendingMesh.isDone()){
+					continue;
+				}
+				pendingMeshes.remove(component);
+				if(pendingMeshes.isEmpty()){
+					roadPendingMeshes.remove(road);
+				}
+				float[] mesh;
+				try{
+					mesh = pendingMesh.get();
+				}catch(Exception e){
+					InterfaceCore.logError("Could not generate mesh for road component " + componentItem.definition.packID + ":" + componentItem.definition.systemName + ".  It will not be rendered.");
+					e.printStackTrace();
+					mesh = new float[0];
+				}
+				
+				//Upload the mesh to a DisplayList, as there are a LOT of vertices for each component.
 				int displayListIndex = GL11.glGenLists(1);
 				GL11.glNewList(displayListIndex, GL11.GL_COMPILE);
-				switch(component){
-					case CORE: {
-						Map<String, Float[][]> parsedModel = AModelParser.parseModel(componentItem.definition.getModelLocation(componentItem.subName));
-						GL11.glBegin(GL11.GL_TRIANGLES);
-						
-						//If we are a dynamic curve, cache the dynamic vertex paths.
-						//If we are static, just render the model as-is.
-						if(road.definition.road.isDynamic && road.dynamicCurve != null){
-							//Core components need to be transformed to wedges.
-							List<Float[]> transformedVertices = new ArrayList<Float[]>();
-							Point3d priorPosition = new Point3d();
-							Point3d priorRotation = new Point3d();
-							Point3d rotationDelta = new Point3d();
-							float priorIndex = 0;
-							
-							for(float currentIndex=1; currentIndex<=road.dynamicCurve.pathLength; ++currentIndex){
-								//Copy the master vertices to our transformed ones.
-								transformedVertices.clear();
-								for(Float[][] vertexSet : parsedModel.values()){
-									for(Float[] vertex : vertexSet){
-										transformedVertices.add(new Float[]{vertex[0], vertex[1], vertex[2], vertex[3], vertex[4], vertex[5], vertex[6], vertex[7]});
-									}
-								}
-								
-								//Get current and prior curve position and rotation.
-								//From this, we know how much to stretch the model to that point's rendering area.
-								road.dynamicCurve.setPointToPositionAt(priorPosition, priorIndex);
-								road.dynamicCurve.setPointToRotationAt(priorRotation, priorIndex);
-								road.dynamicCurve.setPointToPositionAt(position, currentIndex);
-								road.dynamicCurve.setPointToRotationAt(rotation, currentIndex);
-								
-								//If we are a really sharp curve, we might have inverted our model at the inner corner.
-								//Check for this, and if we have done so, skip this segment.
-								//If we detect this in the last 3 segments, skip right to the end.
-								//This prevents a missing end segment due to collision.
-								rotationDelta.setTo(rotation).subtract(priorRotation);
-								Point3d testPoint1 = new Point3d(road.definition.road.borderOffset, 0, 0).rotateFine(priorRotation).add(priorPosition);
-								Point3d testPoint2 = new Point3d(road.definition.road.borderOffset, 0, 0).rotateFine(rotation).add(position);
-								if(currentIndex != road.dynamicCurve.pathLength && (position.x - priorPosition.x)*(testPoint2.x - testPoint1.x) < 0 || (position.z - priorPosition.z)*(testPoint2.z - testPoint1.z) < 0){
-									if(currentIndex != road.dynamicCurve.pathLength && currentIndex + 3 > road.dynamicCurve.pathLength){
-										currentIndex = road.dynamicCurve.pathLength - 1;
-									}
-									continue;
-								}
-								
-								//Depending on the vertex position in the model, transform it to match with the offset rotation.
-								//This depends on how far the vertex is from the origin of the model, and how big the delta is.
-								//For all points, their magnitude depends on how far away they are on the Z-axis.
-								for(Float[] vertex : transformedVertices){
-									Point3d vertexOffsetPrior = new Point3d(vertex[0], vertex[1], 0);
-									vertexOffsetPrior.rotateFine(priorRotation).add(priorPosition);
-									Point3d vertexOffsetCurrent = new Point3d(vertex[0], vertex[1], vertex[2]);
-									vertexOffsetCurrent.rotateFine(rotation).add(position);
-									
-									Point3d segmentVector = vertexOffsetPrior.copy().subtract(vertexOffsetCurrent).multiply(Math.abs(vertex[2]));
-									Point3d renderedVertex = vertexOffsetCurrent.copy().add(segmentVector);
-									
-									GL11.glTexCoord2f(vertex[3], vertex[4]);
-									GL11.glNormal3f(vertex[5], vertex[6], vertex[7]);
-									GL11.glVertex3d(renderedVertex.x, renderedVertex.y, renderedVertex.z);
-								}
-								
-								//Set the last index.
-								priorIndex = currentIndex;
-								
-								//If we are at the last index, do special logic to get the very end point.
-								if(currentIndex != road.dynamicCurve.pathLength && currentIndex + 1 > road.dynamicCurve.pathLength){
-									currentIndex -= ((currentIndex + 1) - road.dynamicCurve.pathLength);
-								}
-							}
-						}else if(!road.definition.road.isDynamic){
-							for(Float[][] vertexSet : parsedModel.values()){
-								for(Float[] vertex : vertexSet){
-									GL11.glTexCoord2f(vertex[3], vertex[4]);
-									GL11.glNormal3f(vertex[5], vertex[6], vertex[7]);
-									//Need to offset by 0.5 to match the offset of the TE as we're block-aligned.
-									position.set(vertex[0] - 0.5, vertex[1], vertex[2] - 0.5);
-									position.rotateFine(road.rotation);
-									GL11.glVertex3d(position.x, position.y, position.z);
-								}
-							}
-						}
-						GL11.glEnd();
+				if(mesh.length > 0){
+					GL11.glBegin(GL11.GL_TRIANGLES);
+					for(int i=0; i<mesh.length; i+=RoadMeshGenerator.VERTEX_SIZE){
+						GL11.glTexCoord2f(mesh[i + 3], mesh[i + 4]);
+						GL11.glNormal3f(mesh[i + 5], mesh[i + 6], mesh[i + 7]);
+						GL11.glVertex3f(mesh[i], mesh[i + 1], mesh[i + 2]);
 					}
-					case LEFT_BORDER:
-						break;
-					case RIGHT_BORDER:
-						break;
-					case LEFT_MARKING:
-						break;
-					case CENTER_MARKING:
-						break;
-					case RIGHT_MARKING:
-						break;
-					case SUPPORT:
-						break;
-					case UNDERLAYMENT:
-						break;
-					default:
-						break;
+					GL11.glEnd();
 				}
 				GL11.glEndList();
 				cachedVertexMap.put(component, displayListIndex);
@@ -194,20 +170,26 @@ public class RenderRoad extends ARenderTileEntityBase<TileEntityRoad>{
 			//Render the curves.
 			//First render the actual curve if we are a dynamic road.
 			if(road.dynamicCurve != null){
+				//Get points every 0.1 blocks along the curve.
+				Point3d[] curvePositions = new Point3d[Math.max((int) Math.ceil(road.dynamicCurve.pathLength*10), 1) + 1];
+				Point3d[] curveRotations = new Point3d[curvePositions.length];
+				for(int i=0; i<curvePositions.length; ++i){
+					curvePositions[i] = new Point3d();
+					curveRotations[i] = new Point3d();
+				}
+				road.dynamicCurve.setPointsToFrames(curvePositions, curveRotations);
+				
 				//Render actual curve.
 				InterfaceRender.setColorState(0, 1, 0, 1);
-				for(float f=0; f<road.dynamicCurve.pathLength; f+=0.1){
-					road.dynamicCurve.setPointToPositionAt(position, f);
-					GL11.glVertex3d(position.x, position.y, position.z);
-					GL11.glVertex3d(position.x, position.y + 1.0, position.z);
+				for(Point3d curvePosition : curvePositions){
+					GL11.glVertex3d(curvePosition.x, curvePosition.y, curvePosition.z);
+					GL11.glVertex3d(curvePosition.x, curvePosition.y + 1.0, curvePosition.z);
 				}
 				
 				//Render the outer border bounds.
 				InterfaceRender.setColorState(0, 1, 1, 1);
-				for(float f=0; f<road.dynamicCurve.pathLength; f+=0.1){
-					road.dynamicCurve.setPointToRotationAt(rotation, f);
-					position.set(road.definition.road.borderOffset, 0, 0).rotateFine(rotation);
-					road.dynamicCurve.offsetPointByPositionAt(position, f);
+				for(int i=0; i<curvePositions.length; ++i){
+					position.set(road.definition.road.borderOffset, 0, 0).rotateFine(curveRotations[i]).add(curvePositions[i]);
 					
 					GL11.glVertex3d(position.x, position.y, position.z);
 					GL11.glVertex3d(position.x, position.y + 1.0, position.z);
@@ -183,7 +183,7 @@ public class CameraSystem{
         			}
 					
     				//Now that the transformed camera is ready, add the camera initial offset position and rotation.
-					Point3d entityAnglesDelta = cameraProvider.prevAngles.getInterpolatedPoint(cameraProvider.angles, partialTicks);
+					Point3d entityAnglesDelta = cameraProvider.getInterpolatedAngles(partialTicks);
 					cameraRotation.add(entityAnglesDelta);
 					cameraPosition.add(camera.pos).rotateFine(entityAnglesDelta);
     				if(camera.rot != null){
@@ -193,7 +193,7 @@ public class CameraSystem{
     				//Camera is positioned and rotated to match the entity.  Do OpenGL transforms to set it.
 					//Get the distance from the entity's center point to the rendered player to get a 0,0,0 starting point.
         			//Need to take into account the player's eye height.  This is where the camera is, but not where the player is positioned.
-					Point3d entityPositionDelta = cameraProvider.prevPosition.getInterpolatedPoint(cameraProvider.position, partialTicks);
+					Point3d entityPositionDelta = cameraProvider.getInterpolatedPosition(partialTicks);
 					entityPositionDelta.subtract(player.getRenderedPosition(partialTicks).add(0, player.getEyeHeight(), 0));
 					cameraPosition.add(entityPositionDelta);
             		
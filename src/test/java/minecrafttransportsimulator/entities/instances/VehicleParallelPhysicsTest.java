@@ -0,0 +1,85 @@
+package minecrafttransportsimulator.entities.instances;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.harness.ControlScript;
+import minecrafttransportsimulator.harness.HeadlessPackLoader;
+import minecrafttransportsimulator.harness.Trajectory;
+import minecrafttransportsimulator.harness.VehicleTickRunner;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld.HeadlessBlock;
+
+/**Checks that calculating forces with {@link EntityVehicleF_Physics#calculateForcesInParallel}
+ * moves vehicles exactly the same as calculating them in each vehicle's update.
+ *
+ * @author don_bruce
+ */
+public class VehicleParallelPhysicsTest{
+	private static final int GROUND_HEIGHT = 64;
+
+	@BeforeClass
+	public static void loadPack(){
+		HeadlessPackLoader.init();
+	}
+
+	private static List<Trajectory> run(boolean parallelForces){
+		VehicleTickRunner runner = new VehicleTickRunner(new HeadlessWorld(GROUND_HEIGHT, HeadlessBlock.STONE), parallelForces);
+		try{
+			//A wall for one car to hit, and a ledge for another to drop off.
+			runner.world.fillBlocks(20, GROUND_HEIGHT, 25, 30, GROUND_HEIGHT + 2, 25, HeadlessBlock.STONE);
+			runner.world.fillBlocks(40, GROUND_HEIGHT, -5, 50, GROUND_HEIGHT + 1, 10, HeadlessBlock.STONE);
+
+			List<Trajectory> trajectories = new ArrayList<Trajectory>();
+			trajectories.add(runner.addVehicle(HeadlessPackLoader.spawnVehicle(runner.world, "testcar", new Point3d(0.5, GROUND_HEIGHT + 0.1, 0.5), 0), new ControlScript()
+					.at(1).startEngines()
+					.at(40).shiftUp()
+					.at(45).throttle(75)
+					.at(160).rudder(200)
+					.at(220).rudder(0).throttle(0).brake(100)));
+			trajectories.add(runner.addVehicle(HeadlessPackLoader.spawnVehicle(runner.world, "testcar", new Point3d(25.5, GROUND_HEIGHT + 0.1, 0.5), 0), new ControlScript()
+					.at(1).startEngines()
+					.at(40).shiftUp()
+					.at(45).throttle(100)));
+			trajectories.add(runner.addVehicle(HeadlessPackLoader.spawnVehicle(runner.world, "testcar", new Point3d(-30.5, GROUND_HEIGHT + 0.1, 0.5), 90), new ControlScript()
+					.at(1).startEngines()
+					.at(40).shiftUp()
+					.at(45).throttle(50).rudder(-300)));
+
+			EntityVehicleF_Physics coastingCar = HeadlessPackLoader.spawnVehicle(runner.world, "testcar", new Point3d(45.5, GROUND_HEIGHT + 2.1, 0.5), 0);
+			coastingCar.motion.set(0, 0, 0.5);
+			coastingCar.prevMotion.setTo(coastingCar.motion);
+			trajectories.add(runner.addVehicle(coastingCar, new ControlScript().at(120).brake(100)));
+
+			EntityVehicleF_Physics glider = HeadlessPackLoader.spawnVehicle(runner.world, "testglider", new Point3d(0.5, GROUND_HEIGHT + 30, -60.5), 180);
+			glider.motion.set(0, 0, -1.5);
+			glider.prevMotion.setTo(glider.motion);
+			trajectories.add(runner.addVehicle(glider, new ControlScript()
+					.at(20).elevator(-60)
+					.at(80).elevator(0).aileron(80)
+					.at(120).aileron(0)));
+
+			runner.run(300);
+			return trajectories;
+		}finally{
+			runner.close();
+		}
+	}
+
+	@Test
+	public void parallelMatchesSerial(){
+		List<Trajectory> serial = run(false);
+		List<Trajectory> parallel = run(true);
+		assertEquals(serial.size(), parallel.size());
+		for(int i=0; i<serial.size(); ++i){
+			assertNull("Vehicle " + i + " moved differently with parallel forces", parallel.get(i).compareTo(serial.get(i), 0));
+		}
+	}
+}
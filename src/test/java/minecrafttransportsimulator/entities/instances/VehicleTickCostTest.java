@@ -0,0 +1,78 @@
+package minecrafttransportsimulator.entities.instances;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.harness.ControlScript;
+import minecrafttransportsimulator.harness.HeadlessPackLoader;
+import minecrafttransportsimulator.harness.VehicleTickRunner;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld.HeadlessBlock;
+
+/**Tick-cost benchmarks for vehicle physics.  These run a grid of driving cars and print how long
+ * each tick took, both with and without the parallel force pass.  Timings depend on the machine,
+ * so nothing is checked unless a budget is given with the mts.maxTickMicros system property.  If it
+ * is, the mean cost per vehicle per tick, in microseconds, must be under that budget.
+ *
+ * @author don_bruce
+ */
+public class VehicleTickCostTest{
+	private static final int GROUND_HEIGHT = 64;
+	private static final int GRID_SIZE = 7;
+	private static final int WARMUP_TICKS = 200;
+	private static final int MEASURED_TICKS = 400;
+
+	@BeforeClass
+	public static void loadPack(){
+		HeadlessPackLoader.init();
+	}
+
+	@Test
+	public void serialTickCost(){
+		benchmark(false);
+	}
+
+	@Test
+	public void parallelTickCost(){
+		benchmark(true);
+	}
+
+	private static void benchmark(boolean parallelForces){
+		VehicleTickRunner runner = new VehicleTickRunner(new HeadlessWorld(GROUND_HEIGHT, HeadlessBlock.STONE), parallelForces);
+		try{
+			//Cars drive in circles so they stay in their own spot on the grid and don't sleep.
+			ControlScript script = new ControlScript()
+					.at(1).startEngines()
+					.at(40).shiftUp()
+					.at(45).throttle(40).rudder(300);
+			for(int i=0; i<GRID_SIZE; ++i){
+				for(int j=0; j<GRID_SIZE; ++j){
+					runner.addVehicle(HeadlessPackLoader.spawnVehicle(runner.world, "testcar", new Point3d(i*40 + 0.5, GROUND_HEIGHT + 0.1, j*40 + 0.5), 0), script);
+				}
+			}
+			runner.run(WARMUP_TICKS + MEASURED_TICKS);
+
+			long[] tickNanos = Arrays.copyOfRange(runner.getTickNanos(), WARMUP_TICKS, WARMUP_TICKS + MEASURED_TICKS);
+			Arrays.sort(tickNanos);
+			double meanMicros = Arrays.stream(tickNanos).average().getAsDouble()/1000D;
+			double p50Micros = tickNanos[tickNanos.length/2]/1000D;
+			double p99Micros = tickNanos[(int) Math.ceil(tickNanos.length*0.99) - 1]/1000D;
+			int vehicles = GRID_SIZE*GRID_SIZE;
+			double meanVehicleMicros = meanMicros/vehicles;
+			System.out.println(String.format(Locale.ROOT, "%s tick cost for %d vehicles: mean %.1fus, p50 %.1fus, p99 %.1fus, mean per vehicle %.2fus", parallelForces ? "Parallel" : "Serial", vehicles, meanMicros, p50Micros, p99Micros, meanVehicleMicros));
+
+			String budget = System.getProperty("mts.maxTickMicros");
+			if(budget != null){
+				assertTrue("Mean tick cost per vehicle of " + meanVehicleMicros + "us is over the budget of " + budget + "us", meanVehicleMicros <= Double.parseDouble(budget));
+			}
+		}finally{
+			runner.close();
+		}
+	}
+}
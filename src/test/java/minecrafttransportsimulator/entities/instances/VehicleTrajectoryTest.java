@@ -0,0 +1,161 @@
+package minecrafttransportsimulator.entities.instances;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.harness.ControlScript;
+import minecrafttransportsimulator.harness.HeadlessPackLoader;
+import minecrafttransportsimulator.harness.Trajectory;
+import minecrafttransportsimulator.harness.VehicleTickRunner;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld.HeadlessBlock;
+
+/**Golden-trajectory tests for vehicle physics.  Each test drives a test pack vehicle with a
+ * control script and checks the path it takes against a recorded golden trajectory.  Any change
+ * to the physics that moves a vehicle differently will fail these, so if a change is meant to
+ * do that, re-record the goldens with -PupdateGoldens and check the new paths make sense.
+ * <br><br>
+ * Goldens that don't exist yet are recorded on the first run, and the test is skipped.
+ *
+ * @author don_bruce
+ */
+public class VehicleTrajectoryTest{
+	private static final File GOLDEN_DIR = new File(System.getProperty("mts.goldenDir", "src/test/resources/golden"));
+	private static final boolean UPDATE_GOLDENS = Boolean.getBoolean("mts.updateGoldens");
+	/**Allowed difference from the goldens.  Paths are deterministic, so this only covers differences in floating-point math between JVMs.**/
+	private static final double TOLERANCE = 1E-4;
+	private static final int GROUND_HEIGHT = 64;
+
+	@BeforeClass
+	public static void loadPack(){
+		HeadlessPackLoader.init();
+	}
+
+	/**
+	 *  Script for a car that starts, pulls away, turns, and then brakes to a stop.
+	 */
+	private static ControlScript driveAndBrake(){
+		return new ControlScript()
+				.at(1).parkingBrake(true).startEngines()
+				.at(40).parkingBrake(false).shiftUp()
+				.at(45).throttle(75)
+				.at(160).rudder(200)
+				.at(220).rudder(0).throttle(0).brake(100)
+				.at(300).parkingBrake(true);
+	}
+
+	private static Trajectory runCar(HeadlessBlock ground, int ticks){
+		VehicleTickRunner runner = new VehicleTickRunner(new HeadlessWorld(GROUND_HEIGHT, ground), false);
+		try{
+			EntityVehicleF_Physics car = HeadlessPackLoader.spawnVehicle(runner.world, "testcar", new Point3d(0.5, GROUND_HEIGHT + 0.1, 0.5), 0);
+			Trajectory trajectory = runner.addVehicle(car, driveAndBrake());
+			runner.run(ticks);
+			return trajectory;
+		}finally{
+			runner.close();
+		}
+	}
+
+	@Test
+	public void carDrivesAndBrakesOnStone() throws IOException{
+		Trajectory trajectory = runCar(HeadlessBlock.STONE, 360);
+		assertTrue("Car should have driven forwards", trajectory.getSample(219)[2] > 5);
+		assertTrue("Car should have slowed down under braking", trajectory.getSample(359)[6] < trajectory.getSample(219)[6]);
+		checkGolden("car_stone", trajectory);
+	}
+
+	@Test
+	public void carDrivesAndBrakesOnIce() throws IOException{
+		checkGolden("car_ice", runCar(HeadlessBlock.ICE, 360));
+	}
+
+	@Test
+	public void carHitsWall() throws IOException{
+		VehicleTickRunner runner = new VehicleTickRunner(new HeadlessWorld(GROUND_HEIGHT, HeadlessBlock.STONE), false);
+		try{
+			runner.world.fillBlocks(-10, GROUND_HEIGHT, 30, 10, GROUND_HEIGHT + 2, 30, HeadlessBlock.STONE);
+			EntityVehicleF_Physics car = HeadlessPackLoader.spawnVehicle(runner.world, "testcar", new Point3d(0.5, GROUND_HEIGHT + 0.1, 0.5), 0);
+			Trajectory trajectory = runner.addVehicle(car, new ControlScript()
+					.at(1).startEngines()
+					.at(40).shiftUp()
+					.at(45).throttle(100));
+			runner.run(300);
+			for(int i=0; i<trajectory.size(); ++i){
+				assertTrue("Car went through the wall on sample " + i, trajectory.getSample(i)[2] < 30);
+			}
+			checkGolden("car_wall", trajectory);
+		}finally{
+			runner.close();
+		}
+	}
+
+	@Test
+	public void carCoastsOffLedge() throws IOException{
+		VehicleTickRunner runner = new VehicleTickRunner(new HeadlessWorld(GROUND_HEIGHT, HeadlessBlock.STONE), false);
+		try{
+			runner.world.fillBlocks(-5, GROUND_HEIGHT, -5, 5, GROUND_HEIGHT + 1, 10, HeadlessBlock.STONE);
+			EntityVehicleF_Physics car = HeadlessPackLoader.spawnVehicle(runner.world, "testcar", new Point3d(0.5, GROUND_HEIGHT + 2.1, 0.5), 0);
+			car.motion.set(0, 0, 0.5);
+			car.prevMotion.setTo(car.motion);
+			Trajectory trajectory = runner.addVehicle(car, new ControlScript().at(120).brake(100));
+			runner.run(240);
+			assertTrue("Car should have dropped off the ledge", trajectory.getSample(239)[1] < GROUND_HEIGHT + 1);
+			checkGolden("car_ledge", trajectory);
+		}finally{
+			runner.close();
+		}
+	}
+
+	@Test
+	public void gliderGlidesAndLands() throws IOException{
+		VehicleTickRunner runner = new VehicleTickRunner(new HeadlessWorld(GROUND_HEIGHT, HeadlessBlock.STONE), false);
+		try{
+			double startHeight = GROUND_HEIGHT + 30;
+			EntityVehicleF_Physics glider = HeadlessPackLoader.spawnVehicle(runner.world, "testglider", new Point3d(0.5, startHeight, 0.5), 0);
+			glider.motion.set(0, 0, 1.5);
+			glider.prevMotion.setTo(glider.motion);
+			Trajectory trajectory = runner.addVehicle(glider, new ControlScript()
+					.at(20).elevator(-60)
+					.at(80).elevator(0).aileron(80)
+					.at(120).aileron(-80)
+					.at(160).aileron(0)
+					.at(300).brake(100));
+			runner.run(500);
+			assertTrue("Glider should have come down", trajectory.getSample(499)[1] < startHeight);
+			checkGolden("glider", trajectory);
+		}finally{
+			runner.close();
+		}
+	}
+
+	@Test
+	public void runsAreDeterministic(){
+		assertNull(runCar(HeadlessBlock.STONE, 360).compareTo(runCar(HeadlessBlock.STONE, 360), 0));
+	}
+
+	/**
+	 *  Checks the passed-in trajectory against the golden with the passed-in name.
+	 *  If there's no golden, or we are updating them, the trajectory is saved as the
+	 *  golden instead and the test is skipped.
+	 */
+	static void checkGolden(String name, Trajectory actual) throws IOException{
+		File golden = new File(GOLDEN_DIR, name + ".csv");
+		if(UPDATE_GOLDENS || !golden.exists()){
+			actual.save(golden);
+			Assume.assumeTrue("Recorded golden trajectory " + golden + ", re-run to check against it.", false);
+		}
+		String mismatch = actual.compareTo(Trajectory.load(golden), TOLERANCE);
+		if(mismatch != null){
+			fail("Trajectory doesn't match golden " + name + ".  " + mismatch);
+		}
+	}
+}
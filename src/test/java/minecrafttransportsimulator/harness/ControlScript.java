@@ -0,0 +1,182 @@
+package minecrafttransportsimulator.harness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.entities.instances.PartEngine;
+
+/**Scripted control inputs for a vehicle, in place of a player.  Scripts are made of keyframes.
+ * Each keyframe starts on a tick and sets some of the controls; any control it doesn't set keeps
+ * the value from the keyframe before it.  Controls start out with the throttle closed, brakes off,
+ * and all surfaces centered.  Keyframes may also have actions, like starting the engines, which
+ * are only done once on the keyframe's tick.
+ * <br><br>
+ * Controls are re-applied every tick right before the vehicle updates, and surfaces are held
+ * where they are set, so they won't dampen back to center like they do when a player lets go.
+ * Scripts hold no state of their own, so one script may drive any number of vehicles.
+ *
+ * @author don_bruce
+ */
+public class ControlScript{
+	private final TreeMap<Long, Keyframe> keyframes = new TreeMap<Long, Keyframe>();
+	private Keyframe current;
+
+	public ControlScript(){
+		at(0);
+	}
+
+	/**
+	 *  Starts (or goes back to) the keyframe for the passed-in tick.
+	 *  All calls after this one set controls on that keyframe.
+	 */
+	public ControlScript at(long tick){
+		current = keyframes.get(tick);
+		if(current == null){
+			current = new Keyframe();
+			keyframes.put(tick, current);
+		}
+		return this;
+	}
+
+	/**Throttle, from 0 to 100.**/
+	public ControlScript throttle(int throttle){
+		current.throttle = throttle;
+		return this;
+	}
+
+	/**Brake, from 0 to 100.**/
+	public ControlScript brake(int brake){
+		current.brake = brake;
+		return this;
+	}
+
+	public ControlScript parkingBrake(boolean parkingBrakeOn){
+		current.parkingBrake = parkingBrakeOn;
+		return this;
+	}
+
+	/**Rudder, and steering for cars.  Ranges from {@link EntityVehicleF_Physics#MAX_RUDDER_ANGLE} to its negative.**/
+	public ControlScript rudder(int angle){
+		current.rudder = angle;
+		return this;
+	}
+
+	/**Ailerons.  Ranges from {@link EntityVehicleF_Physics#MAX_AILERON_ANGLE} to its negative.**/
+	public ControlScript aileron(int angle){
+		current.aileron = angle;
+		return this;
+	}
+
+	/**Elevators.  Ranges from {@link EntityVehicleF_Physics#MAX_ELEVATOR_ANGLE} to its negative.**/
+	public ControlScript elevator(int angle){
+		current.elevator = angle;
+		return this;
+	}
+
+	/**Flap notch, as an index into the vehicle's flap notches.**/
+	public ControlScript flaps(int notch){
+		current.flaps = notch;
+		return this;
+	}
+
+	/**Starts all engines with their automatic starters.**/
+	public ControlScript startEngines(){
+		current.actions.add(Action.START_ENGINES);
+		return this;
+	}
+
+	/**Shifts all engines up a gear.**/
+	public ControlScript shiftUp(){
+		current.actions.add(Action.SHIFT_UP);
+		return this;
+	}
+
+	/**Shifts all engines down a gear.**/
+	public ControlScript shiftDown(){
+		current.actions.add(Action.SHIFT_DOWN);
+		return this;
+	}
+
+	/**
+	 *  Applies the controls for the passed-in tick to the vehicle, and does any actions for that tick.
+	 *  Call this once per tick, before the vehicle updates.
+	 */
+	public void apply(EntityVehicleF_Physics vehicle, long tick){
+		int throttle = 0;
+		int brake = 0;
+		boolean parkingBrake = false;
+		int rudder = 0;
+		int aileron = 0;
+		int elevator = 0;
+		int flaps = 0;
+		for(Entry<Long, Keyframe> entry : keyframes.headMap(tick, true).entrySet()){
+			Keyframe keyframe = entry.getValue();
+			if(keyframe.throttle != null){
+				throttle = keyframe.throttle;
+			}
+			if(keyframe.brake != null){
+				brake = keyframe.brake;
+			}
+			if(keyframe.parkingBrake != null){
+				parkingBrake = keyframe.parkingBrake;
+			}
+			if(keyframe.rudder != null){
+				rudder = keyframe.rudder;
+			}
+			if(keyframe.aileron != null){
+				aileron = keyframe.aileron;
+			}
+			if(keyframe.elevator != null){
+				elevator = keyframe.elevator;
+			}
+			if(keyframe.flaps != null){
+				flaps = keyframe.flaps;
+			}
+		}
+
+		vehicle.throttle = (byte) throttle;
+		vehicle.brake = (byte) brake;
+		vehicle.parkingBrakeOn = parkingBrake;
+		vehicle.rudderAngle = (short) rudder;
+		vehicle.aileronAngle = (short) aileron;
+		vehicle.elevatorAngle = (short) elevator;
+		vehicle.flapNotchSelected = flaps;
+		//Keep the surfaces from dampening this tick.
+		vehicle.rudderCooldown = 1;
+		vehicle.aileronCooldown = 1;
+		vehicle.elevatorCooldown = 1;
+
+		Keyframe keyframe = keyframes.get(tick);
+		if(keyframe != null){
+			for(Action action : keyframe.actions){
+				for(PartEngine engine : vehicle.engines.values()){
+					switch(action){
+						case START_ENGINES : engine.autoStartEngine(); break;
+						case SHIFT_UP : engine.shiftUp(false); break;
+						case SHIFT_DOWN : engine.shiftDown(false); break;
+					}
+				}
+			}
+		}
+	}
+
+	private static class Keyframe{
+		private Integer throttle;
+		private Integer brake;
+		private Boolean parkingBrake;
+		private Integer rudder;
+		private Integer aileron;
+		private Integer elevator;
+		private Integer flaps;
+		private final List<Action> actions = new ArrayList<Action>();
+	}
+
+	private static enum Action{
+		START_ENGINES,
+		SHIFT_UP,
+		SHIFT_DOWN;
+	}
+}
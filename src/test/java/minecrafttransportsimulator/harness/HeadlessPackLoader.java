@@ -0,0 +1,124 @@
+package minecrafttransportsimulator.harness;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.entities.instances.APart;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.entities.instances.PartEngine;
+import minecrafttransportsimulator.items.instances.ItemPartEffector;
+import minecrafttransportsimulator.items.instances.ItemPartEngine;
+import minecrafttransportsimulator.items.instances.ItemPartGeneric;
+import minecrafttransportsimulator.items.instances.ItemPartGroundDevice;
+import minecrafttransportsimulator.items.instances.ItemPartGun;
+import minecrafttransportsimulator.items.instances.ItemPartInteractable;
+import minecrafttransportsimulator.items.instances.ItemPartPropeller;
+import minecrafttransportsimulator.items.instances.ItemPartSeat;
+import minecrafttransportsimulator.items.instances.ItemVehicle;
+import minecrafttransportsimulator.jsondefs.AJSONItem;
+import minecrafttransportsimulator.jsondefs.JSONConfig;
+import minecrafttransportsimulator.jsondefs.JSONPartDefinition;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld;
+import minecrafttransportsimulator.packloading.JSONParser;
+import minecrafttransportsimulator.packloading.PackResourceLoader.ItemClassification;
+import minecrafttransportsimulator.systems.ConfigSystem;
+import minecrafttransportsimulator.systems.PackParserSystem;
+
+/**Loads the test pack and spawns vehicles from it without MC.  The test pack lives in the
+ * test resources under the same jsondefs layout a real pack uses, and every definition in it
+ * goes through the same parser and legacy compats as a real pack does.  Only the JSONs are
+ * loaded: there are no models, textures, or sounds, and no MC items are created.
+ * <br><br>
+ * Vehicles are spawned the same way {@link ItemVehicle} spawns them, just without a player.
+ * All engines are made creative so runs don't depend on fuel.
+ *
+ * @author don_bruce
+ */
+public final class HeadlessPackLoader{
+	public static final String PACK_ID = "mtstest";
+	private static final String[] VEHICLES = {"testcar", "testglider"};
+	private static final String[] PARTS = {"testwheel", "testengine"};
+	private static boolean initialized;
+
+	private HeadlessPackLoader(){}
+
+	/**
+	 *  Sets up the config and part creators, and loads the test pack.
+	 *  Safe to call multiple times: everything is only loaded once.
+	 */
+	public static synchronized void init(){
+		if(!initialized){
+			//Default config.  This has to be set before any vehicle classes load as some read it statically.
+			ConfigSystem.configObject = new JSONConfig();
+
+			//Same creators as the loader adds.  We can't use the loader here as it needs MC to init.
+			PackParserSystem.addItemPartCreator(ItemPartEffector.CREATOR);
+			PackParserSystem.addItemPartCreator(ItemPartEngine.CREATOR);
+			PackParserSystem.addItemPartCreator(ItemPartGeneric.CREATOR);
+			PackParserSystem.addItemPartCreator(ItemPartGroundDevice.CREATOR);
+			PackParserSystem.addItemPartCreator(ItemPartGun.CREATOR);
+			PackParserSystem.addItemPartCreator(ItemPartInteractable.CREATOR);
+			PackParserSystem.addItemPartCreator(ItemPartPropeller.CREATOR);
+			PackParserSystem.addItemPartCreator(ItemPartSeat.CREATOR);
+
+			for(String systemName : PARTS){
+				loadDefinition(ItemClassification.PART, systemName);
+			}
+			for(String systemName : VEHICLES){
+				loadDefinition(ItemClassification.VEHICLE, systemName);
+			}
+			initialized = true;
+		}
+	}
+
+	/**
+	 *  Parses and registers the test pack definition with the passed-in classification and name.
+	 */
+	private static void loadDefinition(ItemClassification classification, String systemName){
+		String resource = "/assets/" + PACK_ID + "/jsondefs/" + classification.toDirectory() + systemName + ".json";
+		try(InputStream stream = HeadlessPackLoader.class.getResourceAsStream(resource)){
+			if(stream == null){
+				throw new IllegalStateException("Missing test pack definition: " + resource);
+			}
+			AJSONItem definition = JSONParser.parseStream(new InputStreamReader(stream, "UTF-8"), classification.representingClass, PACK_ID, systemName);
+			definition.packID = PACK_ID;
+			definition.systemName = systemName;
+			definition.classification = classification;
+			definition.prefixFolders = "";
+			PackParserSystem.registerItem(definition);
+		}catch(Exception e){
+			throw new IllegalStateException("Could not load test pack definition: " + resource, e);
+		}
+	}
+
+	/**
+	 *  Spawns a new vehicle from the test pack at the passed-in position, facing the passed-in yaw.
+	 *  The vehicle has its default parts, but they won't be added until its first update.
+	 */
+	public static EntityVehicleF_Physics spawnVehicle(HeadlessWorld world, String systemName, Point3d position, double yaw){
+		init();
+		ItemVehicle item = PackParserSystem.getItem(PACK_ID, systemName);
+		if(item == null){
+			throw new IllegalArgumentException("No test pack vehicle named: " + systemName);
+		}
+		EntityVehicleF_Physics vehicle = item.createEntity(world, item.validateData(null));
+		vehicle.position.setTo(position);
+		vehicle.prevPosition.setTo(vehicle.position);
+		vehicle.angles.set(0, yaw, 0);
+		vehicle.prevAngles.setTo(vehicle.angles);
+		vehicle.motion.set(0, 0, 0);
+		vehicle.prevMotion.set(0, 0, 0);
+		vehicle.electricPower = 12;
+		vehicle.addDefaultInstruments();
+		for(JSONPartDefinition partDef : vehicle.definition.parts){
+			vehicle.addDefaultPart(partDef, vehicle.definition, true, false);
+		}
+		for(APart part : vehicle.partsFromNBT){
+			if(part instanceof PartEngine){
+				((PartEngine) part).isCreative = true;
+			}
+		}
+		return vehicle;
+	}
+}
@@ -0,0 +1,124 @@
+package minecrafttransportsimulator.harness;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+
+/**Recorded path of a vehicle, one sample per tick.  Each sample has the vehicle's position,
+ * angles, and velocity after that tick's update.  Trajectories can be saved to and loaded
+ * from CSV files, which is how golden trajectories are stored.
+ *
+ * @author don_bruce
+ */
+public class Trajectory{
+	private static final String HEADER = "tick,x,y,z,pitch,yaw,roll,velocity";
+	private static final int VALUES = 7;
+
+	private final List<Long> ticks = new ArrayList<Long>();
+	private final List<double[]> samples = new ArrayList<double[]>();
+
+	/**
+	 *  Records the current state of the passed-in vehicle for the passed-in tick.
+	 */
+	public void record(long tick, EntityVehicleF_Physics vehicle){
+		ticks.add(tick);
+		samples.add(new double[]{vehicle.position.x, vehicle.position.y, vehicle.position.z, vehicle.angles.x, vehicle.angles.y, vehicle.angles.z, vehicle.velocity});
+	}
+
+	public int size(){
+		return samples.size();
+	}
+
+	/**
+	 *  Returns the sample for the passed-in index, in the same order as the CSV columns after the tick.
+	 */
+	public double[] getSample(int index){
+		return samples.get(index).clone();
+	}
+
+	/**
+	 *  Compares this trajectory to the passed-in expected trajectory.  Returns null if they match, or
+	 *  a description of the first sample that doesn't if they don't.  Values match if they are within the
+	 *  passed-in tolerance.  A tolerance of 0 requires the trajectories to be exactly the same.
+	 */
+	public String compareTo(Trajectory expected, double tolerance){
+		if(size() != expected.size()){
+			return "Expected " + expected.size() + " samples, but got " + size();
+		}
+		for(int i=0; i<size(); ++i){
+			if(!ticks.get(i).equals(expected.ticks.get(i))){
+				return "Expected tick " + expected.ticks.get(i) + " at sample " + i + ", but got tick " + ticks.get(i);
+			}
+			double[] actualSample = samples.get(i);
+			double[] expectedSample = expected.samples.get(i);
+			for(int j=0; j<VALUES; ++j){
+				//Compare bits for no tolerance so NaNs from bad physics still match themselves.
+				boolean matches = tolerance == 0 ? Double.doubleToLongBits(actualSample[j]) == Double.doubleToLongBits(expectedSample[j]) : Math.abs(actualSample[j] - expectedSample[j]) <= tolerance;
+				if(!matches){
+					return "Mismatch on tick " + ticks.get(i) + " for " + HEADER.split(",")[j + 1] + ": expected " + expectedSample[j] + ", but got " + actualSample[j] + "\nExpected: " + formatSample(i, expectedSample) + "\nActual:   " + formatSample(i, actualSample);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 *  Saves this trajectory to the passed-in file as a CSV.  Values are written with full precision.
+	 */
+	public void save(File file) throws IOException{
+		file.getParentFile().mkdirs();
+		try(BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)){
+			writer.write(HEADER);
+			writer.newLine();
+			for(int i=0; i<size(); ++i){
+				writer.write(formatSample(i, samples.get(i)));
+				writer.newLine();
+			}
+		}
+	}
+
+	/**
+	 *  Loads a trajectory from the passed-in CSV file, as saved by {@link #save(File)}.
+	 */
+	public static Trajectory load(File file) throws IOException{
+		Trajectory trajectory = new Trajectory();
+		try(BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)){
+			String line = reader.readLine();
+			if(!HEADER.equals(line)){
+				throw new IOException("Not a trajectory file: " + file);
+			}
+			while((line = reader.readLine()) != null){
+				if(!line.isEmpty()){
+					String[] values = line.split(",");
+					if(values.length != VALUES + 1){
+						throw new IOException("Bad trajectory line in " + file + ": " + line);
+					}
+					double[] sample = new double[VALUES];
+					for(int j=0; j<VALUES; ++j){
+						sample[j] = Double.parseDouble(values[j + 1]);
+					}
+					trajectory.ticks.add(Long.parseLong(values[0]));
+					trajectory.samples.add(sample);
+				}
+			}
+		}
+		return trajectory;
+	}
+
+	private String formatSample(int index, double[] sample){
+		StringBuilder builder = new StringBuilder();
+		builder.append(ticks.get(index));
+		for(double value : sample){
+			//Double.toString round-trips exactly, and doesn't depend on locale.
+			builder.append(',').append(Double.toString(value));
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,101 @@
+package minecrafttransportsimulator.harness;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.HeadlessWorld;
+
+/**Runs vehicles in a {@link HeadlessWorld} for a number of ticks, and records what they do.
+ * Each tick goes in the same order MC does it: the world ticks, the parallel force pass runs
+ * if it's enabled, and then every vehicle updates, in the order they were added.  Control
+ * scripts are applied to all vehicles after the world ticks, so the parallel pass sees them, and
+ * trajectories are recorded after all vehicles have updated.
+ * <br><br>
+ * The wall-clock cost of each tick is also recorded, covering the parallel pass and all vehicle
+ * updates, but not the scripts or recording.  This is what the tick-cost benchmarks measure.
+ *
+ * @author don_bruce
+ */
+public class VehicleTickRunner{
+	public final HeadlessWorld world;
+	private final boolean parallelForces;
+	private final List<EntityVehicleF_Physics> vehicles = new ArrayList<EntityVehicleF_Physics>();
+	private final List<ControlScript> scripts = new ArrayList<ControlScript>();
+	private final List<Trajectory> trajectories = new ArrayList<Trajectory>();
+	private long[] tickNanos = new long[0];
+
+	/**
+	 *  Creates a runner for the passed-in world.  If parallelForces is true, forces are calculated
+	 *  with {@link EntityVehicleF_Physics#calculateForcesInParallel} at the start of each tick, the
+	 *  same as when the parallel physics config is on.
+	 */
+	public VehicleTickRunner(HeadlessWorld world, boolean parallelForces){
+		this.world = world;
+		this.parallelForces = parallelForces;
+	}
+
+	/**
+	 *  Adds a vehicle to run with the passed-in script.  Returns the trajectory it will be recorded into.
+	 */
+	public Trajectory addVehicle(EntityVehicleF_Physics vehicle, ControlScript script){
+		Trajectory trajectory = new Trajectory();
+		vehicles.add(vehicle);
+		scripts.add(script);
+		trajectories.add(trajectory);
+		return trajectory;
+	}
+
+	/**
+	 *  Runs all vehicles for the passed-in number of ticks.  May be called more than once to keep running.
+	 *  Vehicles that become invalid are no longer updated or recorded.
+	 */
+	public void run(int ticks){
+		long[] newTickNanos = Arrays.copyOf(tickNanos, tickNanos.length + ticks);
+		for(int i=0; i<ticks; ++i){
+			world.tick();
+			long tick = world.getTick();
+			for(int j=0; j<vehicles.size(); ++j){
+				EntityVehicleF_Physics vehicle = vehicles.get(j);
+				if(vehicle.isValid){
+					scripts.get(j).apply(vehicle, tick);
+				}
+			}
+
+			long startTime = System.nanoTime();
+			if(parallelForces){
+				EntityVehicleF_Physics.calculateForcesInParallel(world);
+			}
+			for(EntityVehicleF_Physics vehicle : vehicles){
+				if(vehicle.isValid){
+					vehicle.update();
+				}
+			}
+			newTickNanos[tickNanos.length + i] = System.nanoTime() - startTime;
+
+			for(int j=0; j<vehicles.size(); ++j){
+				EntityVehicleF_Physics vehicle = vehicles.get(j);
+				if(vehicle.isValid){
+					trajectories.get(j).record(tick, vehicle);
+				}
+			}
+		}
+		tickNanos = newTickNanos;
+	}
+
+	/**
+	 *  Returns the wall-clock cost of every tick run so far, in nanoseconds.
+	 */
+	public long[] getTickNanos(){
+		return tickNanos.clone();
+	}
+
+	/**
+	 *  Removes all entities from the world.  Call this when done with the runner so
+	 *  entities don't leak into other runs.
+	 */
+	public void close(){
+		world.unload();
+	}
+}
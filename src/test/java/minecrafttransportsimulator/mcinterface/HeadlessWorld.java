@@ -0,0 +1,419 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.blocks.components.ABlockBase;
+import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
+import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
+import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.components.AEntityD_Interactable;
+import minecrafttransportsimulator.items.components.AItemBase;
+import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
+import minecrafttransportsimulator.mcinterface.CollisionShapeCache.BlockShape;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+
+/**In-memory world for running entities without MC.  The world is flat ground up to
+ * the ground height, with air above it.  Single blocks may be placed anywhere to make
+ * obstacles, ramps, or pools, and these replace whatever the ground would have been.
+ * Every position is always loaded.  The world never ticks on its own: whatever is
+ * running it must call {@link #tick()} once every tick, before updating its entities.
+ * <br><br>
+ * All block queries entities make are answered from the block grid, and all block
+ * collisions go through the normal collision code in {@link WrapperWorld}, so movement
+ * is the same as it would be on the same blocks in a MC world.  There are no MC entities,
+ * weather, or lighting here, so queries for those return nothing, clear skies, and full light.
+ *
+ * @author don_bruce
+ */
+public class HeadlessWorld extends WrapperWorld{
+	private static final int MAX_HEIGHT = 256;
+
+	private final int groundHeight;
+	private final HeadlessBlock groundBlock;
+	private final Map<Long, HeadlessBlock> placedBlocks = new HashMap<Long, HeadlessBlock>();
+	/**Blocks that were placed or destroyed, and the tick they were changed on.**/
+	private final Map<BlockPos, Long> changedBlocks = new HashMap<BlockPos, Long>();
+	private WrapperNBT savedData = new WrapperNBT();
+	private long tick;
+
+	/**
+	 *  Creates a world with the passed-in block filling every position below the ground height.
+	 *  The top of the ground is at the ground height.
+	 */
+	public HeadlessWorld(int groundHeight, HeadlessBlock groundBlock){
+		super();
+		this.groundHeight = groundHeight;
+		this.groundBlock = groundBlock;
+	}
+
+	/**
+	 *  Advances the world one tick.  Should be called before updating entities for that tick.
+	 */
+	public void tick(){
+		++tick;
+		Iterator<Entry<BlockPos, Long>> iterator = changedBlocks.entrySet().iterator();
+		while(iterator.hasNext()){
+			if(iterator.next().getValue() < tick - 1){
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 *  Removes all entities in this world.  Should be called once the world is no longer needed,
+	 *  as entities are tracked by their world, and would otherwise stay around forever.
+	 */
+	public void unload(){
+		AEntityA_Base.removaAllEntities(this);
+	}
+
+	/**
+	 *  Places the passed-in block at the passed-in position, replacing what was there.
+	 */
+	public void placeBlock(int x, int y, int z, HeadlessBlock block){
+		placedBlocks.put(getKey(x, y, z), block);
+		changedBlocks.put(new BlockPos(x, y, z), tick);
+	}
+
+	/**
+	 *  Places the passed-in block at all positions between the passed-in positions, inclusive.
+	 */
+	public void fillBlocks(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, HeadlessBlock block){
+		for(int i=minX; i<=maxX; ++i){
+			for(int j=minY; j<=maxY; ++j){
+				for(int k=minZ; k<=maxZ; ++k){
+					placeBlock(i, j, k, block);
+				}
+			}
+		}
+	}
+
+	/**
+	 *  Returns the block at the passed-in position.  This will never be null; positions without blocks have air.
+	 */
+	public HeadlessBlock getHeadlessBlock(int x, int y, int z){
+		HeadlessBlock block = placedBlocks.get(getKey(x, y, z));
+		if(block != null){
+			return block;
+		}else{
+			return y < groundHeight ? groundBlock : HeadlessBlock.AIR;
+		}
+	}
+
+	private HeadlessBlock getHeadlessBlock(Point3d position){
+		return getHeadlessBlock((int) Math.floor(position.x), (int) Math.floor(position.y), (int) Math.floor(position.z));
+	}
+
+	private static long getKey(int x, int y, int z){
+		return ((x & 0x3FFFFFFL) << 38) | ((y & 0xFFFL) << 26) | (z & 0x3FFFFFFL);
+	}
+
+	@Override
+	protected BlockShape getCollisionShape(BlockPos pos){
+		return getHeadlessBlock(pos.getX(), pos.getY(), pos.getZ()).shape;
+	}
+
+	@Override
+	protected float getLiquidSurfaceHeight(BlockPos pos){
+		int surfaceY = pos.getY();
+		while(surfaceY + 1 < MAX_HEIGHT && getHeadlessBlock(pos.getX(), surfaceY + 1, pos.getZ()).shape.isLiquid){
+			++surfaceY;
+		}
+		return (float) (surfaceY + getHeadlessBlock(pos.getX(), surfaceY, pos.getZ()).shape.liquidBounds[4]);
+	}
+
+	@Override
+	public boolean isClient(){
+		return false;
+	}
+
+	@Override
+	public int getDimensionID(){
+		return 0;
+	}
+
+	@Override
+	public long getTick(){
+		return tick;
+	}
+
+	@Override
+	public long getTime(){
+		return tick;
+	}
+
+	@Override
+	public long getMaxHeight(){
+		return MAX_HEIGHT;
+	}
+
+	@Override
+	public WrapperNBT getData(){
+		return new WrapperNBT(savedData.tag);
+	}
+
+	@Override
+	public void setData(WrapperNBT data){
+		savedData = data;
+	}
+
+	@Override
+	public WrapperEntity getEntity(String entityID){
+		return null;
+	}
+
+	@Override
+	public List<WrapperEntity> getEntitiesWithin(BoundingBox box){
+		return new ArrayList<WrapperEntity>();
+	}
+
+	@Override
+	public List<WrapperEntity> getEntitiesClassNamed(String className){
+		return new ArrayList<WrapperEntity>();
+	}
+
+	@Override
+	public WrapperEntity getNearestHostile(WrapperEntity entityLooking, int searchRadius){
+		return null;
+	}
+
+	@Override
+	public WrapperEntity getEntityLookingAt(WrapperEntity entityLooking, float searchRadius){
+		return null;
+	}
+
+	@Override
+	public void spawnEntity(AEntityB_Existing entity){
+		//Entities are tracked by their world when created, so there's nothing to spawn.
+	}
+
+	@Override
+	public Map<WrapperEntity, Collection<BoundingBox>> attackEntities(Damage damage, Point3d motion){
+		return new HashMap<WrapperEntity, Collection<BoundingBox>>();
+	}
+
+	@Override
+	public void loadEntities(BoundingBox box, AEntityD_Interactable<?> entityToLoad){}
+
+	@Override
+	public ABlockBase getBlock(Point3d position){
+		return null;
+	}
+
+	@Override
+	public float getBlockHardness(Point3d position){
+		return getHeadlessBlock(position).hardness;
+	}
+
+	@Override
+	public float getFrictionLoss(Point3d position){
+		HeadlessBlock block = getHeadlessBlock(position);
+		return block.shape.isAir ? 0 : 0.6F - block.slipperiness;
+	}
+
+	@Override
+	public float getBlockSlipperiness(Point3d position){
+		return getHeadlessBlock(position).slipperiness;
+	}
+
+	@Override
+	public Point3d getBlockHit(Point3d position, Point3d delta){
+		//Step along the path in sixteenths of a block and return the first block with a collision box at the step.
+		int steps = (int) Math.ceil(delta.length()*16);
+		Point3d checkPosition = new Point3d();
+		for(int i=0; i<=steps; ++i){
+			checkPosition.setTo(delta).multiply(steps != 0 ? i/(double) steps : 0).add(position);
+			int x = (int) Math.floor(checkPosition.x);
+			int y = (int) Math.floor(checkPosition.y);
+			int z = (int) Math.floor(checkPosition.z);
+			double[] bounds = getHeadlessBlock(x, y, z).shape.collisionBounds;
+			for(int l=0; l<bounds.length; l+=6){
+				if(x + bounds[l] <= checkPosition.x && x + bounds[l + 3] >= checkPosition.x && y + bounds[l + 1] <= checkPosition.y && y + bounds[l + 4] >= checkPosition.y && z + bounds[l + 2] <= checkPosition.z && z + bounds[l + 5] >= checkPosition.z){
+					return new Point3d(x, y, z);
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public float getBlockRotation(Point3d position){
+		return 0;
+	}
+
+	@Override
+	public boolean isBlockSolid(Point3d position, Axis axis){
+		return axis.blockBased && getHeadlessBlock(position).shape == CollisionShapeCache.FULL_CUBE;
+	}
+
+	@Override
+	public boolean isBlockLiquid(Point3d position){
+		return getHeadlessBlock(position).shape.isLiquid;
+	}
+
+	@Override
+	public boolean isBlockBottomSlab(Point3d position){
+		return false;
+	}
+
+	@Override
+	public boolean isBlockTopSlab(Point3d position){
+		return false;
+	}
+
+	@Override
+	public double getHeight(Point3d position){
+		int x = (int) Math.floor(position.x);
+		int z = (int) Math.floor(position.z);
+		for(int y=MAX_HEIGHT - 1; y>=0; --y){
+			if(!getHeadlessBlock(x, y, z).shape.isAir){
+				return position.y - (y + 1);
+			}
+		}
+		return position.y;
+	}
+
+	@Override
+	public int getRedstonePower(Point3d position){
+		return 0;
+	}
+
+	@Override
+	public float getRainStrength(Point3d position){
+		return 0;
+	}
+
+	@Override
+	public float getTemperature(Point3d position){
+		//Same as the plains biome.
+		return 0.8F;
+	}
+
+	@Override
+	public <TileEntityType extends ATileEntityBase<JSONDefinition>, JSONDefinition extends AJSONMultiModelProvider> boolean setBlock(ABlockBase block, Point3d position, WrapperPlayer playerWrapper, Axis axis){
+		return false;
+	}
+
+	@Override
+	public WrapperTileEntity getWrapperTileEntity(Point3d position){
+		return null;
+	}
+
+	@Override
+	public <TileEntityType extends ATileEntityBase<?>> TileEntityType getTileEntity(Point3d position){
+		return null;
+	}
+
+	@Override
+	public void markTileEntityChanged(Point3d position){}
+
+	@Override
+	public float getLightBrightness(Point3d position, boolean calculateBlock){
+		return 1.0F;
+	}
+
+	@Override
+	public void updateLightBrightness(Point3d position){}
+
+	@Override
+	public void destroyBlock(Point3d position){
+		placeBlock((int) Math.floor(position.x), (int) Math.floor(position.y), (int) Math.floor(position.z), HeadlessBlock.AIR);
+	}
+
+	@Override
+	public boolean isAir(Point3d position){
+		return getHeadlessBlock(position).shape.isAir;
+	}
+
+	@Override
+	public boolean hasBlockChangedNear(BoundingBox box){
+		//Same bounds as the MC world uses.  Changes older than last tick are removed when we tick.
+		for(BlockPos pos : changedBlocks.keySet()){
+			if(	pos.getX() <= box.globalCenter.x + box.widthRadius + 1 && pos.getX() + 1 >= box.globalCenter.x - box.widthRadius - 1 &&
+				pos.getY() <= box.globalCenter.y + box.heightRadius + 1 && pos.getY() + 1 >= box.globalCenter.y - box.heightRadius - 1 &&
+				pos.getZ() <= box.globalCenter.z + box.depthRadius + 1 && pos.getZ() + 1 >= box.globalCenter.z - box.depthRadius - 1){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean isFire(Point3d position){
+		return false;
+	}
+
+	@Override
+	public void setToFire(Point3d position){}
+
+	@Override
+	public boolean fertilizeBlock(Point3d position, ItemStack stack){
+		return false;
+	}
+
+	@Override
+	public List<ItemStack> harvestBlock(Point3d position){
+		return new ArrayList<ItemStack>();
+	}
+
+	@Override
+	public boolean plantBlock(Point3d position, ItemStack stack){
+		return false;
+	}
+
+	@Override
+	public boolean plowBlock(Point3d position){
+		return false;
+	}
+
+	@Override
+	public void spawnItem(AItemBase item, WrapperNBT data, Point3d point){}
+
+	@Override
+	public void spawnItemStack(ItemStack stack, Point3d point){}
+
+	@Override
+	public void spawnExplosion(Point3d location, double strength, boolean flames){}
+
+
+	/**Block in a {@link HeadlessWorld}.  Blocks are shared by all positions they are placed at.
+	 * Hardness and slipperiness are the same as the MC blocks they are named after.
+	 *
+	 * @author don_bruce
+	 */
+	public static class HeadlessBlock{
+		public static final HeadlessBlock AIR = new HeadlessBlock(CollisionShapeCache.EMPTY, 0F, 0.6F);
+		public static final HeadlessBlock STONE = new HeadlessBlock(CollisionShapeCache.FULL_CUBE, 1.5F, 0.6F);
+		public static final HeadlessBlock ICE = new HeadlessBlock(CollisionShapeCache.FULL_CUBE, 0.5F, 0.98F);
+		public static final HeadlessBlock WATER = new HeadlessBlock(new BlockShape(false, true, CollisionShapeCache.EMPTY.collisionBounds, new double[]{0, 0, 0, 1, 1, 1}), 100F, 0.6F);
+
+		public final BlockShape shape;
+		public final float hardness;
+		public final float slipperiness;
+
+		public HeadlessBlock(BlockShape shape, float hardness, float slipperiness){
+			this.shape = shape;
+			this.hardness = hardness;
+			this.slipperiness = slipperiness;
+		}
+
+		/**
+		 *  Creates a solid block with the passed-in collision bounds.  Bounds are relative to the block's origin,
+		 *  and are sets of 6 values in minX, minY, minZ, maxX, maxY, maxZ order, one set for each box.
+		 */
+		public static HeadlessBlock createSolid(float hardness, float slipperiness, double... collisionBounds){
+			return new HeadlessBlock(new BlockShape(false, false, collisionBounds, null), hardness, slipperiness);
+		}
+	}
+}